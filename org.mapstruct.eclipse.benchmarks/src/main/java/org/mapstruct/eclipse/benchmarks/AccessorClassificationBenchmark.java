@@ -0,0 +1,71 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.mapstruct.eclipse.internal.index.TypeModelPropertiesProvider;
+import org.mapstruct.eclipse.internal.index.TypeProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Classification of the methods of a DTO and its super classes as accessors and building of its property tables, i.e.
+ * the work done on a miss of the property index.
+ *
+ * @author agent
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccessorClassificationBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    private int properties;
+
+    @Param({ "1", "2", "5", "10" })
+    private int depth;
+
+    private SyntheticTypeModel dto;
+
+    private final TypeModelPropertiesProvider provider = new TypeModelPropertiesProvider();
+
+    @Setup
+    public void createTypes() {
+        dto = SyntheticTypes.dto( "org.example.Dto", properties, depth, null );
+    }
+
+    @Benchmark
+    public TypeProperties classifyAccessors() {
+        provider.clear();
+        return provider.getProperties( dto, null );
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.mapstruct.eclipse.internal.index.TypeModelPropertiesProvider;
+import org.mapstruct.eclipse.internal.proposal.PropertySegment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Resolution of a property path through a chain of nested DTOs, e.g. {@code nested.nested.orderCustomerCustomer}, with
+ * the properties of the DTOs already known, like on a hit of the property index.
+ *
+ * @author agent
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathResolutionBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    private int properties;
+
+    /**
+     * The depth of the hierarchy of each DTO as well as the number of DTOs on the path
+     */
+    @Param({ "1", "2", "5", "10" })
+    private int depth;
+
+    private final IProgressMonitor monitor = new NullProgressMonitor();
+
+    private final TypeModelPropertiesProvider provider = new TypeModelPropertiesProvider();
+
+    private SyntheticTypeModel root;
+
+    private String path;
+
+    @Setup
+    public void createTypes() {
+        root = SyntheticTypes.chain( depth, properties, depth );
+
+        StringBuilder builder = new StringBuilder();
+        for ( int i = 1; i < depth; i++ ) {
+            builder.append( SyntheticTypes.NESTED ).append( '.' );
+        }
+        // declared in the top-most super class of the innermost DTO
+        path = builder.append( SyntheticTypes.propertyName( depth - 1 ) ).toString();
+
+        // classify the accessors once, as the property index would have done
+        PropertySegment.forType( "", root, true, provider, monitor ).resolve( path, monitor );
+    }
+
+    @Benchmark
+    public PropertySegment resolvePath() {
+        return PropertySegment.forType( "", root, true, provider, monitor ).resolve( path, monitor );
+    }
+}
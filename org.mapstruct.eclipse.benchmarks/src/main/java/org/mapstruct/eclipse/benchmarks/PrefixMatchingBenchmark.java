@@ -0,0 +1,86 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.benchmarks;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.mapstruct.eclipse.internal.index.NameMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Matching of a typed pattern against the property names of a DTO, for each {@link NameMatcher} stage.
+ *
+ * @author agent
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrefixMatchingBenchmark {
+
+    /**
+     * A typical limit of the proposals of one completion
+     */
+    private static final int LIMIT = 100;
+
+    @Param({ "10", "100", "1000" })
+    private int properties;
+
+    /**
+     * A prefix, a camel case pattern, a substring and a pattern matching nothing
+     */
+    @Param({ "customerC", "cCC", "street", "xyz" })
+    private String pattern;
+
+    private String[] names;
+
+    private NameMatcher matcher;
+
+    @Setup
+    public void createMatcher() {
+        names = SyntheticTypes.propertyNames( properties );
+        matcher = NameMatcher.of( names );
+    }
+
+    @Benchmark
+    public Map<String, Integer> match() {
+        Map<String, Integer> matches = new LinkedHashMap<String, Integer>();
+        matcher.match( pattern, LIMIT, matches );
+        return matches;
+    }
+
+    @Benchmark
+    public NameMatcher createIndex() {
+        return NameMatcher.of( names );
+    }
+}
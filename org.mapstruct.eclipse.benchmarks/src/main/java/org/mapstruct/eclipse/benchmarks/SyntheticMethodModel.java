@@ -0,0 +1,81 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.benchmarks;
+
+import org.mapstruct.eclipse.internal.model.MethodModel;
+import org.mapstruct.eclipse.internal.model.TypeModel;
+
+/**
+ * {@link MethodModel} of a public instance method of a {@link SyntheticTypeModel}.
+ *
+ * @author agent
+ */
+class SyntheticMethodModel implements MethodModel {
+    private final String name;
+    private final TypeModel declaringType;
+    private final TypeModel returnType;
+    private final TypeModel[] parameterTypes;
+
+    SyntheticMethodModel(String name, TypeModel declaringType, TypeModel returnType, TypeModel... parameterTypes) {
+        this.name = name;
+        this.declaringType = declaringType;
+        this.returnType = returnType;
+        this.parameterTypes = parameterTypes;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean isConstructor() {
+        return false;
+    }
+
+    @Override
+    public boolean isStatic() {
+        return false;
+    }
+
+    @Override
+    public boolean isPublic() {
+        return true;
+    }
+
+    @Override
+    public TypeModel getDeclaringType() {
+        return declaringType;
+    }
+
+    @Override
+    public TypeModel getReturnType() {
+        return returnType;
+    }
+
+    @Override
+    public TypeModel[] getParameterTypes() {
+        return parameterTypes;
+    }
+
+    @Override
+    public MethodModel getMethodDeclaration() {
+        return this;
+    }
+}
@@ -0,0 +1,187 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.mapstruct.eclipse.internal.model.MethodModel;
+import org.mapstruct.eclipse.internal.model.TypeModel;
+
+/**
+ * {@link TypeModel} of a type that exists in memory only. Type arguments are not modeled, so each type is its own
+ * erasure.
+ *
+ * @author agent
+ */
+public class SyntheticTypeModel implements TypeModel {
+    private final String packageName;
+    private final String name;
+    private final boolean primitive;
+    private final boolean isInterface;
+    private final List<String> enumConstants;
+    private final SyntheticTypeModel superclass;
+    private final TypeModel[] interfaces;
+    private final List<MethodModel> methods = new ArrayList<MethodModel>();
+
+    SyntheticTypeModel(String packageName, String name, boolean primitive, boolean isInterface,
+                       List<String> enumConstants, SyntheticTypeModel superclass, TypeModel... interfaces) {
+        this.packageName = packageName;
+        this.name = name;
+        this.primitive = primitive;
+        this.isInterface = isInterface;
+        this.enumConstants = enumConstants;
+        this.superclass = superclass;
+        this.interfaces = interfaces;
+    }
+
+    /**
+     * @param qualifiedName the qualified name of the class
+     * @param superclass the super class, {@code null} for {@code java.lang.Object}
+     * @return a class without any methods
+     */
+    public static SyntheticTypeModel newClass(String qualifiedName, SyntheticTypeModel superclass) {
+        int lastDot = qualifiedName.lastIndexOf( '.' );
+        return new SyntheticTypeModel(
+            lastDot > 0 ? qualifiedName.substring( 0, lastDot ) : "",
+            qualifiedName.substring( lastDot + 1 ),
+            false,
+            false,
+            Collections.<String> emptyList(),
+            superclass );
+    }
+
+    /**
+     * @param name the name of the primitive type, e.g. {@code int} or {@code void}
+     * @return the primitive type
+     */
+    public static SyntheticTypeModel newPrimitive(String name) {
+        return new SyntheticTypeModel( "", name, true, false, Collections.<String> emptyList(), null );
+    }
+
+    /**
+     * @param name the name of the getter
+     * @param type the return type
+     * @return this type
+     */
+    public SyntheticTypeModel addGetter(String name, TypeModel type) {
+        methods.add( new SyntheticMethodModel( name, this, type ) );
+        return this;
+    }
+
+    /**
+     * @param name the name of the setter
+     * @param type the parameter type
+     * @return this type
+     */
+    public SyntheticTypeModel addSetter(String name, TypeModel type) {
+        methods.add( new SyntheticMethodModel( name, this, SyntheticTypes.VOID, type ) );
+        return this;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getQualifiedName() {
+        return packageName.isEmpty() ? name : packageName + '.' + name;
+    }
+
+    @Override
+    public String getPackageName() {
+        return packageName;
+    }
+
+    @Override
+    public String getKey() {
+        return primitive ? name : 'L' + getQualifiedName().replace( '.', '/' ) + ';';
+    }
+
+    @Override
+    public TypeModel getErasure() {
+        return this;
+    }
+
+    @Override
+    public boolean isPrimitive() {
+        return primitive;
+    }
+
+    @Override
+    public boolean isArray() {
+        return false;
+    }
+
+    @Override
+    public boolean isEnum() {
+        return !enumConstants.isEmpty();
+    }
+
+    @Override
+    public boolean isInterface() {
+        return isInterface;
+    }
+
+    @Override
+    public TypeModel getSuperclass() {
+        if ( primitive || isInterface || SyntheticTypes.OBJECT == this ) {
+            return null;
+        }
+        return superclass != null ? superclass : SyntheticTypes.OBJECT;
+    }
+
+    @Override
+    public TypeModel[] getInterfaces() {
+        return interfaces;
+    }
+
+    @Override
+    public MethodModel[] getDeclaredMethods() {
+        return methods.toArray( new MethodModel[methods.size()] );
+    }
+
+    @Override
+    public List<String> getEnumConstants() {
+        return enumConstants;
+    }
+
+    @Override
+    public boolean isAssignmentCompatible(TypeModel type) {
+        if ( type == this || ( SyntheticTypes.OBJECT == type && !primitive ) ) {
+            return true;
+        }
+
+        for ( TypeModel ifc : interfaces ) {
+            if ( ifc.isAssignmentCompatible( type ) ) {
+                return true;
+            }
+        }
+
+        TypeModel superType = getSuperclass();
+        return superType != null && superType.isAssignmentCompatible( type );
+    }
+
+    @Override
+    public String toString() {
+        return getQualifiedName();
+    }
+}
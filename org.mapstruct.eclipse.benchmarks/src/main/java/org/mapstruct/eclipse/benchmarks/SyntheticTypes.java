@@ -0,0 +1,112 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.benchmarks;
+
+import java.util.Arrays;
+
+/**
+ * Generates DTO types with a given number of properties spread across a class hierarchy of a given depth.
+ *
+ * @author agent
+ */
+final class SyntheticTypes {
+
+    static final SyntheticTypeModel VOID = SyntheticTypeModel.newPrimitive( "void" );
+
+    static final SyntheticTypeModel OBJECT = SyntheticTypeModel.newClass( "java.lang.Object", null );
+
+    static final SyntheticTypeModel STRING = SyntheticTypeModel.newClass( "java.lang.String", null );
+
+    /**
+     * The name of the property referencing the nested DTO
+     */
+    static final String NESTED = "nested";
+
+    private static final String[] WORDS =
+        { "customer", "address", "street", "order", "line", "amount", "date", "status", "name", "code" };
+
+    private SyntheticTypes() {
+    }
+
+    /**
+     * @param name the qualified name of the DTO, the names of its super classes get the level appended
+     * @param properties the number of {@code String} properties, spread evenly across the hierarchy
+     * @param depth the number of classes in the hierarchy, at least {@code 1}
+     * @param nested the type of the property {@link #NESTED} declared in the DTO itself, or {@code null}
+     * @return the DTO, i.e. the most specific class of the hierarchy
+     */
+    static SyntheticTypeModel dto(String name, int properties, int depth, SyntheticTypeModel nested) {
+        SyntheticTypeModel type = null;
+        for ( int level = depth - 1; level >= 0; level-- ) {
+            type = SyntheticTypeModel.newClass( level == 0 ? name : name + "Level" + level, type );
+            for ( int i = level; i < properties; i += depth ) {
+                String capitalized = capitalize( propertyName( i ) );
+                type.addGetter( "get" + capitalized, STRING ).addSetter( "set" + capitalized, STRING );
+            }
+        }
+
+        if ( nested != null ) {
+            type.addGetter( "getNested", nested ).addSetter( "setNested", nested );
+        }
+
+        return type;
+    }
+
+    /**
+     * @param length the number of nested DTOs on the path, at least {@code 1}
+     * @param properties the number of properties of each DTO
+     * @param depth the depth of the hierarchy of each DTO
+     * @return the outermost DTO of a chain in which each DTO has the next one as property {@link #NESTED}
+     */
+    static SyntheticTypeModel chain(int length, int properties, int depth) {
+        SyntheticTypeModel type = null;
+        for ( int i = length - 1; i >= 0; i-- ) {
+            type = dto( "org.example.Dto" + i, properties, depth, type );
+        }
+        return type;
+    }
+
+    /**
+     * @param index the index of a property
+     * @return the camel case name of the property, e.g. {@code addressStreetOrder} for {@code 421}
+     */
+    static String propertyName(int index) {
+        return WORDS[index % 10]
+            + capitalize( WORDS[index / 10 % 10] )
+            + capitalize( WORDS[index / 100 % 10] )
+            + ( index < 1000 ? "" : String.valueOf( index / 1000 ) );
+    }
+
+    /**
+     * @param count the number of properties
+     * @return the names of the properties {@code 0} to {@code count - 1}, sorted
+     */
+    static String[] propertyNames(int count) {
+        String[] names = new String[count];
+        for ( int i = 0; i < count; i++ ) {
+            names[i] = propertyName( i );
+        }
+        Arrays.sort( names );
+        return names;
+    }
+
+    private static String capitalize(String string) {
+        return Character.toUpperCase( string.charAt( 0 ) ) + string.substring( 1 );
+    }
+}
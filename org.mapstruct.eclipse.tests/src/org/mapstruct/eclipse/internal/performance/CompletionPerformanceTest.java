@@ -0,0 +1,138 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.performance;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.ui.JavaUI;
+import org.eclipse.jdt.ui.text.java.JavaContentAssistInvocationContext;
+import org.eclipse.jface.text.ITextOperationTarget;
+import org.eclipse.jface.text.ITextViewer;
+import org.eclipse.jface.text.contentassist.ICompletionProposal;
+import org.eclipse.ui.IEditorPart;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mapstruct.eclipse.internal.MapStructPlugIn;
+import org.mapstruct.eclipse.internal.performance.SyntheticWorkspace.Mapper;
+import org.mapstruct.eclipse.internal.preferences.MapStructPreferences;
+import org.mapstruct.eclipse.internal.proposal.MapStructCompletionProposalComputer;
+import org.mapstruct.eclipse.internal.util.LatencyHistogram;
+
+/**
+ * Measures the latency of the completion of the deep {@code target} and {@code source} paths in all mappers of a
+ * {@link SyntheticWorkspace}, and the memory retained afterwards.
+ *
+ * @author agent
+ */
+public class CompletionPerformanceTest {
+
+    private static SyntheticWorkspace workspace;
+
+    @BeforeClass
+    public static void createWorkspace() throws Exception {
+        // measure the completions themselves, not the warm-up of the property index racing them
+        MapStructPlugIn.getDefault().getPreferenceStore().setValue( MapStructPreferences.WARM_UP_ON_OPEN, false );
+
+        workspace = SyntheticWorkspace.create( "CompletionPerformance" );
+    }
+
+    @AfterClass
+    public static void deleteWorkspace() throws Exception {
+        MapStructPlugIn.getDefault().getPreferenceStore().setToDefault( MapStructPreferences.WARM_UP_ON_OPEN );
+
+        if ( workspace != null ) {
+            workspace.delete();
+        }
+    }
+
+    @Test
+    public void completionLatencyAndRetainedMemory() throws Exception {
+        long usedBefore = Measurements.usedHeapAfterGc();
+
+        LatencyHistogram histogram = new LatencyHistogram( "Completion" );
+        List<Mapper> mappers = workspace.getMappers();
+        for ( int i = 0; i < mappers.size(); i++ ) {
+            // the first mapper warms up the JIT and loads the classes, its completions are not measured
+            Mapper mapper = mappers.get( i );
+            complete( mapper, mapper.getCompletionOffsets(), i > 0 ? histogram : null );
+        }
+
+        long retained = Measurements.usedHeapAfterGc() - usedBefore;
+
+        long p95 = Measurements.toMillis( histogram.getPercentile( 95 ) );
+        int latencyThreshold = PerformanceSettings.getCompletionThreshold();
+        assertTrue(
+            "Completion latency exceeds " + latencyThreshold + " ms at the 95th percentile: " + histogram,
+            p95 <= latencyThreshold );
+
+        int memoryThreshold = PerformanceSettings.getRetainedMemoryThreshold();
+        assertTrue(
+            "Completions retain " + Measurements.toMB( retained ) + " MB, more than " + memoryThreshold + " MB",
+            Measurements.toMB( retained ) <= memoryThreshold );
+    }
+
+    /**
+     * Opens the mapper in an editor and completes at the given offsets, closing the editor afterwards.
+     *
+     * @param mapper the mapper
+     * @param offsets the completion offsets
+     * @param histogram receives the duration of each completion, {@code null} if not to be measured
+     * @throws Exception if the editor can't be opened
+     */
+    static void complete(Mapper mapper, List<Integer> offsets, LatencyHistogram histogram) throws Exception {
+        IEditorPart editor = JavaUI.openInEditor( mapper.getCompilationUnit() );
+        try {
+            Measurements.processUIEvents();
+
+            ITextViewer viewer = (ITextViewer) editor.getAdapter( ITextOperationTarget.class );
+            MapStructCompletionProposalComputer computer = new MapStructCompletionProposalComputer();
+
+            for ( int offset : offsets ) {
+                JavaContentAssistInvocationContext context =
+                    new JavaContentAssistInvocationContext( viewer, offset, editor );
+                // computed once by the JDT for all proposal computers of a content assist session
+                context.getCoreContext();
+
+                long start = System.nanoTime();
+                computer.sessionStarted();
+                List<ICompletionProposal> proposals =
+                    computer.computeCompletionProposals( context, new NullProgressMonitor() );
+                computer.sessionEnded();
+                long duration = System.nanoTime() - start;
+
+                assertFalse(
+                    "No proposals at offset " + offset + " of " + mapper.getCompilationUnit().getElementName(),
+                    proposals.isEmpty() );
+
+                if ( histogram != null ) {
+                    histogram.add( duration );
+                }
+            }
+        }
+        finally {
+            editor.getSite().getPage().closeEditor( editor, false );
+            Measurements.processUIEvents();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.performance;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.ui.JavaUI;
+import org.eclipse.jdt.ui.text.java.JavaContentAssistInvocationContext;
+import org.eclipse.jface.text.ITextOperationTarget;
+import org.eclipse.jface.text.ITextViewer;
+import org.eclipse.jface.text.contentassist.ICompletionProposal;
+import org.eclipse.ui.IEditorPart;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mapstruct.eclipse.internal.proposal.MapStructCompletionProposalComputer;
+
+/**
+ * Checks that the nested property paths measured by the {@link CompletionPerformanceTest} are resolved through
+ * generic types as well: properties inherited from a generic super class ({@code Entity extends Base<Key>}) and
+ * properties of a generic type ({@code Wrapper<Address>}).
+ *
+ * @author agent
+ */
+public class GenericPropertyPathCompletionTest {
+
+    private static final String PACKAGE = "generic.model";
+
+    private static final String MAPPER_SOURCE =
+        "package " + PACKAGE + ";\n\n"
+            + "import org.mapstruct.Mapper;\n"
+            + "import org.mapstruct.Mapping;\n\n"
+            + "@Mapper\n"
+            + "public interface EntityMapper {\n\n"
+            + "    @Mapping( target = \"code\", source = \"id.\" )\n"
+            + "    EntityDto mapId(Entity entity);\n\n"
+            + "    @Mapping( target = \"code\", source = \"home.value.\" )\n"
+            + "    EntityDto mapHome(Entity entity);\n"
+            + "}\n";
+
+    private static SyntheticWorkspace workspace;
+
+    @BeforeClass
+    public static void createWorkspace() throws Exception {
+        Map<String, String> sources = new LinkedHashMap<String, String>();
+        sources.put( "Key", type( "public class Key", "String", "code" ) );
+        sources.put( "Address", type( "public class Address", "String", "street" ) );
+        sources.put( "Base", type( "public class Base<ID>", "ID", "id" ) );
+        sources.put( "Wrapper", type( "public class Wrapper<T>", "T", "value" ) );
+        sources.put( "Entity", type( "public class Entity extends Base<Key>", "Wrapper<Address>", "home" ) );
+        sources.put( "EntityDto", type( "public class EntityDto", "String", "code" ) );
+        sources.put( "EntityMapper", MAPPER_SOURCE );
+
+        workspace = SyntheticWorkspace.create( "GenericPropertyPaths", PACKAGE, sources );
+    }
+
+    @AfterClass
+    public static void deleteWorkspace() throws Exception {
+        if ( workspace != null ) {
+            workspace.delete();
+        }
+    }
+
+    @Test
+    public void completesPropertiesInheritedFromGenericSuperClass() throws Exception {
+        assertProposed( "id.", "id.code" );
+    }
+
+    @Test
+    public void completesPropertiesOfGenericPropertyType() throws Exception {
+        assertProposed( "home.value.", "home.value.street" );
+    }
+
+    private static void assertProposed(String path, String expected) throws Exception {
+        ICompilationUnit mapper = workspace.getProject().findType( PACKAGE + ".EntityMapper" ).getCompilationUnit();
+        int offset = MAPPER_SOURCE.indexOf( "\"" + path + "\"" ) + path.length() + 1;
+
+        List<String> proposed = complete( mapper, offset );
+        assertTrue( expected + " is not proposed for " + path + ", but " + proposed, proposed.contains( expected ) );
+    }
+
+    private static List<String> complete(ICompilationUnit compilationUnit, int offset) throws Exception {
+        IEditorPart editor = JavaUI.openInEditor( compilationUnit );
+        try {
+            Measurements.processUIEvents();
+
+            ITextViewer viewer = (ITextViewer) editor.getAdapter( ITextOperationTarget.class );
+            MapStructCompletionProposalComputer computer = new MapStructCompletionProposalComputer();
+
+            computer.sessionStarted();
+            List<ICompletionProposal> proposals =
+                computer.computeCompletionProposals(
+                    new JavaContentAssistInvocationContext( viewer, offset, editor ),
+                    new NullProgressMonitor() );
+            computer.sessionEnded();
+
+            List<String> result = new ArrayList<String>();
+            for ( ICompletionProposal proposal : proposals ) {
+                result.add( proposal.getDisplayString() );
+            }
+            return result;
+        }
+        finally {
+            editor.getSite().getPage().closeEditor( editor, false );
+            Measurements.processUIEvents();
+        }
+    }
+
+    private static String type(String declaration, String propertyType, String propertyName) {
+        String capitalized = Character.toUpperCase( propertyName.charAt( 0 ) ) + propertyName.substring( 1 );
+
+        return "package " + PACKAGE + ";\n\n"
+            + declaration + " {\n"
+            + "    private " + propertyType + " " + propertyName + ";\n\n"
+            + "    public " + propertyType + " get" + capitalized + "() {\n"
+            + "        return " + propertyName + ";\n"
+            + "    }\n\n"
+            + "    public void set" + capitalized + "(" + propertyType + " " + propertyName + ") {\n"
+            + "        this." + propertyName + " = " + propertyName + ";\n"
+            + "    }\n"
+            + "}\n";
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.performance;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mapstruct.eclipse.internal.MapStructPlugIn;
+import org.mapstruct.eclipse.internal.performance.SyntheticWorkspace.Mapper;
+import org.mapstruct.eclipse.internal.preferences.MapStructPreferences;
+import org.mapstruct.eclipse.internal.util.LatencyHistogram;
+
+/**
+ * Measures the latency of the completion in a single mapper with a large number of mapping methods (see
+ * {@link PerformanceSettings#getLargeMapperMethods()}), at methods spread evenly from the top to the bottom of the
+ * mapper. As only the method enclosing the completion offset is inspected, the latency is expected to stay within the
+ * threshold of the {@link CompletionPerformanceTest}, independent of the number of methods.
+ *
+ * @author agent
+ */
+public class LargeMapperCompletionPerformanceTest {
+
+    /**
+     * The number of methods completed in, not measured, to warm up the JIT and load the classes
+     */
+    private static final int WARM_UP_METHODS = 10;
+
+    /**
+     * The number of methods completed in and measured
+     */
+    private static final int MEASURED_METHODS = 100;
+
+    private static SyntheticWorkspace workspace;
+
+    @BeforeClass
+    public static void createWorkspace() throws Exception {
+        // measure the completions themselves, not the warm-up of the property index racing them
+        MapStructPlugIn.getDefault().getPreferenceStore().setValue( MapStructPreferences.WARM_UP_ON_OPEN, false );
+
+        workspace =
+            SyntheticWorkspace.create( "LargeMapperPerformance", 1, PerformanceSettings.getLargeMapperMethods() );
+    }
+
+    @AfterClass
+    public static void deleteWorkspace() throws Exception {
+        MapStructPlugIn.getDefault().getPreferenceStore().setToDefault( MapStructPreferences.WARM_UP_ON_OPEN );
+
+        if ( workspace != null ) {
+            workspace.delete();
+        }
+    }
+
+    @Test
+    public void completionLatencyInLargeMapper() throws Exception {
+        Mapper mapper = workspace.getMappers().get( 0 );
+
+        // two offsets per method, at the target and at the source path
+        List<Integer> offsets = mapper.getCompletionOffsets();
+        int methods = offsets.size() / 2;
+
+        CompletionPerformanceTest.complete( mapper, sample( offsets, 0, Math.min( WARM_UP_METHODS, methods ) ), null );
+
+        LatencyHistogram histogram = new LatencyHistogram( "Completion in a mapper with " + methods + " methods" );
+        int stride = Math.max( 1, methods / MEASURED_METHODS );
+        List<Integer> measured = new ArrayList<Integer>();
+        for ( int method = 0; method < methods; method += stride ) {
+            measured.addAll( sample( offsets, method, method + 1 ) );
+        }
+        CompletionPerformanceTest.complete( mapper, measured, histogram );
+
+        long p95 = Measurements.toMillis( histogram.getPercentile( 95 ) );
+        int threshold = PerformanceSettings.getCompletionThreshold();
+        assertTrue(
+            "Completion latency exceeds " + threshold + " ms at the 95th percentile: " + histogram,
+            p95 <= threshold );
+    }
+
+    /**
+     * @return the target and source offsets of the methods from {@code fromMethod} (inclusive) to {@code toMethod}
+     *         (exclusive)
+     */
+    private static List<Integer> sample(List<Integer> offsets, int fromMethod, int toMethod) {
+        return offsets.subList( fromMethod * 2, toMethod * 2 );
+    }
+}
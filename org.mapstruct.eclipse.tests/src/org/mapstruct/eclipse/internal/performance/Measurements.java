@@ -0,0 +1,73 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.performance;
+
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * Helpers to measure the heap and to let the workbench settle between measurements.
+ *
+ * @author agent
+ */
+final class Measurements {
+
+    private static final long NANOS_PER_MILLI = 1000000L;
+
+    private static final long BYTES_PER_MB = 1024L * 1024L;
+
+    private static final int GC_RUNS = 5;
+
+    private Measurements() {
+    }
+
+    /**
+     * @return the smallest amount of used heap in bytes observed over a few garbage collections, i.e. the retained
+     *         memory
+     */
+    static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for ( int i = 0; i < GC_RUNS; i++ ) {
+            System.gc();
+            System.runFinalization();
+            used = Math.min( used, runtime.totalMemory() - runtime.freeMemory() );
+        }
+        return used;
+    }
+
+    /**
+     * Runs the pending events of the display, e.g. the ones posted by opening or closing an editor.
+     */
+    static void processUIEvents() {
+        Display display = Display.getCurrent();
+        if ( display != null ) {
+            while ( display.readAndDispatch() ) {
+                // keep going
+            }
+        }
+    }
+
+    static long toMillis(long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+
+    static long toMB(long bytes) {
+        return bytes / BYTES_PER_MB;
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.performance;
+
+import java.io.File;
+
+/**
+ * The size of the generated workspace and the thresholds of the performance tests, read from system properties so
+ * that the build can tighten or relax them (see the {@code pom.xml} of this fragment).
+ *
+ * @author agent
+ */
+final class PerformanceSettings {
+
+    private static final String PREFIX = "mapstruct.perf.";
+
+    private PerformanceSettings() {
+    }
+
+    /**
+     * @return the locally provided MapStruct API jar put on the classpath of the generated projects
+     */
+    static File getMapStructApiJar() {
+        String path = System.getProperty( "mapstruct.api.jar" );
+        if ( path == null || !new File( path ).isFile() ) {
+            throw new IllegalStateException(
+                "The MapStruct API jar must be given with -Dmapstruct.api.jar=<path>, but is: " + path );
+        }
+        return new File( path );
+    }
+
+    /**
+     * @return the number of mappers to generate
+     */
+    static int getMappers() {
+        return getInt( "mappers", 20 );
+    }
+
+    /**
+     * @return the number of mapping methods per mapper
+     */
+    static int getMethods() {
+        return getInt( "methods", 10 );
+    }
+
+    /**
+     * @return the number of mapping methods of the single mapper of the large mapper test
+     */
+    static int getLargeMapperMethods() {
+        return getInt( "large.methods", 1000 );
+    }
+
+    /**
+     * @return the number of properties of each DTO
+     */
+    static int getProperties() {
+        return getInt( "properties", 50 );
+    }
+
+    /**
+     * @return the number of DTOs in the chain of nested DTOs, i.e. the depth of the property paths
+     */
+    static int getDepth() {
+        return getInt( "depth", 5 );
+    }
+
+    /**
+     * @return the maximum 95th percentile of the completion latency in milliseconds
+     */
+    static int getCompletionThreshold() {
+        return getInt( "completion.p95", 300 );
+    }
+
+    /**
+     * @return the maximum 95th percentile of the time to apply a quick fix in milliseconds
+     */
+    static int getQuickFixThreshold() {
+        return getInt( "quickfix.p95", 1000 );
+    }
+
+    /**
+     * @return the maximum memory in MB retained after the completions, e.g. by the caches of the plug-in
+     */
+    static int getRetainedMemoryThreshold() {
+        return getInt( "retained", 64 );
+    }
+
+    private static int getInt(String name, int defaultValue) {
+        return Integer.getInteger( PREFIX + name, defaultValue );
+    }
+}
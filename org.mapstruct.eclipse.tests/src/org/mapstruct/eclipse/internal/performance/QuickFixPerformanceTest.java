@@ -0,0 +1,125 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.performance;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.ui.IMarkerResolution;
+import org.eclipse.ui.IWorkbenchWindow;
+import org.eclipse.ui.PlatformUI;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mapstruct.eclipse.internal.performance.SyntheticWorkspace.Mapper;
+import org.mapstruct.eclipse.internal.quickfix.MapStructMarkerResolutionGenerator;
+import org.mapstruct.eclipse.internal.quickfix.MapStructProblem;
+import org.mapstruct.eclipse.internal.quickfix.QuickFixJob;
+import org.mapstruct.eclipse.internal.util.LatencyHistogram;
+
+/**
+ * Measures the time to find and apply the quick fix for an unmapped target property on every mapping method of a
+ * {@link SyntheticWorkspace}, until the edit has been applied to the editor of the mapper.
+ *
+ * @author agent
+ */
+public class QuickFixPerformanceTest {
+
+    private static SyntheticWorkspace workspace;
+
+    @BeforeClass
+    public static void createWorkspace() throws Exception {
+        workspace = SyntheticWorkspace.create( "QuickFixPerformance" );
+    }
+
+    @AfterClass
+    public static void deleteWorkspace() throws Exception {
+        // the quick fixes leave the editors of the mappers dirty
+        IWorkbenchWindow window = PlatformUI.getWorkbench().getActiveWorkbenchWindow();
+        if ( window != null && window.getActivePage() != null ) {
+            window.getActivePage().closeAllEditors( false );
+        }
+
+        if ( workspace != null ) {
+            workspace.delete();
+        }
+    }
+
+    @Test
+    public void quickFixLatency() throws Exception {
+        MapStructMarkerResolutionGenerator generator = new MapStructMarkerResolutionGenerator();
+
+        LatencyHistogram histogram = new LatencyHistogram( "Quick fix" );
+        List<Mapper> mappers = workspace.getMappers();
+        for ( int i = 0; i < mappers.size(); i++ ) {
+            Mapper mapper = mappers.get( i );
+            List<Integer> offsets = mapper.getMethodNameOffsets();
+
+            // last method first, so that the applied fixes don't move the methods still to be fixed
+            for ( int j = offsets.size() - 1; j >= 0; j-- ) {
+                IMarker marker = createMarker( mapper, offsets.get( j ) );
+                String source = mapper.getCompilationUnit().getSource();
+
+                long start = System.nanoTime();
+                IMarkerResolution[] resolutions = generator.getResolutions( marker );
+                assertEquals( 1, resolutions.length );
+                resolutions[0].run( marker );
+                Job.getJobManager().join( QuickFixJob.FAMILY, null );
+                // the edit is applied to the editor on the UI thread
+                Measurements.processUIEvents();
+                long duration = System.nanoTime() - start;
+
+                assertFalse(
+                    "The quick fix was not applied to " + marker,
+                    source.equals( mapper.getCompilationUnit().getSource() ) );
+
+                // the quick fix leaves the marker to the next build
+                marker.delete();
+
+                // the first mapper warms up the JIT and loads the classes, its fixes are not measured
+                if ( i > 0 ) {
+                    histogram.add( duration );
+                }
+            }
+
+            Measurements.processUIEvents();
+        }
+
+        long p95 = Measurements.toMillis( histogram.getPercentile( 95 ) );
+        int threshold = PerformanceSettings.getQuickFixThreshold();
+        assertTrue(
+            "Quick fix time exceeds " + threshold + " ms at the 95th percentile: " + histogram,
+            p95 <= threshold );
+    }
+
+    private static IMarker createMarker(Mapper mapper, int methodNameOffset) throws CoreException {
+        IMarker marker = mapper.getCompilationUnit().getResource().createMarker( MapStructProblem.APT_COMPILE_PROBLEM );
+        marker.setAttribute( IMarker.MESSAGE, "Unmapped target property: \"property0\"." );
+        marker.setAttribute( IMarker.SEVERITY, IMarker.SEVERITY_WARNING );
+        marker.setAttribute( IMarker.CHAR_START, methodNameOffset );
+        marker.setAttribute( IMarker.CHAR_END, methodNameOffset + 1 );
+        return marker;
+    }
+}
@@ -0,0 +1,306 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.performance;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.launching.JavaRuntime;
+
+/**
+ * A generated Java project with the MapStruct API on its classpath: a chain of nested DTOs {@code Node0} to
+ * {@code Node<depth - 1>} linked by the property {@code next}, target DTOs {@code Target0} to
+ * {@code Target<methods - 1>} referencing {@code Node0} by the property {@code node}, and mappers {@code Mapper0} to
+ * {@code Mapper<mappers - 1>} each declaring a mapping method for every target DTO, annotated with a {@code @Mapping}
+ * whose {@code target} and {@code source} paths lead to the innermost node.
+ *
+ * @author agent
+ */
+final class SyntheticWorkspace {
+
+    private static final String MODEL_PACKAGE = "perf.model";
+    private static final String MAPPER_PACKAGE = "perf.mapper";
+
+    private final IJavaProject project;
+    private final List<Mapper> mappers = new ArrayList<Mapper>();
+
+    private SyntheticWorkspace(IJavaProject project) {
+        this.project = project;
+    }
+
+    /**
+     * A generated mapper and the offsets of interest in its source
+     */
+    static final class Mapper {
+        private final ICompilationUnit compilationUnit;
+        private final List<Integer> completionOffsets = new ArrayList<Integer>();
+        private final List<Integer> methodNameOffsets = new ArrayList<Integer>();
+
+        private Mapper(ICompilationUnit compilationUnit) {
+            this.compilationUnit = compilationUnit;
+        }
+
+        ICompilationUnit getCompilationUnit() {
+            return compilationUnit;
+        }
+
+        /**
+         * @return the offsets at the end of the {@code target} and {@code source} paths of all mapping methods
+         */
+        List<Integer> getCompletionOffsets() {
+            return Collections.unmodifiableList( completionOffsets );
+        }
+
+        /**
+         * @return the offsets of the names of the mapping methods, in the order of their declaration
+         */
+        List<Integer> getMethodNameOffsets() {
+            return Collections.unmodifiableList( methodNameOffsets );
+        }
+    }
+
+    /**
+     * Creates the project according to the {@link PerformanceSettings} and waits until it is built.
+     *
+     * @param projectName the name of the project
+     * @return the workspace
+     * @throws CoreException if the project can't be created
+     * @throws InterruptedException if interrupted while waiting for the build
+     */
+    static SyntheticWorkspace create(String projectName) throws CoreException, InterruptedException {
+        return create( projectName, PerformanceSettings.getMappers(), PerformanceSettings.getMethods() );
+    }
+
+    /**
+     * Creates the project with the given number of mappers and mapping methods, and the DTOs according to the
+     * {@link PerformanceSettings}, and waits until it is built.
+     *
+     * @param projectName the name of the project
+     * @param mapperCount the number of mappers
+     * @param methodCount the number of mapping methods per mapper
+     * @return the workspace
+     * @throws CoreException if the project can't be created
+     * @throws InterruptedException if interrupted while waiting for the build
+     */
+    static SyntheticWorkspace create(final String projectName, final int mapperCount, final int methodCount)
+        throws CoreException, InterruptedException {
+        final SyntheticWorkspace[] result = new SyntheticWorkspace[1];
+        IWorkspace workspace = ResourcesPlugin.getWorkspace();
+        workspace.run( new IWorkspaceRunnable() {
+            @Override
+            public void run(IProgressMonitor monitor) throws CoreException {
+                result[0] = new SyntheticWorkspace( createProject( projectName, monitor ) );
+                result[0].generateSources( mapperCount, methodCount, monitor );
+            }
+        }, new NullProgressMonitor() );
+
+        Job.getJobManager().join( ResourcesPlugin.FAMILY_AUTO_BUILD, null );
+        return result[0];
+    }
+
+    /**
+     * Creates the project with the given compilation units instead of generated ones, e.g. to check the completion
+     * on particular type structures, and waits until it is built.
+     *
+     * @param projectName the name of the project
+     * @param packageName the package of the compilation units
+     * @param sources the sources of the compilation units, by simple type name
+     * @return the workspace, without any {@link Mapper}s
+     * @throws CoreException if the project can't be created
+     * @throws InterruptedException if interrupted while waiting for the build
+     */
+    static SyntheticWorkspace create(final String projectName, final String packageName,
+                                     final Map<String, String> sources)
+        throws CoreException, InterruptedException {
+        final SyntheticWorkspace[] result = new SyntheticWorkspace[1];
+        ResourcesPlugin.getWorkspace().run( new IWorkspaceRunnable() {
+            @Override
+            public void run(IProgressMonitor monitor) throws CoreException {
+                result[0] = new SyntheticWorkspace( createProject( projectName, monitor ) );
+
+                IFolder src = result[0].project.getProject().getFolder( "src" );
+                IPackageFragment pkg =
+                    result[0].project.getPackageFragmentRoot( src ).createPackageFragment( packageName, true, monitor );
+                for ( Map.Entry<String, String> source : sources.entrySet() ) {
+                    pkg.createCompilationUnit( source.getKey() + ".java", source.getValue(), true, monitor );
+                }
+            }
+        }, new NullProgressMonitor() );
+
+        Job.getJobManager().join( ResourcesPlugin.FAMILY_AUTO_BUILD, null );
+        return result[0];
+    }
+
+    /**
+     * Deletes the project along with its contents.
+     *
+     * @throws CoreException if the project can't be deleted
+     */
+    void delete() throws CoreException {
+        project.getProject().delete( true, true, new NullProgressMonitor() );
+    }
+
+    IJavaProject getProject() {
+        return project;
+    }
+
+    List<Mapper> getMappers() {
+        return Collections.unmodifiableList( mappers );
+    }
+
+    private static IJavaProject createProject(String projectName, IProgressMonitor monitor) throws CoreException {
+        IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject( projectName );
+        project.create( monitor );
+        project.open( monitor );
+
+        IProjectDescription description = project.getDescription();
+        description.setNatureIds( new String[] { JavaCore.NATURE_ID } );
+        project.setDescription( description, monitor );
+
+        IFolder src = project.getFolder( "src" );
+        src.create( true, true, monitor );
+
+        File apiJar = PerformanceSettings.getMapStructApiJar();
+        IJavaProject javaProject = JavaCore.create( project );
+        javaProject.setRawClasspath(
+            new IClasspathEntry[] {
+                JavaCore.newSourceEntry( src.getFullPath() ),
+                JavaRuntime.getDefaultJREContainerEntry(),
+                JavaCore.newLibraryEntry( new Path( apiJar.getAbsolutePath() ), null, null ) },
+            project.getFolder( "bin" ).getFullPath(),
+            monitor );
+
+        @SuppressWarnings("unchecked")
+        Map<String, String> options = javaProject.getOptions( false );
+        JavaCore.setComplianceOptions( JavaCore.VERSION_1_6, options );
+        javaProject.setOptions( options );
+
+        return javaProject;
+    }
+
+    private void generateSources(int mapperCount, int methods, IProgressMonitor monitor) throws CoreException {
+        IFolder src = project.getProject().getFolder( "src" );
+        IPackageFragmentRoot root = project.getPackageFragmentRoot( src );
+        IPackageFragment model = root.createPackageFragment( MODEL_PACKAGE, true, monitor );
+        IPackageFragment mapperPackage = root.createPackageFragment( MAPPER_PACKAGE, true, monitor );
+
+        int properties = PerformanceSettings.getProperties();
+        int depth = PerformanceSettings.getDepth();
+
+        for ( int i = 0; i < depth; i++ ) {
+            String next = i < depth - 1 ? "Node" + ( i + 1 ) : null;
+            createType( model, "Node" + i, properties, "next", next, monitor );
+        }
+
+        for ( int i = 0; i < methods; i++ ) {
+            createType( model, "Target" + i, properties, "node", "Node0", monitor );
+        }
+
+        StringBuilder path = new StringBuilder();
+        for ( int i = 1; i < depth; i++ ) {
+            path.append( "next." );
+        }
+
+        for ( int i = 0; i < mapperCount; i++ ) {
+            mappers.add( createMapper( mapperPackage, "Mapper" + i, methods, path.toString(), monitor ) );
+        }
+    }
+
+    private static void createType(IPackageFragment pkg, String name, int properties, String nestedName,
+                                   String nestedType, IProgressMonitor monitor) throws CoreException {
+        StringBuilder source = new StringBuilder();
+        source.append( "package " ).append( pkg.getElementName() ).append( ";\n\n" );
+        source.append( "public class " ).append( name ).append( " {\n" );
+
+        for ( int i = 0; i < properties; i++ ) {
+            appendProperty( source, "String", "property" + i );
+        }
+        if ( nestedType != null ) {
+            appendProperty( source, nestedType, nestedName );
+        }
+
+        source.append( "}\n" );
+
+        pkg.createCompilationUnit( name + ".java", source.toString(), true, monitor );
+    }
+
+    private static void appendProperty(StringBuilder source, String type, String name) {
+        String capitalized = Character.toUpperCase( name.charAt( 0 ) ) + name.substring( 1 );
+
+        source.append( "    private " ).append( type ).append( ' ' ).append( name ).append( ";\n\n" );
+        source.append( "    public " ).append( type ).append( " get" ).append( capitalized ).append( "() {\n" );
+        source.append( "        return " ).append( name ).append( ";\n    }\n\n" );
+        source.append( "    public void set" ).append( capitalized ).append( '(' ).append( type ).append( " " )
+              .append( name ).append( ") {\n" );
+        source.append( "        this." ).append( name ).append( " = " ).append( name ).append( ";\n    }\n\n" );
+    }
+
+    private static Mapper createMapper(IPackageFragment pkg, String name, int methods, String path,
+                                       IProgressMonitor monitor) throws CoreException {
+        List<Integer> completionOffsets = new ArrayList<Integer>();
+        List<Integer> methodNameOffsets = new ArrayList<Integer>();
+
+        StringBuilder source = new StringBuilder();
+        source.append( "package " ).append( pkg.getElementName() ).append( ";\n\n" );
+        source.append( "import org.mapstruct.Mapper;\n" );
+        source.append( "import org.mapstruct.Mapping;\n\n" );
+        source.append( "import " ).append( MODEL_PACKAGE ).append( ".*;\n\n" );
+        source.append( "@Mapper\n" );
+        source.append( "public interface " ).append( name ).append( " {\n" );
+
+        for ( int i = 0; i < methods; i++ ) {
+            source.append( "\n    @Mapping( target = \"node." ).append( path );
+            completionOffsets.add( source.length() );
+            source.append( "\", source = \"" ).append( path );
+            completionOffsets.add( source.length() );
+            source.append( "\" )\n" );
+
+            source.append( "    Target" ).append( i ).append( ' ' );
+            methodNameOffsets.add( source.length() );
+            source.append( "map" ).append( i ).append( "(Node0 source);\n" );
+        }
+
+        source.append( "}\n" );
+
+        Mapper mapper = new Mapper( pkg.createCompilationUnit( name + ".java", source.toString(), true, monitor ) );
+        mapper.completionOffsets.addAll( completionOffsets );
+        mapper.methodNameOffsets.addAll( methodNameOffsets );
+        return mapper;
+    }
+}
@@ -41,6 +41,15 @@ private MapStructAPIConstants() {
      */
     public static final String MAPPER_FQ_NAME = ORG_MAPSTRUCT + MAPPER_SIMPLE_NAME;
 
+    /**
+     * Simple name of the annotation MapperConfig
+     */
+    public static final String MAPPER_CONFIG_SIMPLE_NAME = "MapperConfig"; //$NON-NLS-1$
+    /**
+     * Fully qualified name of the annotation MapperConfig
+     */
+    public static final String MAPPER_CONFIG_FQ_NAME = ORG_MAPSTRUCT + MAPPER_CONFIG_SIMPLE_NAME;
+
     /**
      * Simple name of the annotation Mapping
      */
@@ -71,6 +80,92 @@ private MapStructAPIConstants() {
      */
     public static final String MAPPINGS_FQ_NAME = ORG_MAPSTRUCT + MAPPINGS_SIMPLE_NAME;
 
+    /**
+     * Simple name of the annotation IterableMapping
+     */
+    public static final String ITERABLE_MAPPING_SIMPLE_NAME = "IterableMapping"; //$NON-NLS-1$
+
+    /**
+     * Fully qualified name of the annotation IterableMapping
+     */
+    public static final String ITERABLE_MAPPING_FQ_NAME = ORG_MAPSTRUCT + ITERABLE_MAPPING_SIMPLE_NAME;
+
+    /**
+     * Simple name of the annotation MapMapping
+     */
+    public static final String MAP_MAPPING_SIMPLE_NAME = "MapMapping"; //$NON-NLS-1$
+
+    /**
+     * Fully qualified name of the annotation MapMapping
+     */
+    public static final String MAP_MAPPING_FQ_NAME = ORG_MAPSTRUCT + MAP_MAPPING_SIMPLE_NAME;
+
+    /**
+     * Simple name of the annotation BeanMapping
+     */
+    public static final String BEAN_MAPPING_SIMPLE_NAME = "BeanMapping"; //$NON-NLS-1$
+
+    /**
+     * Fully qualified name of the annotation BeanMapping
+     */
+    public static final String BEAN_MAPPING_FQ_NAME = ORG_MAPSTRUCT + BEAN_MAPPING_SIMPLE_NAME;
+
+    /**
+     * Simple name of the annotation InheritConfiguration
+     */
+    public static final String INHERIT_CONFIGURATION_SIMPLE_NAME = "InheritConfiguration"; //$NON-NLS-1$
+
+    /**
+     * Fully qualified name of the annotation InheritConfiguration
+     */
+    public static final String INHERIT_CONFIGURATION_FQ_NAME = ORG_MAPSTRUCT + INHERIT_CONFIGURATION_SIMPLE_NAME;
+
+    /**
+     * Simple name of the annotation InheritInverseConfiguration
+     */
+    public static final String INHERIT_INVERSE_CONFIGURATION_SIMPLE_NAME = "InheritInverseConfiguration"; //$NON-NLS-1$
+
+    /**
+     * Fully qualified name of the annotation InheritInverseConfiguration
+     */
+    public static final String INHERIT_INVERSE_CONFIGURATION_FQ_NAME =
+        ORG_MAPSTRUCT + INHERIT_INVERSE_CONFIGURATION_SIMPLE_NAME;
+
+    /**
+     * Member name of InheritConfiguration#name() and InheritInverseConfiguration#name()
+     */
+    public static final String INHERIT_CONFIGURATION_MEMBER_NAME = "name"; //$NON-NLS-1$
+
+    /**
+     * Fully qualified name of the annotation Named
+     */
+    public static final String NAMED_FQ_NAME = "org.mapstruct.Named"; //$NON-NLS-1$
+
+    /**
+     * Fully qualified name of the meta annotation Qualifier
+     */
+    public static final String QUALIFIER_FQ_NAME = "org.mapstruct.Qualifier"; //$NON-NLS-1$
+
+    /**
+     * Member name of Mapper#uses() and MapperConfig#uses()
+     */
+    public static final String MAPPER_MEMBER_USES = "uses"; //$NON-NLS-1$
+
+    /**
+     * Member name of Mapper#config()
+     */
+    public static final String MAPPER_MEMBER_CONFIG = "config"; //$NON-NLS-1$
+
+    /**
+     * Member name of Mapping#qualifiedByName() and the like
+     */
+    public static final String MAPPING_MEMBER_QUALIFIED_BY_NAME = "qualifiedByName"; //$NON-NLS-1$
+
+    /**
+     * Member name of Mapping#qualifiedBy() and the like
+     */
+    public static final String MAPPING_MEMBER_QUALIFIED_BY = "qualifiedBy"; //$NON-NLS-1$
+
     /**
      * Member name of Mapping#source()
      */
@@ -86,6 +181,22 @@ private MapStructAPIConstants() {
      */
     public static final String MAPPING_MEMBER_IGNORE = "ignore"; //$NON-NLS-1$
 
+    /**
+     * Value of ValueMapping#source() mapping all constants without an explicit mapping and without a constant of the
+     * same name in the target type
+     */
+    public static final String ANY_REMAINING = "<ANY_REMAINING>"; //$NON-NLS-1$
+
+    /**
+     * Value of ValueMapping#source() mapping all constants without an explicit mapping
+     */
+    public static final String ANY_UNMAPPED = "<ANY_UNMAPPED>"; //$NON-NLS-1$
+
+    /**
+     * Value of ValueMapping#source() and ValueMapping#target() standing for {@code null}
+     */
+    public static final String NULL = "<NULL>"; //$NON-NLS-1$
+
     /**
      * Fully qualified name of the annotation TargetType
      */
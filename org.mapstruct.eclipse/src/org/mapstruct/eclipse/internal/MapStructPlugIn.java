@@ -18,8 +18,28 @@
  */
 package org.mapstruct.eclipse.internal;
 
+import java.io.IOException;
+import java.util.Hashtable;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.osgi.service.debug.DebugOptions;
+import org.eclipse.osgi.service.debug.DebugOptionsListener;
 import org.eclipse.ui.plugin.AbstractUIPlugin;
+import org.mapstruct.eclipse.internal.index.InheritanceIndex;
+import org.mapstruct.eclipse.internal.index.MapStructIndexes;
+import org.mapstruct.eclipse.internal.index.MapperIndex;
+import org.mapstruct.eclipse.internal.index.PropertyIndex;
+import org.mapstruct.eclipse.internal.index.QualifierIndex;
+import org.mapstruct.eclipse.internal.util.CacheStatistics;
+import org.mapstruct.eclipse.internal.util.ClasspathChangeListener;
+import org.mapstruct.eclipse.internal.util.ComponentModels;
+import org.mapstruct.eclipse.internal.util.MapStructProjects;
+import org.mapstruct.eclipse.internal.util.Tracing;
 import org.osgi.framework.BundleContext;
+import org.osgi.framework.ServiceRegistration;
 
 /**
  * The activator class controls the plug-in life cycle.
@@ -32,6 +52,17 @@ public class MapStructPlugIn extends AbstractUIPlugin {
 
     private static MapStructPlugIn plugin;
 
+    private final CacheStatistics sharedASTStatistics = new CacheStatistics( "Shared AST" );
+
+    /**
+     * Created on the first use of the plug-in in a MapStruct project
+     */
+    private volatile MapStructIndexes indexes;
+
+    private final ClasspathChangeListener classpathChangeListener = new ClasspathChangeListener();
+
+    private ServiceRegistration<?> tracingRegistration;
+
     public MapStructPlugIn() {
     }
 
@@ -39,10 +70,39 @@ public MapStructPlugIn() {
     public void start(BundleContext context) throws Exception {
         super.start( context );
         plugin = this;
+
+        Hashtable<String, String> tracingProperties = new Hashtable<String, String>();
+        tracingProperties.put( DebugOptions.LISTENER_SYMBOLICNAME, PLUGIN_ID );
+        tracingRegistration =
+            context.registerService( DebugOptionsListener.class.getName(), new Tracing(), tracingProperties );
+
+        // cheap, unlike the indexes: notices projects becoming MapStruct projects before the plug-in is used in any
+        JavaCore.addElementChangedListener( classpathChangeListener, ElementChangedEvent.POST_CHANGE );
     }
 
     @Override
     public void stop(BundleContext context) throws Exception {
+        MapStructIndexes startedIndexes;
+        synchronized ( this ) {
+            startedIndexes = indexes;
+            indexes = null;
+        }
+
+        if ( startedIndexes != null ) {
+            try {
+                startedIndexes.stop();
+            }
+            catch ( IOException e ) {
+                getLog().log( new Status( IStatus.WARNING, PLUGIN_ID, "Could not save the MapStruct index", e ) );
+            }
+        }
+
+        JavaCore.removeElementChangedListener( classpathChangeListener );
+        MapStructProjects.clear();
+        ComponentModels.clear();
+
+        tracingRegistration.unregister();
+
         plugin = null;
         super.stop( context );
     }
@@ -51,4 +111,65 @@ public static MapStructPlugIn getDefault() {
         return plugin;
     }
 
+    /**
+     * @return the indexes of the plug-in, created and started on the first call. Only to be called for MapStruct
+     *         projects, so that workspaces without MapStruct don't pay for the indexes.
+     */
+    public MapStructIndexes getIndexes() {
+        MapStructIndexes result = indexes;
+        if ( result == null ) {
+            synchronized ( this ) {
+                result = indexes;
+                if ( result == null ) {
+                    result = new MapStructIndexes( getStateLocation().toFile() );
+                    result.start();
+                    indexes = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return whether the indexes have been created
+     */
+    public boolean hasIndexes() {
+        return indexes != null;
+    }
+
+    /**
+     * @return how often the editor's shared AST could be used for computing completion proposals
+     */
+    public CacheStatistics getSharedASTStatistics() {
+        return sharedASTStatistics;
+    }
+
+    /**
+     * @return the workspace-wide cache of the properties of types
+     */
+    public PropertyIndex getPropertyIndex() {
+        return getIndexes().getPropertyIndex();
+    }
+
+    /**
+     * @return the mappers whose types are kept in the property index
+     */
+    public MapperIndex getMapperIndex() {
+        return getIndexes().getMapperIndex();
+    }
+
+    /**
+     * @return the workspace-wide cache of the qualifiers available in mappers
+     */
+    public QualifierIndex getQualifierIndex() {
+        return getIndexes().getQualifierIndex();
+    }
+
+    /**
+     * @return the workspace-wide cache of the methods of mappers that configuration can be inherited from
+     */
+    public InheritanceIndex getInheritanceIndex() {
+        return getIndexes().getInheritanceIndex();
+    }
+
 }
@@ -0,0 +1,155 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.index;
+
+import java.beans.Introspector;
+
+import org.mapstruct.eclipse.internal.model.MethodModel;
+import org.mapstruct.eclipse.internal.model.TypeModel;
+
+/**
+ * Classifies methods as property accessors the way the default accessor naming strategy of the MapStruct annotation
+ * processor does, so that the proposed properties match the ones the processor accepts.
+ *
+ * @author agent
+ */
+final class AccessorNaming {
+
+    private AccessorNaming() {
+    }
+
+    /**
+     * @param method the method
+     * @return {@code true}, iff the method is a public instance method that can be used as a property accessor at all
+     */
+    static boolean isCandidate(MethodModel method) {
+        return !method.isConstructor()
+            && !method.isStatic()
+            && ( method.isPublic() || method.getDeclaringType().isInterface() );
+    }
+
+    /**
+     * @param method the method
+     * @return {@code true}, iff the method is a getter: {@code getXxx()} returning anything but {@code void}, or
+     *         {@code isXxx()} returning {@code boolean} or {@code Boolean}
+     */
+    static boolean isGetter(MethodModel method) {
+        if ( method.getParameterTypes().length != 0 || isVoid( method.getReturnType() ) ) {
+            return false;
+        }
+
+        String name = method.getName();
+        if ( name.startsWith( "get" ) && name.length() > 3 ) { //$NON-NLS-1$
+            return true;
+        }
+
+        return name.startsWith( "is" ) && name.length() > 2 && isBoolean( method.getReturnType() ); //$NON-NLS-1$
+    }
+
+    /**
+     * @param method the method
+     * @return {@code true}, iff the method is a setter {@code setXxx(value)} or a fluent setter
+     */
+    static boolean isSetter(MethodModel method) {
+        if ( method.getParameterTypes().length != 1 ) {
+            return false;
+        }
+
+        String name = method.getName();
+        return ( name.startsWith( "set" ) && name.length() > 3 ) || isFluentSetter( method ); //$NON-NLS-1$
+    }
+
+    /**
+     * @param method the method
+     * @return {@code true}, iff the method takes one parameter and returns its declaring type, e.g. of a builder, and
+     *         is neither an adder nor declared in a JDK type
+     */
+    static boolean isFluentSetter(MethodModel method) {
+        if ( method.getParameterTypes().length != 1 || isAdderWithUpperCase4thCharacter( method.getName() ) ) {
+            return false;
+        }
+
+        TypeModel declaringClass = method.getDeclaringType().getErasure();
+        if ( isJdkType( declaringClass ) ) {
+            return false;
+        }
+
+        return method.getReturnType().getErasure().isAssignmentCompatible( declaringClass );
+    }
+
+    /**
+     * @param method a getter or setter
+     * @return the name of the property accessed by the method
+     */
+    static String getPropertyName(MethodModel method) {
+        String name = method.getName();
+
+        if ( isFluentSetter( method ) ) {
+            if ( name.startsWith( "set" ) //$NON-NLS-1$
+                && name.length() > 3 && Character.isUpperCase( name.charAt( 3 ) ) ) {
+                return Introspector.decapitalize( name.substring( 3 ) );
+            }
+            return name;
+        }
+
+        return Introspector.decapitalize( name.substring( name.startsWith( "is" ) ? 2 : 3 ) ); //$NON-NLS-1$
+    }
+
+    /**
+     * @param type a type
+     * @return {@code true}, iff the type is a {@code java.util.Collection} or a {@code java.util.Map}, so that a
+     *         getter of that type can be used to add the elements of a target property without a setter
+     */
+    static boolean isCollectionOrMap(TypeModel type) {
+        if ( type == null || type.isPrimitive() || type.isArray() ) {
+            return false;
+        }
+
+        String name = type.getErasure().getQualifiedName();
+        if ( "java.util.Collection".equals( name ) || "java.util.Map".equals( name ) ) { //$NON-NLS-1$ //$NON-NLS-2$
+            return true;
+        }
+
+        for ( TypeModel ifc : type.getInterfaces() ) {
+            if ( isCollectionOrMap( ifc ) ) {
+                return true;
+            }
+        }
+
+        return isCollectionOrMap( type.getSuperclass() );
+    }
+
+    private static boolean isAdderWithUpperCase4thCharacter(String name) {
+        return name.startsWith( "add" ) && name.length() > 3 && Character.isUpperCase( name.charAt( 3 ) ); //$NON-NLS-1$
+    }
+
+    private static boolean isJdkType(TypeModel type) {
+        String name = type.getQualifiedName();
+        return name.startsWith( "java." ) || name.startsWith( "javax." ); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    private static boolean isVoid(TypeModel type) {
+        return "void".equals( type.getName() ); //$NON-NLS-1$
+    }
+
+    private static boolean isBoolean(TypeModel type) {
+        return "boolean".equals( type.getName() ) //$NON-NLS-1$
+            || "java.lang.Boolean".equals( type.getQualifiedName() ); //$NON-NLS-1$
+    }
+}
@@ -0,0 +1,274 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.index;
+
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.mapstruct.eclipse.internal.preferences.MapStructPreferences;
+import org.mapstruct.eclipse.internal.util.CacheStatistics;
+
+/**
+ * Thread-safe cache of the indexes, keyed by the project and a binding key as created by
+ * {@link PropertyIndex#toCacheKey(String, String)}. Each entry depends on the types it was computed from, and is
+ * removed when one of them changes.
+ * <p>
+ * The cache is bounded by a multiple of {@link MapStructPreferences#PROPERTY_INDEX_SIZE}, evicting the least recently
+ * used entries. It is cleared completely when the JVM runs low on memory.
+ * <p>
+ * Entries are computed outside of the lock of the cache, so an invalidation may happen while computing one from the
+ * previous state of a type. Such entries are recognized by the {@link #getGeneration() generation} of the cache read
+ * before computing them, and not cached.
+ *
+ * @param <V> the type of the entries
+ * @author agent
+ */
+abstract class DependentLruCache<V> {
+
+    private final CacheStatistics statistics;
+
+    private final int sizeFactor;
+
+    private final Map<String, V> entries = new LruMap();
+
+    /**
+     * Qualified type name to the keys of all entries that depend on that type
+     */
+    private final Map<String, Set<String>> dependentEntries = new HashMap<String, Set<String>>();
+
+    /**
+     * Cleared by the garbage collector when memory gets low, which is when we drop the cache
+     */
+    private SoftReference<Object> memoryCanary = new SoftReference<Object>( new Object() );
+
+    /**
+     * Incremented by each invalidation
+     */
+    private long generation = 0L;
+
+    /**
+     * @param name the human readable name of the cache
+     * @param sizeFactor the factor of the configured size of the property index to bound the cache by
+     */
+    DependentLruCache(String name, int sizeFactor) {
+        this.statistics = new CacheStatistics( name );
+        this.sizeFactor = sizeFactor;
+    }
+
+    /**
+     * @param entry an entry of the cache
+     * @return the qualified names of the types the entry was computed from
+     */
+    protected abstract Collection<String> getDependencies(V entry);
+
+    /**
+     * @param key the key of the entry
+     * @return the cached entry, or {@code null}
+     */
+    synchronized V get(String key) {
+        checkMemory();
+
+        V entry = entries.get( key );
+        if ( entry != null ) {
+            statistics.hit();
+        }
+        else {
+            statistics.miss();
+        }
+        return entry;
+    }
+
+    /**
+     * @return the number of invalidations so far, to be read before computing an entry to put into the cache
+     */
+    synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Adds an entry, replacing the entry cached for the key so far, unless the cache was invalidated since computing
+     * the entry started.
+     *
+     * @param key the key of the entry
+     * @param entry the entry
+     * @param generation the generation of the cache before computing the entry
+     */
+    synchronized void put(String key, V entry, long generation) {
+        if ( generation == this.generation ) {
+            replace( key, entry );
+        }
+    }
+
+    /**
+     * Adds an entry, unless the cache contains an entry for the key already or the cache was invalidated since
+     * computing the entry started.
+     *
+     * @param key the key of the entry
+     * @param entry the entry
+     * @param generation the generation of the cache before computing the entry
+     * @return the entry cached for the key, or the given entry if there is none
+     */
+    synchronized V putIfAbsent(String key, V entry, long generation) {
+        V existing = entries.get( key );
+        if ( existing != null ) {
+            return existing;
+        }
+
+        put( key, entry, generation );
+        return entry;
+    }
+
+    /**
+     * Adds an entry restored from a previous session, unless the cache contains an entry for the key already. The
+     * entry is known to be up to date, regardless of the invalidations in the meantime.
+     *
+     * @param key the key of the entry
+     * @param entry the entry
+     */
+    synchronized void restore(String key, V entry) {
+        if ( !entries.containsKey( key ) ) {
+            replace( key, entry );
+        }
+    }
+
+    private void replace(String key, V entry) {
+        remove( key );
+        entries.put( key, entry );
+
+        for ( String typeName : getDependencies( entry ) ) {
+            Set<String> keys = dependentEntries.get( typeName );
+            if ( keys == null ) {
+                keys = new HashSet<String>();
+                dependentEntries.put( typeName, keys );
+            }
+            keys.add( key );
+        }
+    }
+
+    /**
+     * Removes all entries that depend on the type with the given name.
+     *
+     * @param qualifiedName the qualified name of a changed type
+     */
+    synchronized void invalidateType(String qualifiedName) {
+        generation++;
+
+        Set<String> keys = dependentEntries.remove( qualifiedName );
+        if ( keys != null ) {
+            for ( String key : keys ) {
+                remove( key );
+            }
+        }
+    }
+
+    /**
+     * Removes all entries of the given project.
+     *
+     * @param projectName the name of the project
+     */
+    synchronized void invalidateProject(String projectName) {
+        generation++;
+
+        String prefix = projectName + '/';
+        Collection<String> keys = new ArrayList<String>();
+        for ( String key : entries.keySet() ) {
+            if ( key.startsWith( prefix ) ) {
+                keys.add( key );
+            }
+        }
+
+        for ( String key : keys ) {
+            remove( key );
+        }
+    }
+
+    /**
+     * Removes all entries.
+     */
+    synchronized void clear() {
+        generation++;
+        entries.clear();
+        dependentEntries.clear();
+    }
+
+    /**
+     * @return the keys and entries of the cache, from the least to the most recently used one
+     */
+    synchronized Map<String, V> getEntries() {
+        return new LinkedHashMap<String, V>( entries );
+    }
+
+    CacheStatistics getStatistics() {
+        return statistics;
+    }
+
+    private void remove(String key) {
+        V removed = entries.remove( key );
+        if ( removed != null ) {
+            removeDependencies( key, removed );
+        }
+    }
+
+    private void removeDependencies(String key, V entry) {
+        for ( String typeName : getDependencies( entry ) ) {
+            Set<String> keys = dependentEntries.get( typeName );
+            if ( keys != null ) {
+                keys.remove( key );
+                if ( keys.isEmpty() ) {
+                    dependentEntries.remove( typeName );
+                }
+            }
+        }
+    }
+
+    private void checkMemory() {
+        if ( memoryCanary.get() == null ) {
+            statistics.evicted( entries.size() );
+            clear();
+            memoryCanary = new SoftReference<Object>( new Object() );
+        }
+    }
+
+    /**
+     * Map in access order that drops its eldest entry when exceeding the configured size
+     */
+    private final class LruMap extends LinkedHashMap<String, V> {
+        private static final long serialVersionUID = 1L;
+
+        private LruMap() {
+            super( 64, 0.75f, true );
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+            if ( size() > MapStructPreferences.getPropertyIndexSize() * sizeFactor ) {
+                statistics.evicted( 1 );
+                removeDependencies( eldest.getKey(), eldest.getValue() );
+                return true;
+            }
+            return false;
+        }
+    }
+}
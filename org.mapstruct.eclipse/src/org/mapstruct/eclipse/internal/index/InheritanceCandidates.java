@@ -0,0 +1,166 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+
+/**
+ * The methods of a mapper that other methods can inherit their configuration from with {@code @InheritConfiguration}
+ * or {@code @InheritInverseConfiguration}, i.e. its abstract mapping methods and the prototype methods of its mapper
+ * config. Does not reference any bindings, so instances can be kept beyond the lifetime of an AST.
+ * <p>
+ * The candidates are keyed by the pair of their first source parameter type and their result type. As the source and
+ * result types of a method must be assignable to the ones of the method it inherits from, the candidates for a method
+ * are found by looking up the pairs of the super types of its own source and result types, instead of comparing the
+ * method to every method of the mapper.
+ *
+ * @author agent
+ */
+public final class InheritanceCandidates {
+    private static final char KEY_SEPARATOR = '|';
+
+    private final Map<String, List<MappingMethodSignature>> candidates;
+    private final String[] dependencies;
+
+    /**
+     * @param signatures the signatures of the candidates
+     * @param dependencies the qualified names of the types inspected for the candidates
+     */
+    InheritanceCandidates(List<MappingMethodSignature> signatures, String[] dependencies) {
+        this.candidates = new HashMap<String, List<MappingMethodSignature>>();
+        for ( MappingMethodSignature signature : signatures ) {
+            String key = toKey( signature.getSourceTypes()[0], signature.getResultType() );
+            List<MappingMethodSignature> signaturesWithKey = candidates.get( key );
+            if ( signaturesWithKey == null ) {
+                signaturesWithKey = new ArrayList<MappingMethodSignature>( 1 );
+                candidates.put( key, signaturesWithKey );
+            }
+            signaturesWithKey.add( signature );
+        }
+        this.dependencies = dependencies;
+    }
+
+    /**
+     * @param method the method annotated with {@code @InheritConfiguration} or {@code @InheritInverseConfiguration}
+     * @param inverse {@code true} for the candidates of {@code @InheritInverseConfiguration}
+     * @return the names of the methods the given method can inherit the configuration from, sorted
+     */
+    public NameMatcher findCandidates(IMethodBinding method, boolean inverse) {
+        List<ITypeBinding> sourceTypes = MappingMethodSignature.getSourceParameterTypes( method );
+        ITypeBinding resultType = MappingMethodSignature.getResultType( method );
+        Set<String> result = new TreeSet<String>();
+
+        if ( sourceTypes.isEmpty() || resultType == null || ( inverse && sourceTypes.size() != 1 ) ) {
+            return NameMatcher.of( new String[0] );
+        }
+
+        List<Set<String>> sourceSuperTypes = new ArrayList<Set<String>>( sourceTypes.size() );
+        for ( ITypeBinding sourceType : sourceTypes ) {
+            sourceSuperTypes.add( getSuperTypes( sourceType ) );
+        }
+        Set<String> resultSuperTypes = getSuperTypes( resultType );
+
+        MappingMethodSignature self = MappingMethodSignature.of( method );
+        for ( String source : sourceSuperTypes.get( 0 ) ) {
+            for ( String target : resultSuperTypes ) {
+                // the inverse method maps from the own result type to the own source type
+                List<MappingMethodSignature> signatures =
+                    inverse ? candidates.get( toKey( target, source ) ) : candidates.get( toKey( source, target ) );
+                if ( signatures == null ) {
+                    continue;
+                }
+
+                for ( MappingMethodSignature signature : signatures ) {
+                    if ( isCandidate( signature, self, sourceSuperTypes, inverse ) ) {
+                        result.add( signature.getName() );
+                    }
+                }
+            }
+        }
+
+        return NameMatcher.of( result.toArray( new String[result.size()] ) );
+    }
+
+    private static boolean isCandidate(MappingMethodSignature signature, MappingMethodSignature self,
+                                       List<Set<String>> sourceSuperTypes, boolean inverse) {
+        if ( signature.getName().equals( self.getName() )
+            && signature.getResultType().equals( self.getResultType() )
+            && Arrays.equals( signature.getSourceTypes(), self.getSourceTypes() ) ) {
+            return false;
+        }
+
+        if ( inverse ) {
+            return signature.getSourceTypes().length == 1;
+        }
+
+        String[] candidateSourceTypes = signature.getSourceTypes();
+        if ( candidateSourceTypes.length != sourceSuperTypes.size() ) {
+            return false;
+        }
+        for ( int i = 1; i < candidateSourceTypes.length; i++ ) {
+            if ( !sourceSuperTypes.get( i ).contains( candidateSourceTypes[i] ) ) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the qualified names of the given type and of all types it is assignable to, ignoring boxing
+     */
+    private static Set<String> getSuperTypes(ITypeBinding type) {
+        Set<String> result = new HashSet<String>();
+        collectSuperTypes( type, result );
+        if ( !type.isPrimitive() ) {
+            result.add( "java.lang.Object" ); //$NON-NLS-1$
+        }
+        return result;
+    }
+
+    private static void collectSuperTypes(ITypeBinding type, Set<String> result) {
+        if ( !result.add( type.getQualifiedName() ) ) {
+            return;
+        }
+
+        for ( ITypeBinding ifc : type.getInterfaces() ) {
+            collectSuperTypes( ifc, result );
+        }
+        if ( type.getSuperclass() != null ) {
+            collectSuperTypes( type.getSuperclass(), result );
+        }
+    }
+
+    private static String toKey(String sourceType, String resultType) {
+        return sourceType + KEY_SEPARATOR + resultType;
+    }
+
+    String[] getDependencies() {
+        return dependencies;
+    }
+}
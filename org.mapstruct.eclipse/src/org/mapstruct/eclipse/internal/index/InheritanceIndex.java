@@ -0,0 +1,190 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.index;
+
+import static org.mapstruct.eclipse.internal.MapStructAPIConstants.MAPPER_FQ_NAME;
+import static org.mapstruct.eclipse.internal.MapStructAPIConstants.MAPPER_MEMBER_CONFIG;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.dom.IAnnotationBinding;
+import org.eclipse.jdt.core.dom.IMemberValuePairBinding;
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.eclipse.jdt.core.dom.Modifier;
+import org.mapstruct.eclipse.internal.preferences.MapStructPreferences;
+import org.mapstruct.eclipse.internal.util.CacheStatistics;
+
+/**
+ * Workspace-wide cache of the {@link InheritanceCandidates} of mappers, keyed by the project and the binding key of
+ * the mapper.
+ * <p>
+ * The candidates are the abstract methods declared in the mapper and its super types and the ones declared in the
+ * type referenced in {@code Mapper#config()} and its super types. Entries are invalidated by the
+ * {@link PropertyIndexInvalidator} when one of the inspected types or the classpath of their project changes, and
+ * computed again on the next request. Like the ones of the {@link PropertyIndex}, the entries are kept in a
+ * {@link DependentLruCache} bounded by {@link MapStructPreferences#PROPERTY_INDEX_SIZE}.
+ *
+ * @author agent
+ */
+public class InheritanceIndex {
+
+    private final DependentLruCache<InheritanceCandidates> entries =
+        new DependentLruCache<InheritanceCandidates>( "Inheritance index", 1 ) { //$NON-NLS-1$
+            @Override
+            protected Collection<String> getDependencies(InheritanceCandidates candidates) {
+                return Arrays.asList( candidates.getDependencies() );
+            }
+        };
+
+    /**
+     * @param project the project of the mapper
+     * @param mapper the mapper type
+     * @param monitor the progress monitor to check for cancellation
+     * @return the methods of the mapper that configuration can be inherited from, computed if not yet cached
+     * @throws OperationCanceledException if the monitor is canceled while computing the candidates
+     */
+    public InheritanceCandidates getCandidates(IJavaProject project, ITypeBinding mapper, IProgressMonitor monitor) {
+        String cacheKey = PropertyIndex.toCacheKey( project, mapper.getErasure().getKey() );
+
+        long generation = entries.getGeneration();
+        InheritanceCandidates candidates = entries.get( cacheKey );
+        if ( candidates == null ) {
+            candidates = computeCandidates( mapper.getErasure(), monitor );
+            entries.put( cacheKey, candidates, generation );
+        }
+
+        return candidates;
+    }
+
+    /**
+     * Removes all entries that were collected from the type with the given name.
+     *
+     * @param qualifiedName the qualified name of a changed type
+     */
+    public void invalidateType(String qualifiedName) {
+        entries.invalidateType( qualifiedName );
+    }
+
+    /**
+     * Removes all entries of the given project, e.g. after its classpath changed.
+     *
+     * @param projectName the name of the project
+     */
+    public void invalidateProject(String projectName) {
+        entries.invalidateProject( projectName );
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    public CacheStatistics getStatistics() {
+        return entries.getStatistics();
+    }
+
+    private static InheritanceCandidates computeCandidates(ITypeBinding mapper, IProgressMonitor monitor) {
+        List<MappingMethodSignature> signatures = new ArrayList<MappingMethodSignature>();
+        Set<String> visited = new HashSet<String>();
+
+        collectCandidates( mapper, signatures, visited, monitor );
+
+        IAnnotationBinding mapperAnnotation = findAnnotation( mapper, MAPPER_FQ_NAME );
+        if ( mapperAnnotation != null ) {
+            ITypeBinding config = getConfig( mapperAnnotation );
+            if ( config != null ) {
+                collectCandidates( config, signatures, visited, monitor );
+            }
+        }
+
+        return new InheritanceCandidates( signatures, visited.toArray( new String[visited.size()] ) );
+    }
+
+    /**
+     * Collects the abstract mapping methods declared in the given type and its super types. The methods are taken from
+     * the parameterized super types, so that e.g. {@code T map(S source)} of a {@code BaseMapper<Car, CarDto>} is
+     * collected as {@code CarDto map(Car source)}.
+     */
+    private static void collectCandidates(ITypeBinding type, List<MappingMethodSignature> signatures,
+                                          Set<String> visited, IProgressMonitor monitor) {
+        ITypeBinding erasure = type.getErasure();
+        if ( "java.lang.Object".equals( erasure.getQualifiedName() ) || !visited.add( erasure.getQualifiedName() ) ) {
+            return;
+        }
+
+        if ( monitor.isCanceled() ) {
+            throw new OperationCanceledException();
+        }
+
+        for ( IMethodBinding method : type.getDeclaredMethods() ) {
+            if ( isAbstract( method ) ) {
+                MappingMethodSignature signature = MappingMethodSignature.of( method );
+                if ( signature != null ) {
+                    signatures.add( signature );
+                }
+            }
+        }
+
+        for ( ITypeBinding ifc : type.getInterfaces() ) {
+            collectCandidates( ifc, signatures, visited, monitor );
+        }
+
+        if ( type.getSuperclass() != null ) {
+            collectCandidates( type.getSuperclass(), signatures, visited, monitor );
+        }
+    }
+
+    private static boolean isAbstract(IMethodBinding method) {
+        int modifiers = method.getModifiers();
+        if ( method.getDeclaringClass().isInterface() ) {
+            return !Modifier.isStatic( modifiers ) && !Modifier.isDefault( modifiers );
+        }
+        return Modifier.isAbstract( modifiers );
+    }
+
+    private static IAnnotationBinding findAnnotation(ITypeBinding type, String annotationName) {
+        for ( IAnnotationBinding annotation : type.getAnnotations() ) {
+            if ( annotationName.equals( annotation.getAnnotationType().getQualifiedName() ) ) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    private static ITypeBinding getConfig(IAnnotationBinding mapperAnnotation) {
+        for ( IMemberValuePairBinding pair : mapperAnnotation.getAllMemberValuePairs() ) {
+            if ( MAPPER_MEMBER_CONFIG.equals( pair.getName() ) && pair.getValue() instanceof ITypeBinding ) {
+                ITypeBinding config = (ITypeBinding) pair.getValue();
+                return "void".equals( config.getName() ) ? null : config; //$NON-NLS-1$
+            }
+        }
+        return null;
+    }
+}
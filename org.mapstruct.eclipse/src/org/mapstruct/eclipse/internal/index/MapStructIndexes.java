@@ -0,0 +1,131 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.index;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.JavaCore;
+
+/**
+ * The workspace-wide indexes of the plug-in, along with the listener keeping them up to date, the file they are
+ * persisted in and the {@link MapperEditorTracker} warming them up. They are created and started on the first use of
+ * the plug-in in a MapStruct project, so that workspaces without MapStruct don't pay for them.
+ *
+ * @author agent
+ */
+public final class MapStructIndexes {
+
+    private final PropertyIndex propertyIndex = new PropertyIndex();
+
+    private final MapperIndex mapperIndex = new MapperIndex();
+
+    private final QualifierIndex qualifierIndex = new QualifierIndex();
+
+    private final InheritanceIndex inheritanceIndex = new InheritanceIndex();
+
+    private final PropertyIndexInvalidator invalidator =
+        new PropertyIndexInvalidator( propertyIndex, mapperIndex, qualifierIndex, inheritanceIndex );
+
+    private final MapperEditorTracker editorTracker = new MapperEditorTracker();
+
+    private final PropertyIndexStore store;
+
+    /**
+     * @param stateLocation the directory to persist the indexes in
+     */
+    public MapStructIndexes(File stateLocation) {
+        this.store = new PropertyIndexStore( stateLocation, propertyIndex, mapperIndex );
+    }
+
+    /**
+     * Starts listening for changes of the Java model, schedules loading the persisted indexes and starts warming them
+     * up for the mappers opened in editors.
+     */
+    public void start() {
+        JavaCore.addElementChangedListener(
+            invalidator,
+            ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE );
+
+        store.scheduleLoad();
+        editorTracker.install();
+    }
+
+    /**
+     * Waits for loading the persisted indexes, if it is still running.
+     *
+     * @param monitor the monitor, waiting stops when it is canceled
+     * @param timeoutMillis the maximum time to wait in milliseconds, {@code 0} for no limit
+     */
+    public void awaitLoad(IProgressMonitor monitor, long timeoutMillis) {
+        store.awaitLoad( monitor, timeoutMillis );
+    }
+
+    /**
+     * Stops all activities of the indexes, persists them and clears them.
+     *
+     * @throws IOException if the indexes can't be persisted
+     */
+    public void stop() throws IOException {
+        editorTracker.uninstall();
+        Job.getJobManager().cancel( PropertyIndexWarmUpJob.FAMILY );
+        JavaCore.removeElementChangedListener( invalidator );
+
+        try {
+            store.save();
+        }
+        finally {
+            propertyIndex.clear();
+            mapperIndex.clear();
+            qualifierIndex.clear();
+            inheritanceIndex.clear();
+        }
+    }
+
+    /**
+     * @return the workspace-wide cache of the properties of types
+     */
+    public PropertyIndex getPropertyIndex() {
+        return propertyIndex;
+    }
+
+    /**
+     * @return the mappers whose types are kept in the property index
+     */
+    public MapperIndex getMapperIndex() {
+        return mapperIndex;
+    }
+
+    /**
+     * @return the workspace-wide cache of the qualifiers available in mappers
+     */
+    public QualifierIndex getQualifierIndex() {
+        return qualifierIndex;
+    }
+
+    /**
+     * @return the workspace-wide cache of the methods of mappers that configuration can be inherited from
+     */
+    public InheritanceIndex getInheritanceIndex() {
+        return inheritanceIndex;
+    }
+}
@@ -0,0 +1,171 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.index;
+
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.ui.JavaUI;
+import org.eclipse.ui.IEditorPart;
+import org.eclipse.ui.IEditorReference;
+import org.eclipse.ui.IPartListener2;
+import org.eclipse.ui.IWindowListener;
+import org.eclipse.ui.IWorkbench;
+import org.eclipse.ui.IWorkbenchPage;
+import org.eclipse.ui.IWorkbenchPartReference;
+import org.eclipse.ui.IWorkbenchWindow;
+import org.eclipse.ui.PlatformUI;
+import org.mapstruct.eclipse.internal.MapStructPlugIn;
+import org.mapstruct.eclipse.internal.preferences.MapStructPreferences;
+import org.mapstruct.eclipse.internal.util.MapStructProjects;
+
+/**
+ * Schedules a {@link PropertyIndexWarmUpJob} whenever the editor of a compilation unit of a MapStruct project is
+ * opened, and for the editors already open when it is {@link #install() installed}. It is installed along with the
+ * {@link MapStructIndexes}, on the first use of the plug-in in a MapStruct project.
+ *
+ * @author agent
+ */
+public class MapperEditorTracker implements IWindowListener, IPartListener2 {
+
+    /**
+     * Starts tracking the editors of all workbench windows, asynchronously on the UI thread.
+     */
+    public void install() {
+        if ( !PlatformUI.isWorkbenchRunning() ) {
+            return;
+        }
+
+        final IWorkbench workbench = PlatformUI.getWorkbench();
+        workbench.getDisplay().asyncExec( new Runnable() {
+            @Override
+            public void run() {
+                workbench.addWindowListener( MapperEditorTracker.this );
+                for ( IWorkbenchWindow window : workbench.getWorkbenchWindows() ) {
+                    windowOpened( window );
+                }
+            }
+        } );
+    }
+
+    /**
+     * Stops tracking the editors, asynchronously on the UI thread.
+     */
+    public void uninstall() {
+        if ( !PlatformUI.isWorkbenchRunning() ) {
+            return;
+        }
+
+        final IWorkbench workbench = PlatformUI.getWorkbench();
+        workbench.getDisplay().asyncExec( new Runnable() {
+            @Override
+            public void run() {
+                workbench.removeWindowListener( MapperEditorTracker.this );
+                for ( IWorkbenchWindow window : workbench.getWorkbenchWindows() ) {
+                    windowClosed( window );
+                }
+            }
+        } );
+    }
+
+    @Override
+    public void windowOpened(IWorkbenchWindow window) {
+        window.getPartService().addPartListener( this );
+
+        for ( IWorkbenchPage page : window.getPages() ) {
+            for ( IEditorReference editor : page.getEditorReferences() ) {
+                partOpened( editor );
+            }
+        }
+    }
+
+    @Override
+    public void windowClosed(IWorkbenchWindow window) {
+        window.getPartService().removePartListener( this );
+    }
+
+    @Override
+    public void partOpened(IWorkbenchPartReference partRef) {
+        if ( !( partRef instanceof IEditorReference ) || !MapStructPreferences.isWarmUpOnOpen() ) {
+            return;
+        }
+
+        // don't restore editors that have not been shown yet
+        IEditorPart editor = ( (IEditorReference) partRef ).getEditor( false );
+        if ( editor == null ) {
+            return;
+        }
+
+        IJavaElement element = JavaUI.getEditorInputJavaElement( editor.getEditorInput() );
+        if ( element instanceof ICompilationUnit && MapStructProjects.isMapStructProject( element.getJavaProject() ) ) {
+            PropertyIndexWarmUpJob.schedule(
+                (ICompilationUnit) element,
+                MapStructPlugIn.getDefault().getPropertyIndex(),
+                MapStructPlugIn.getDefault().getMapperIndex() );
+        }
+    }
+
+    @Override
+    public void partClosed(IWorkbenchPartReference partRef) {
+        if ( !( partRef instanceof IEditorReference ) ) {
+            return;
+        }
+
+        IEditorPart editor = ( (IEditorReference) partRef ).getEditor( false );
+        if ( editor != null ) {
+            IJavaElement element = JavaUI.getEditorInputJavaElement( editor.getEditorInput() );
+            if ( element != null ) {
+                Job.getJobManager().cancel( element );
+            }
+        }
+    }
+
+    @Override
+    public void windowActivated(IWorkbenchWindow window) {
+    }
+
+    @Override
+    public void windowDeactivated(IWorkbenchWindow window) {
+    }
+
+    @Override
+    public void partActivated(IWorkbenchPartReference partRef) {
+    }
+
+    @Override
+    public void partBroughtToTop(IWorkbenchPartReference partRef) {
+    }
+
+    @Override
+    public void partDeactivated(IWorkbenchPartReference partRef) {
+    }
+
+    @Override
+    public void partHidden(IWorkbenchPartReference partRef) {
+    }
+
+    @Override
+    public void partVisible(IWorkbenchPartReference partRef) {
+    }
+
+    @Override
+    public void partInputChanged(IWorkbenchPartReference partRef) {
+        partOpened( partRef );
+    }
+}
@@ -0,0 +1,111 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The mappers known to the plug-in, keyed by the handle identifier of the compilation unit declaring them. Filled by
+ * the {@link PropertyIndexWarmUpJob} and restored by the {@link PropertyIndexStore}, so that the index can be
+ * re-warmed in the background for mappers whose types changed while the IDE was not running.
+ *
+ * @author agent
+ */
+public class MapperIndex {
+
+    private final Map<String, List<MapperModel>> mappers = new HashMap<String, List<MapperModel>>();
+
+    /**
+     * Replaces the mappers recorded for a compilation unit.
+     *
+     * @param compilationUnit the handle identifier of the compilation unit
+     * @param models the mappers declared in the compilation unit
+     */
+    synchronized void put(String compilationUnit, List<MapperModel> models) {
+        if ( models.isEmpty() ) {
+            mappers.remove( compilationUnit );
+        }
+        else {
+            mappers.put( compilationUnit, new ArrayList<MapperModel>( models ) );
+        }
+    }
+
+    /**
+     * Adds a mapper restored from a previous session, unless mappers of its compilation unit are known already.
+     *
+     * @param model the mapper
+     */
+    synchronized void restore(MapperModel model) {
+        List<MapperModel> models = mappers.get( model.getCompilationUnit() );
+        if ( models == null ) {
+            models = new ArrayList<MapperModel>();
+            mappers.put( model.getCompilationUnit(), models );
+        }
+        models.add( model );
+    }
+
+    /**
+     * Forgets the mappers of a compilation unit, e.g. after it changed.
+     *
+     * @param compilationUnit the handle identifier of the compilation unit
+     */
+    public synchronized void invalidate(String compilationUnit) {
+        mappers.remove( compilationUnit );
+    }
+
+    /**
+     * Forgets the mappers of a project.
+     *
+     * @param projectName the name of the project
+     */
+    public synchronized void invalidateProject(String projectName) {
+        Collection<String> compilationUnits = new ArrayList<String>();
+        for ( Map.Entry<String, List<MapperModel>> entry : mappers.entrySet() ) {
+            if ( entry.getValue().get( 0 ).getProjectName().equals( projectName ) ) {
+                compilationUnits.add( entry.getKey() );
+            }
+        }
+
+        for ( String compilationUnit : compilationUnits ) {
+            mappers.remove( compilationUnit );
+        }
+    }
+
+    /**
+     * @return all known mappers
+     */
+    synchronized List<MapperModel> getMappers() {
+        List<MapperModel> result = new ArrayList<MapperModel>();
+        for ( List<MapperModel> models : mappers.values() ) {
+            result.addAll( models );
+        }
+        return result;
+    }
+
+    /**
+     * Forgets all mappers.
+     */
+    public synchronized void clear() {
+        mappers.clear();
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.index;
+
+/**
+ * A mapper type as recorded by the {@link PropertyIndexWarmUpJob}: its mapping methods and the types whose properties
+ * were put into the {@link PropertyIndex} for it. Does not reference any bindings, so instances can be kept beyond the
+ * lifetime of an AST and be persisted by the {@link PropertyIndexStore}.
+ *
+ * @author agent
+ */
+final class MapperModel {
+    private final String projectName;
+    private final String compilationUnit;
+    private final String qualifiedName;
+    private final String origin;
+    private final long stamp;
+    private final String[] methods;
+    private final String[] typeKeys;
+
+    /**
+     * @param projectName the name of the project declaring the mapper
+     * @param compilationUnit the handle identifier of the compilation unit declaring the mapper
+     * @param qualifiedName the qualified name of the mapper
+     * @param origin the {@link Origins origin} of the mapper
+     * @param stamp the stamp of the origin at the time the mapper was indexed
+     * @param methods the binding keys of the mapping methods
+     * @param typeKeys the binding keys of the parameter and return types of the mapping methods
+     */
+    MapperModel(String projectName, String compilationUnit, String qualifiedName, String origin, long stamp,
+                String[] methods, String[] typeKeys) {
+        this.projectName = projectName;
+        this.compilationUnit = compilationUnit;
+        this.qualifiedName = qualifiedName;
+        this.origin = origin;
+        this.stamp = stamp;
+        this.methods = methods;
+        this.typeKeys = typeKeys;
+    }
+
+    String getProjectName() {
+        return projectName;
+    }
+
+    String getCompilationUnit() {
+        return compilationUnit;
+    }
+
+    String getQualifiedName() {
+        return qualifiedName;
+    }
+
+    String getOrigin() {
+        return origin;
+    }
+
+    long getStamp() {
+        return stamp;
+    }
+
+    String[] getMethods() {
+        return methods;
+    }
+
+    String[] getTypeKeys() {
+        return typeKeys;
+    }
+
+    /**
+     * @return {@code true}, iff the origin of the mapper is known and has no unsaved changes
+     */
+    boolean isPersistable() {
+        return origin != null && stamp != Origins.NULL_STAMP;
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The qualifiers that can be referenced in {@code qualifiedByName} and {@code qualifiedBy} within a mapper: the values
+ * of {@code @Named} and the qualifier annotations of the methods of the mapper, of the types it uses and of the types
+ * used by its mapper config. Does not reference any bindings, so instances can be kept beyond the lifetime of an AST.
+ * <p>
+ * Qualifier annotations are identified by their qualified names, several of them may share a simple name.
+ *
+ * @author agent
+ */
+public final class MapperQualifiers {
+    private final NameMatcher names;
+    private final NameMatcher qualifiers;
+    private final Map<String, List<String>> qualifiedNames;
+    private final String[] dependencies;
+
+    /**
+     * @param names the values of {@code @Named}, sorted
+     * @param qualifiers the qualified names of the qualifier annotations, sorted
+     * @param dependencies the qualified names of the types inspected for the qualifiers
+     */
+    MapperQualifiers(String[] names, String[] qualifiers, String[] dependencies) {
+        this.names = NameMatcher.of( names );
+        this.qualifiedNames = new TreeMap<String, List<String>>();
+        for ( String qualifiedName : qualifiers ) {
+            String simpleName = qualifiedName.substring( qualifiedName.lastIndexOf( '.' ) + 1 );
+            List<String> qualifiedNamesOfSimpleName = qualifiedNames.get( simpleName );
+            if ( qualifiedNamesOfSimpleName == null ) {
+                qualifiedNamesOfSimpleName = new ArrayList<String>( 1 );
+                qualifiedNames.put( simpleName, qualifiedNamesOfSimpleName );
+            }
+            qualifiedNamesOfSimpleName.add( qualifiedName );
+        }
+        this.qualifiers = NameMatcher.of( qualifiedNames.keySet().toArray( new String[qualifiedNames.size()] ) );
+        this.dependencies = dependencies;
+    }
+
+    /**
+     * @return the values of {@code @Named} available in the mapper
+     */
+    public NameMatcher getNames() {
+        return names;
+    }
+
+    /**
+     * @return the simple names of the qualifier annotations available in the mapper
+     */
+    public NameMatcher getQualifiers() {
+        return qualifiers;
+    }
+
+    /**
+     * @param simpleName the simple name of a qualifier annotation as returned by {@link #getQualifiers()}
+     * @return the qualified names of the qualifier annotations with that simple name, sorted
+     */
+    public List<String> getQualifiedNames(String simpleName) {
+        List<String> result = qualifiedNames.get( simpleName );
+        return result != null ? Collections.unmodifiableList( result ) : Collections.<String>emptyList();
+    }
+
+    String[] getDependencies() {
+        return dependencies;
+    }
+}
@@ -0,0 +1,125 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.index;
+
+import static org.mapstruct.eclipse.internal.MapStructAPIConstants.CONTEXT_FQ_NAME;
+import static org.mapstruct.eclipse.internal.MapStructAPIConstants.MAPPING_TARGET_FQ_NAME;
+import static org.mapstruct.eclipse.internal.MapStructAPIConstants.TARGET_TYPE_FQ_NAME;
+import static org.mapstruct.eclipse.internal.util.Bindings.containsAnnotation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+
+/**
+ * The name, the source parameter types and the result type of a mapping method, as considered by MapStruct when
+ * looking for the methods a method can inherit its configuration from. The result type of an update method is the type
+ * of its {@code @MappingTarget} parameter. Types are represented by their qualified names including type arguments; a
+ * type variable, e.g. of a generic prototype method of a mapper config, is represented by its erasure, i.e. its bound,
+ * so that it matches all types assignable to it.
+ *
+ * @author agent
+ */
+final class MappingMethodSignature {
+    private final String name;
+    private final String[] sourceTypes;
+    private final String resultType;
+
+    private MappingMethodSignature(String name, String[] sourceTypes, String resultType) {
+        this.name = name.intern();
+        this.sourceTypes = sourceTypes;
+        this.resultType = resultType;
+    }
+
+    /**
+     * @param method the method
+     * @return the signature of the method, or {@code null} if it has no source parameter or no result
+     */
+    static MappingMethodSignature of(IMethodBinding method) {
+        List<ITypeBinding> sourceParameterTypes = getSourceParameterTypes( method );
+        ITypeBinding resultType = getResultType( method );
+        if ( sourceParameterTypes.isEmpty() || resultType == null ) {
+            return null;
+        }
+
+        String[] sourceTypes = new String[sourceParameterTypes.size()];
+        for ( int i = 0; i < sourceTypes.length; i++ ) {
+            sourceTypes[i] = getName( sourceParameterTypes.get( i ) );
+        }
+
+        return new MappingMethodSignature( method.getName(), sourceTypes, getName( resultType ) );
+    }
+
+    private static String getName(ITypeBinding type) {
+        ITypeBinding named = type.isTypeVariable() || type.isCapture() ? type.getErasure() : type;
+        return named.getQualifiedName().intern();
+    }
+
+    /**
+     * @param method the method
+     * @return the types of the parameters of the method that are mapped, i.e. the ones not annotated with
+     *         {@code @MappingTarget}, {@code @TargetType} or {@code @Context}
+     */
+    static List<ITypeBinding> getSourceParameterTypes(IMethodBinding method) {
+        IMethodBinding declaration = method.getMethodDeclaration();
+        ITypeBinding[] parameterTypes = method.getParameterTypes();
+
+        List<ITypeBinding> result = new ArrayList<ITypeBinding>( parameterTypes.length );
+        for ( int i = 0; i < parameterTypes.length; i++ ) {
+            if ( !containsAnnotation( declaration.getParameterAnnotations( i ), MAPPING_TARGET_FQ_NAME )
+                && !containsAnnotation( declaration.getParameterAnnotations( i ), TARGET_TYPE_FQ_NAME )
+                && !containsAnnotation( declaration.getParameterAnnotations( i ), CONTEXT_FQ_NAME ) ) {
+                result.add( parameterTypes[i] );
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param method the method
+     * @return the type of the {@code @MappingTarget} parameter of the method if it has one, otherwise its return type,
+     *         or {@code null} if the method returns {@code void}
+     */
+    static ITypeBinding getResultType(IMethodBinding method) {
+        IMethodBinding declaration = method.getMethodDeclaration();
+        ITypeBinding[] parameterTypes = method.getParameterTypes();
+        for ( int i = 0; i < parameterTypes.length; i++ ) {
+            if ( containsAnnotation( declaration.getParameterAnnotations( i ), MAPPING_TARGET_FQ_NAME ) ) {
+                return parameterTypes[i];
+            }
+        }
+
+        ITypeBinding returnType = method.getReturnType();
+        return "void".equals( returnType.getName() ) ? null : returnType; //$NON-NLS-1$
+    }
+
+    String getName() {
+        return name;
+    }
+
+    String[] getSourceTypes() {
+        return sourceTypes;
+    }
+
+    String getResultType() {
+        return resultType;
+    }
+}
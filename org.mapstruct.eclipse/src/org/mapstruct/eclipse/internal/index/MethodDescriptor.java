@@ -0,0 +1,129 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.index;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.mapstruct.eclipse.internal.model.MethodModel;
+import org.mapstruct.eclipse.internal.model.TypeModel;
+
+/**
+ * A method that can be used as a property accessor, classified by {@link AccessorNaming} when the
+ * {@link TypeHierarchyNode} of its declaring type is created. Does not reference any bindings.
+ *
+ * @author agent
+ */
+final class MethodDescriptor {
+
+    static final int GETTER = 1;
+    static final int SETTER = 1 << 1;
+    static final int FLUENT_SETTER = 1 << 2;
+    static final int COLLECTION_GETTER = 1 << 3;
+
+    private final String name;
+    private final String propertyName;
+    private final String typeKey;
+    private final int kinds;
+
+    private MethodDescriptor(String name, String propertyName, String typeKey, int kinds) {
+        this.name = name;
+        this.propertyName = propertyName;
+        this.typeKey = typeKey;
+        this.kinds = kinds;
+    }
+
+    /**
+     * @param type a type
+     * @return the descriptors of the accessors declared in the type
+     */
+    static MethodDescriptor[] ofDeclaredAccessors(TypeModel type) {
+        List<MethodDescriptor> result = new ArrayList<MethodDescriptor>();
+        for ( MethodModel method : type.getDeclaredMethods() ) {
+            MethodDescriptor descriptor = of( method );
+            if ( descriptor != null ) {
+                result.add( descriptor );
+            }
+        }
+        return result.toArray( new MethodDescriptor[result.size()] );
+    }
+
+    /**
+     * @param method a method
+     * @return the descriptor of the method, or {@code null} if the method is no property accessor
+     */
+    static MethodDescriptor of(MethodModel method) {
+        if ( !AccessorNaming.isCandidate( method ) ) {
+            return null;
+        }
+
+        int kinds = 0;
+        if ( AccessorNaming.isGetter( method ) ) {
+            kinds |= GETTER;
+            if ( AccessorNaming.isCollectionOrMap( method.getReturnType() ) ) {
+                kinds |= COLLECTION_GETTER;
+            }
+        }
+        else if ( AccessorNaming.isSetter( method ) ) {
+            kinds |= AccessorNaming.isFluentSetter( method ) ? FLUENT_SETTER : SETTER;
+        }
+        else {
+            return null;
+        }
+
+        String typeKey =
+            ( kinds & GETTER ) != 0 ? method.getReturnType().getKey() : method.getParameterTypes()[0].getKey();
+
+        return new MethodDescriptor(
+            method.getName().intern(),
+            AccessorNaming.getPropertyName( method ).intern(),
+            typeKey.intern(),
+            kinds );
+    }
+
+    /**
+     * @return the name of the method
+     */
+    String getName() {
+        return name;
+    }
+
+    /**
+     * @return the name of the property accessed by the method
+     */
+    String getPropertyName() {
+        return propertyName;
+    }
+
+    /**
+     * @return the binding key of the property type, i.e. the return type of a getter or the parameter type of a
+     *         setter
+     */
+    String getTypeKey() {
+        return typeKey;
+    }
+
+    /**
+     * @param kind one of {@link #GETTER}, {@link #SETTER}, {@link #FLUENT_SETTER} or {@link #COLLECTION_GETTER}
+     * @return {@code true}, iff the method is an accessor of the given kind
+     */
+    boolean is(int kind) {
+        return ( kinds & kind ) != 0;
+    }
+}
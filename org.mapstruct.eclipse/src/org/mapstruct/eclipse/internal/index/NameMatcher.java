@@ -0,0 +1,270 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.core.search.SearchPattern;
+
+/**
+ * Finds the names of a sorted array that match a pattern typed by the user, in three stages of decreasing rank:
+ * <ol>
+ * <li>{@link #PREFIX}: names starting with the pattern, e.g. {@code cust} for {@code customerName}</li>
+ * <li>{@link #CAMEL_CASE}: names matching the pattern in camel case, e.g. {@code cAS} for
+ * {@code customerAddressStreet}</li>
+ * <li>{@link #SUBSTRING}: names containing the pattern ignoring case, e.g. {@code street} for
+ * {@code customerAddressStreet}</li>
+ * </ol>
+ * The names sharing a prefix, the names sharing the initials of their humps and the names containing a trigram are
+ * found with binary search in sorted arrays resp. in posting lists, so the time of a lookup depends on the number of
+ * candidates rather than on the number of names. The index is built once per {@link PropertyTable}.
+ *
+ * @author agent
+ */
+public final class NameMatcher {
+
+    /**
+     * Rank of names starting with the pattern
+     */
+    public static final int PREFIX = 3;
+
+    /**
+     * Rank of names matching the pattern in camel case
+     */
+    public static final int CAMEL_CASE = 2;
+
+    /**
+     * Rank of names containing the pattern
+     */
+    public static final int SUBSTRING = 1;
+
+    private static final int GRAM_LENGTH = 3;
+
+    private final String[] names;
+
+    /**
+     * The lower-case initials of the humps of the names, sorted, e.g. {@code cas} for {@code customerAddressStreet}
+     */
+    private final String[] initials;
+
+    /**
+     * The indexes of the names in the order of {@link #initials}
+     */
+    private final int[] initialsToName;
+
+    /**
+     * Lower-case trigrams to the sorted indexes of the names containing them
+     */
+    private final Map<String, int[]> trigrams;
+
+    private NameMatcher(String[] names) {
+        this.names = names;
+
+        final String[] nameInitials = new String[names.length];
+        Integer[] order = new Integer[names.length];
+        for ( int i = 0; i < names.length; i++ ) {
+            nameInitials[i] = getInitials( names[i] );
+            order[i] = i;
+        }
+        Arrays.sort( order, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer o1, Integer o2) {
+                return nameInitials[o1].compareTo( nameInitials[o2] );
+            }
+        } );
+
+        this.initials = new String[names.length];
+        this.initialsToName = new int[names.length];
+        for ( int i = 0; i < order.length; i++ ) {
+            initials[i] = nameInitials[order[i]];
+            initialsToName[i] = order[i];
+        }
+
+        this.trigrams = createTrigrams( names );
+    }
+
+    /**
+     * @param sortedNames the names, sorted
+     * @return the matcher for the given names
+     */
+    public static NameMatcher of(String[] sortedNames) {
+        return new NameMatcher( sortedNames );
+    }
+
+    /**
+     * @return the number of names
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * @param index the index of the name, {@code 0 <= index < size()}
+     * @return the name, the names are sorted
+     */
+    public String getName(int index) {
+        return names[index];
+    }
+
+    /**
+     * Adds the names matching the given pattern to the given map, the best ranked first and alphabetically within
+     * one rank.
+     *
+     * @param pattern the pattern, all names match the empty pattern
+     * @param limit the maximum number of names to add
+     * @param matches receives the matching names and their rank, names already contained are not added again
+     */
+    public void match(String pattern, int limit, Map<String, Integer> matches) {
+        int start = lowerBound( names, pattern );
+        for ( int i = start; i < names.length && names[i].startsWith( pattern ); i++ ) {
+            if ( !add( names[i], PREFIX, limit, matches ) ) {
+                return;
+            }
+        }
+
+        if ( hasHumps( pattern ) ) {
+            String patternInitials = getInitials( pattern );
+            List<Integer> candidates = new ArrayList<Integer>();
+            for ( int i = lowerBound( initials, patternInitials );
+                  i < initials.length && initials[i].startsWith( patternInitials ); i++ ) {
+                candidates.add( initialsToName[i] );
+            }
+
+            for ( int candidate : sorted( candidates ) ) {
+                if ( SearchPattern.camelCaseMatch( pattern, names[candidate] )
+                    && !add( names[candidate], CAMEL_CASE, limit, matches ) ) {
+                    return;
+                }
+            }
+        }
+
+        if ( pattern.length() >= GRAM_LENGTH ) {
+            String lowerPattern = pattern.toLowerCase();
+            for ( int candidate : findSubstringCandidates( lowerPattern ) ) {
+                if ( names[candidate].toLowerCase().contains( lowerPattern )
+                    && !add( names[candidate], SUBSTRING, limit, matches ) ) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static boolean add(String name, int rank, int limit, Map<String, Integer> matches) {
+        if ( matches.size() >= limit ) {
+            return false;
+        }
+        if ( !matches.containsKey( name ) ) {
+            matches.put( name, rank );
+        }
+        return true;
+    }
+
+    /**
+     * @return the names containing all trigrams of the pattern, i.e. the shortest posting list of its trigrams
+     */
+    private int[] findSubstringCandidates(String lowerPattern) {
+        int[] shortest = null;
+        for ( int i = 0; i + GRAM_LENGTH <= lowerPattern.length(); i++ ) {
+            int[] postings = trigrams.get( lowerPattern.substring( i, i + GRAM_LENGTH ) );
+            if ( postings == null ) {
+                return new int[0];
+            }
+            if ( shortest == null || postings.length < shortest.length ) {
+                shortest = postings;
+            }
+        }
+        return shortest;
+    }
+
+    private static Map<String, int[]> createTrigrams(String[] names) {
+        Map<String, List<Integer>> postings = new HashMap<String, List<Integer>>();
+        for ( int i = 0; i < names.length; i++ ) {
+            String lowerName = names[i].toLowerCase();
+            for ( int j = 0; j + GRAM_LENGTH <= lowerName.length(); j++ ) {
+                String gram = lowerName.substring( j, j + GRAM_LENGTH );
+                List<Integer> nameIndexes = postings.get( gram );
+                if ( nameIndexes == null ) {
+                    nameIndexes = new ArrayList<Integer>();
+                    postings.put( gram, nameIndexes );
+                }
+                // names are visited in order, so the list is sorted and only the last element can be the same
+                if ( nameIndexes.isEmpty() || nameIndexes.get( nameIndexes.size() - 1 ) != i ) {
+                    nameIndexes.add( i );
+                }
+            }
+        }
+
+        Map<String, int[]> result = new HashMap<String, int[]>( postings.size() * 4 / 3 + 1 );
+        for ( Map.Entry<String, List<Integer>> entry : postings.entrySet() ) {
+            result.put( entry.getKey(), sorted( entry.getValue() ) );
+        }
+        return result;
+    }
+
+    private static int[] sorted(List<Integer> list) {
+        int[] result = new int[list.size()];
+        for ( int i = 0; i < result.length; i++ ) {
+            result[i] = list.get( i );
+        }
+        Arrays.sort( result );
+        return result;
+    }
+
+    /**
+     * @return the index of the first element of the sorted array that is not less than the given key
+     */
+    private static int lowerBound(String[] sorted, String key) {
+        int index = Arrays.binarySearch( sorted, key );
+        if ( index < 0 ) {
+            return -index - 1;
+        }
+        while ( index > 0 && sorted[index - 1].equals( key ) ) {
+            index--;
+        }
+        return index;
+    }
+
+    /**
+     * @return {@code true}, iff the pattern contains an upper-case character after the first one
+     */
+    private static boolean hasHumps(String pattern) {
+        for ( int i = 1; i < pattern.length(); i++ ) {
+            if ( Character.isUpperCase( pattern.charAt( i ) ) ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String getInitials(String name) {
+        StringBuilder result = new StringBuilder();
+        for ( int i = 0; i < name.length(); i++ ) {
+            char c = name.charAt( i );
+            if ( i == 0 || Character.isUpperCase( c ) ) {
+                result.append( Character.toLowerCase( c ) );
+            }
+        }
+        return result.toString();
+    }
+}
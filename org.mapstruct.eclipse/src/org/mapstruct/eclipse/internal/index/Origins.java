@@ -0,0 +1,128 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.index;
+
+import java.io.File;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+
+/**
+ * Determines where a type comes from (a source file, a class file or an archive in the workspace or on the file
+ * system) and the time stamp of that origin, so that persisted information about the type can be detected as stale.
+ * <p>
+ * Origins are encoded as strings: {@code W} followed by the full path of a workspace resource, or {@code F} followed
+ * by the path of a file outside of the workspace.
+ *
+ * @author agent
+ */
+final class Origins {
+
+    /**
+     * Stamp of origins that can't be determined or that have unsaved changes
+     */
+    static final long NULL_STAMP = IResource.NULL_STAMP;
+
+    private static final char WORKSPACE = 'W';
+    private static final char FILE = 'F';
+
+    private Origins() {
+    }
+
+    /**
+     * @param type the type
+     * @return the origin of the type, or {@code null} if it can't be determined
+     */
+    static String getOrigin(ITypeBinding type) {
+        IJavaElement element = type.getErasure().getJavaElement();
+        if ( !( element instanceof IType ) ) {
+            return null;
+        }
+
+        IType javaType = (IType) element;
+        if ( !javaType.isBinary() ) {
+            ICompilationUnit compilationUnit = javaType.getCompilationUnit();
+            return compilationUnit != null ? toOrigin( compilationUnit.getResource() ) : null;
+        }
+
+        IResource classFile = javaType.getClassFile().getResource();
+        if ( classFile != null ) {
+            return toOrigin( classFile );
+        }
+
+        IPackageFragmentRoot root = (IPackageFragmentRoot) javaType.getAncestor( IJavaElement.PACKAGE_FRAGMENT_ROOT );
+        if ( root == null ) {
+            return null;
+        }
+
+        if ( root.isExternal() ) {
+            return FILE + root.getPath().toOSString();
+        }
+
+        return toOrigin( root.getResource() );
+    }
+
+    /**
+     * @param type the type
+     * @return {@code true}, iff the type is declared in a compilation unit with unsaved changes
+     */
+    static boolean hasUnsavedChanges(ITypeBinding type) {
+        IJavaElement element = type.getErasure().getJavaElement();
+        if ( element instanceof IType && !( (IType) element ).isBinary() ) {
+            ICompilationUnit compilationUnit = ( (IType) element ).getCompilationUnit();
+            try {
+                return compilationUnit == null || compilationUnit.hasUnsavedChanges();
+            }
+            catch ( JavaModelException e ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param origin the origin
+     * @return the current time stamp of the origin, or {@link #NULL_STAMP} if the origin does not exist (anymore)
+     */
+    static long getStamp(String origin) {
+        if ( origin == null || origin.isEmpty() ) {
+            return NULL_STAMP;
+        }
+
+        String path = origin.substring( 1 );
+        if ( origin.charAt( 0 ) == FILE ) {
+            File file = new File( path );
+            return file.exists() ? file.lastModified() : NULL_STAMP;
+        }
+
+        IResource resource = ResourcesPlugin.getWorkspace().getRoot().findMember( new Path( path ) );
+        return resource != null ? resource.getLocalTimeStamp() : NULL_STAMP;
+    }
+
+    private static String toOrigin(IResource resource) {
+        return resource != null ? WORKSPACE + resource.getFullPath().toString() : null;
+    }
+}
@@ -0,0 +1,158 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.index;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.mapstruct.eclipse.internal.model.JdtTypeModel;
+import org.mapstruct.eclipse.internal.model.TypeModel;
+import org.mapstruct.eclipse.internal.preferences.MapStructPreferences;
+import org.mapstruct.eclipse.internal.util.CacheStatistics;
+
+/**
+ * Workspace-wide cache of the {@link TypeProperties} of the types used in mapping methods, keyed by the project and
+ * the binding key of the type.
+ * <p>
+ * The entries are kept in a {@link DependentLruCache} bounded by {@link MapStructPreferences#PROPERTY_INDEX_SIZE}.
+ * They are invalidated by the {@link PropertyIndexInvalidator} when a type of their hierarchy or the classpath of
+ * their project changes. The accessors of the types are collected from a {@link TypeHierarchyCache}, so that common
+ * super types are inspected only once.
+ *
+ * @author agent
+ */
+public class PropertyIndex {
+
+    private final DependentLruCache<TypeProperties> entries =
+        new DependentLruCache<TypeProperties>( "Property index", 1 ) { //$NON-NLS-1$
+            @Override
+            protected Collection<String> getDependencies(TypeProperties properties) {
+                return Arrays.asList( properties.getHierarchy() );
+            }
+        };
+
+    private final TypeHierarchyCache typeHierarchy = new TypeHierarchyCache();
+
+    /**
+     * @param project the project in which the type is used
+     * @param type the type
+     * @param monitor the progress monitor to check for cancellation, may be {@code null}
+     * @return the properties of the type, computed if not yet cached
+     * @throws OperationCanceledException if the monitor is canceled while computing the properties
+     */
+    public TypeProperties getProperties(IJavaProject project, ITypeBinding type, IProgressMonitor monitor) {
+        String cacheKey = toCacheKey( project, type.getKey() );
+
+        long generation = entries.getGeneration();
+        TypeProperties properties = entries.get( cacheKey );
+        if ( properties == null ) {
+            properties = computeProperties( project, type, monitor );
+            entries.put( cacheKey, properties, generation );
+        }
+
+        return properties;
+    }
+
+    /**
+     * @param project the project in which the types are used
+     * @return the provider of the properties of {@link JdtTypeModel}s used in the given project, backed by this index
+     */
+    public TypePropertiesProvider forProject(final IJavaProject project) {
+        return new TypePropertiesProvider() {
+            @Override
+            public TypeProperties getProperties(TypeModel type, IProgressMonitor monitor) {
+                return PropertyIndex.this.getProperties( project, JdtTypeModel.getBinding( type ), monitor );
+            }
+        };
+    }
+
+    /**
+     * Removes all entries that have the type with the given name in their hierarchy.
+     *
+     * @param qualifiedName the qualified name of a changed type
+     */
+    public void invalidateType(String qualifiedName) {
+        typeHierarchy.invalidateType( qualifiedName );
+        entries.invalidateType( qualifiedName );
+    }
+
+    /**
+     * Removes all entries of the given project, e.g. after its classpath changed.
+     *
+     * @param projectName the name of the project
+     */
+    public void invalidateProject(String projectName) {
+        typeHierarchy.invalidateProject( projectName );
+        entries.invalidateProject( projectName );
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        typeHierarchy.clear();
+        entries.clear();
+    }
+
+    public CacheStatistics getStatistics() {
+        return entries.getStatistics();
+    }
+
+    /**
+     * @return the cache keys and entries of the index, from the least to the most recently used one
+     */
+    Map<String, TypeProperties> getEntries() {
+        return entries.getEntries();
+    }
+
+    /**
+     * Adds an entry restored from a previous session, unless the index contains an entry for the key already.
+     *
+     * @param cacheKey the key of the entry
+     * @param properties the properties
+     */
+    void restore(String cacheKey, TypeProperties properties) {
+        entries.restore( cacheKey, properties );
+    }
+
+    /**
+     * @param project the project in which a type is used
+     * @param typeKey the binding key of the type
+     * @return the key of the entry for the type in the index
+     */
+    static String toCacheKey(IJavaProject project, String typeKey) {
+        return toCacheKey( project.getElementName(), typeKey );
+    }
+
+    static String toCacheKey(String projectName, String typeKey) {
+        return projectName + '/' + typeKey;
+    }
+
+    private TypeProperties computeProperties(IJavaProject project, ITypeBinding type, IProgressMonitor monitor) {
+        TypeModel model = JdtTypeModel.of( type );
+        TypeHierarchyNode node = typeHierarchy.getNode( project, model, monitor );
+
+        return TypeProperties.of( type.getKey(), node, model.getErasure().getEnumConstants() );
+    }
+}
@@ -0,0 +1,150 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.index;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IClassFile;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.mapstruct.eclipse.internal.util.ClasspathChangeListener;
+
+/**
+ * Invalidates the entries of the {@link PropertyIndex}, the {@link QualifierIndex} and the {@link InheritanceIndex}
+ * affected by changes of the Java model, i.e. by changed types (saved or in reconciled working copies) and by changed
+ * classpaths, and forgets the mappers of the {@link MapperIndex} that were removed. Whether MapStruct is on the
+ * classpath of a project is forgotten by the {@link ClasspathChangeListener}, which is registered even while the
+ * indexes are not.
+ *
+ * @author agent
+ */
+public class PropertyIndexInvalidator implements IElementChangedListener {
+
+    private final PropertyIndex index;
+    private final MapperIndex mapperIndex;
+    private final QualifierIndex qualifierIndex;
+    private final InheritanceIndex inheritanceIndex;
+
+    public PropertyIndexInvalidator(PropertyIndex index, MapperIndex mapperIndex, QualifierIndex qualifierIndex,
+                                    InheritanceIndex inheritanceIndex) {
+        this.index = index;
+        this.mapperIndex = mapperIndex;
+        this.qualifierIndex = qualifierIndex;
+        this.inheritanceIndex = inheritanceIndex;
+    }
+
+    @Override
+    public void elementChanged(ElementChangedEvent event) {
+        processDelta( event.getDelta() );
+    }
+
+    private void processDelta(IJavaElementDelta delta) {
+        IJavaElement element = delta.getElement();
+
+        switch ( element.getElementType() ) {
+            case IJavaElement.JAVA_PROJECT:
+                if ( delta.getKind() == IJavaElementDelta.REMOVED ) {
+                    mapperIndex.invalidateProject( element.getElementName() );
+                }
+                if ( ClasspathChangeListener.isClasspathChange( delta ) ) {
+                    index.invalidateProject( element.getElementName() );
+                    qualifierIndex.invalidateProject( element.getElementName() );
+                    inheritanceIndex.invalidateProject( element.getElementName() );
+                    return;
+                }
+                break;
+            case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+                if ( ClasspathChangeListener.isRootChange( delta ) ) {
+                    index.invalidateProject( element.getJavaProject().getElementName() );
+                    qualifierIndex.invalidateProject( element.getJavaProject().getElementName() );
+                    inheritanceIndex.invalidateProject( element.getJavaProject().getElementName() );
+                    return;
+                }
+                break;
+            case IJavaElement.COMPILATION_UNIT:
+                if ( delta.getKind() == IJavaElementDelta.REMOVED ) {
+                    mapperIndex.invalidate( element.getHandleIdentifier() );
+                }
+                if ( isStructuralChange( delta ) ) {
+                    invalidateTypes( (ICompilationUnit) element );
+                }
+                return;
+            case IJavaElement.CLASS_FILE:
+                invalidateType( getQualifiedName( (IClassFile) element ) );
+                return;
+            default:
+                break;
+        }
+
+        for ( IJavaElementDelta child : delta.getAffectedChildren() ) {
+            processDelta( child );
+        }
+    }
+
+    /**
+     * Reconciling reports a fine-grained delta without children if only method bodies or the like changed.
+     */
+    private static boolean isStructuralChange(IJavaElementDelta delta) {
+        return delta.getKind() != IJavaElementDelta.CHANGED
+            || ( delta.getFlags() & IJavaElementDelta.F_FINE_GRAINED ) == 0
+            || delta.getAffectedChildren().length > 0;
+    }
+
+    private void invalidateTypes(ICompilationUnit compilationUnit) {
+        invalidateType( getPrimaryTypeName( compilationUnit ) );
+
+        if ( compilationUnit.exists() ) {
+            try {
+                for ( IType type : compilationUnit.getAllTypes() ) {
+                    invalidateType( type.getFullyQualifiedName( '.' ) );
+                }
+            }
+            catch ( JavaModelException e ) {
+                // can't find out the types anymore, but the primary type is taken care of
+            }
+        }
+    }
+
+    private void invalidateType(String qualifiedName) {
+        index.invalidateType( qualifiedName );
+        qualifierIndex.invalidateType( qualifiedName );
+        inheritanceIndex.invalidateType( qualifiedName );
+    }
+
+    private static String getPrimaryTypeName(ICompilationUnit compilationUnit) {
+        return qualify( compilationUnit.getParent(), stripExtension( compilationUnit.getElementName() ) );
+    }
+
+    private static String getQualifiedName(IClassFile classFile) {
+        return qualify( classFile.getParent(), stripExtension( classFile.getElementName() ).replace( '$', '.' ) );
+    }
+
+    private static String qualify(IJavaElement packageFragment, String simpleName) {
+        String packageName = packageFragment.getElementName();
+        return packageName.isEmpty() ? simpleName : packageName + '.' + simpleName;
+    }
+
+    private static String stripExtension(String fileName) {
+        int lastDot = fileName.lastIndexOf( '.' );
+        return lastDot >= 0 ? fileName.substring( 0, lastDot ) : fileName;
+    }
+}
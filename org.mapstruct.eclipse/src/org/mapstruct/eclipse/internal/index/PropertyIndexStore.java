@@ -0,0 +1,520 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.index;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.JavaCore;
+import org.mapstruct.eclipse.internal.MapStructPlugIn;
+
+/**
+ * Persists the {@link PropertyIndex} and the {@link MapperIndex} in a compact binary file in the state location of
+ * the plug-in, so that completion proposals can be served from the index right after a restart of the IDE.
+ * <p>
+ * Each entry refers to the {@link Origins} of the types it was computed from, along with their stamps at that time.
+ * When loading the file, entries with an origin that changed in the meantime are dropped and the mappers using them
+ * are indexed again in the background. Entries computed from types with unsaved changes are not persisted.
+ * <p>
+ * File layout, all strings in modified UTF-8:
+ *
+ * <pre>
+ * header:  magic, version
+ * origins: count, (origin, stamp)*
+ * entries: count, (cache key, type key, hierarchy count, (type name, origin index)*, read table, write table,
+ *          enum constant count, (enum constant)*)*
+ *          table: count, (name, accessor, type key)*
+ * mappers: count, (project, compilation unit, name, origin index, method count, (method key)*,
+ *          type count, (type key)*)*
+ * trailer: magic
+ * </pre>
+ *
+ * @author agent
+ */
+public class PropertyIndexStore {
+
+    private static final int MAGIC = 0x4d534958;
+    private static final int VERSION = 3;
+
+    private static final String FILE_NAME = "property-index.bin"; //$NON-NLS-1$
+    private static final String TEMP_FILE_SUFFIX = ".tmp"; //$NON-NLS-1$
+
+    /**
+     * The interval to check the monitor in while waiting for the load
+     */
+    private static final long LOAD_POLL_MILLIS = 20L;
+
+    private final File file;
+    private final PropertyIndex propertyIndex;
+    private final MapperIndex mapperIndex;
+    private final LoadJob loadJob = new LoadJob();
+    private final Object loadLock = new Object();
+    private boolean loading = false;
+
+    /**
+     * @param stateLocation the directory to keep the index file in
+     * @param propertyIndex the property index to persist
+     * @param mapperIndex the mapper index to persist
+     */
+    public PropertyIndexStore(File stateLocation, PropertyIndex propertyIndex, MapperIndex mapperIndex) {
+        this.file = new File( stateLocation, FILE_NAME );
+        this.propertyIndex = propertyIndex;
+        this.mapperIndex = mapperIndex;
+    }
+
+    /**
+     * Schedules a job that loads the index file, if it exists.
+     */
+    public void scheduleLoad() {
+        if ( file.isFile() ) {
+            synchronized ( loadLock ) {
+                loading = true;
+            }
+            loadJob.schedule();
+        }
+    }
+
+    /**
+     * Waits for the scheduled load of the index file to finish, so that the first completion after a restart is
+     * served from the loaded entries rather than computing them itself.
+     *
+     * @param monitor the monitor, waiting stops when it is canceled
+     * @param timeoutMillis the maximum time to wait in milliseconds, {@code 0} for no limit
+     */
+    public void awaitLoad(IProgressMonitor monitor, long timeoutMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos( timeoutMillis );
+
+        synchronized ( loadLock ) {
+            while ( loading && !monitor.isCanceled() ) {
+                long waitMillis = LOAD_POLL_MILLIS;
+                if ( timeoutMillis > 0 ) {
+                    long remainingMillis = TimeUnit.NANOSECONDS.toMillis( deadline - System.nanoTime() );
+                    if ( remainingMillis <= 0 ) {
+                        return;
+                    }
+                    waitMillis = Math.min( waitMillis, remainingMillis );
+                }
+
+                try {
+                    loadLock.wait( waitMillis );
+                }
+                catch ( InterruptedException e ) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void loadFinished() {
+        synchronized ( loadLock ) {
+            loading = false;
+            loadLock.notifyAll();
+        }
+    }
+
+    /**
+     * Writes all persistable entries of the indexes to the index file, replacing the previous one.
+     *
+     * @throws IOException if the file can't be written
+     */
+    public void save() throws IOException {
+        // the file must not be open any more when replacing it
+        loadJob.cancel();
+        try {
+            loadJob.join();
+        }
+        catch ( InterruptedException e ) {
+            Thread.currentThread().interrupt();
+            throw new IOException( "Interrupted while waiting for loading " + file );
+        }
+
+        File tempFile = new File( file.getPath() + TEMP_FILE_SUFFIX );
+
+        DataOutputStream out = new DataOutputStream( new BufferedOutputStream( new FileOutputStream( tempFile ) ) );
+        try {
+            write( out );
+        }
+        finally {
+            out.close();
+        }
+
+        if ( file.exists() && !file.delete() ) {
+            throw new IOException( "Could not delete " + file );
+        }
+        if ( !tempFile.renameTo( file ) ) {
+            throw new IOException( "Could not rename " + tempFile + " to " + file );
+        }
+    }
+
+    private void write(DataOutputStream out) throws IOException {
+        Map<String, TypeProperties> entries = new LinkedHashMap<String, TypeProperties>();
+        for ( Map.Entry<String, TypeProperties> entry : propertyIndex.getEntries().entrySet() ) {
+            if ( entry.getValue().isPersistable() ) {
+                entries.put( entry.getKey(), entry.getValue() );
+            }
+        }
+
+        List<MapperModel> mappers = new ArrayList<MapperModel>();
+        for ( MapperModel mapper : mapperIndex.getMappers() ) {
+            if ( mapper.isPersistable() ) {
+                mappers.add( mapper );
+            }
+        }
+
+        OriginTable origins = new OriginTable();
+        for ( TypeProperties properties : entries.values() ) {
+            for ( int i = 0; i < properties.getOrigins().length; i++ ) {
+                origins.add( properties.getOrigins()[i], properties.getStamps()[i] );
+            }
+        }
+        for ( MapperModel mapper : mappers ) {
+            origins.add( mapper.getOrigin(), mapper.getStamp() );
+        }
+
+        out.writeInt( MAGIC );
+        out.writeInt( VERSION );
+
+        out.writeInt( origins.size() );
+        for ( int i = 0; i < origins.size(); i++ ) {
+            out.writeUTF( origins.getOrigin( i ) );
+            out.writeLong( origins.getStamp( i ) );
+        }
+
+        out.writeInt( entries.size() );
+        for ( Map.Entry<String, TypeProperties> entry : entries.entrySet() ) {
+            TypeProperties properties = entry.getValue();
+            out.writeUTF( entry.getKey() );
+            out.writeUTF( properties.getTypeKey() );
+
+            String[] hierarchy = properties.getHierarchy();
+            out.writeInt( hierarchy.length );
+            for ( int i = 0; i < hierarchy.length; i++ ) {
+                out.writeUTF( hierarchy[i] );
+                out.writeInt( origins.indexOf( properties.getOrigins()[i], properties.getStamps()[i] ) );
+            }
+
+            writeTable( out, properties.getReadProperties() );
+            writeTable( out, properties.getWriteProperties() );
+            writeStrings( out, properties.getEnumConstantNames() );
+        }
+
+        out.writeInt( mappers.size() );
+        for ( MapperModel mapper : mappers ) {
+            out.writeUTF( mapper.getProjectName() );
+            out.writeUTF( mapper.getCompilationUnit() );
+            out.writeUTF( mapper.getQualifiedName() );
+            out.writeInt( origins.indexOf( mapper.getOrigin(), mapper.getStamp() ) );
+            writeStrings( out, mapper.getMethods() );
+            writeStrings( out, mapper.getTypeKeys() );
+        }
+
+        out.writeInt( MAGIC );
+    }
+
+    private static void writeTable(DataOutputStream out, PropertyTable table) throws IOException {
+        out.writeInt( table.size() );
+        for ( int i = 0; i < table.size(); i++ ) {
+            out.writeUTF( table.getName( i ) );
+            out.writeUTF( table.getAccessor( i ) );
+            out.writeUTF( table.getTypeKey( i ) );
+        }
+    }
+
+    private static void writeStrings(DataOutputStream out, String[] strings) throws IOException {
+        out.writeInt( strings.length );
+        for ( String string : strings ) {
+            out.writeUTF( string );
+        }
+    }
+
+    private void load(IProgressMonitor monitor) throws IOException {
+        // a buffered stream rather than a memory mapping, which would keep the file locked on Windows until it is
+        // garbage collected and make the next save fail to replace it
+        DataInputStream in = new DataInputStream( new BufferedInputStream( new FileInputStream( file ) ) );
+        try {
+            read( in, monitor );
+        }
+        finally {
+            in.close();
+        }
+    }
+
+    private void read(DataInputStream in, IProgressMonitor monitor) throws IOException {
+        if ( in.readInt() != MAGIC || in.readInt() != VERSION ) {
+            return;
+        }
+
+        int originCount = in.readInt();
+        String[] origins = new String[originCount];
+        boolean[] validOrigins = new boolean[originCount];
+        Map<String, Long> currentStamps = new HashMap<String, Long>();
+        for ( int i = 0; i < originCount; i++ ) {
+            origins[i] = in.readUTF();
+            long stamp = in.readLong();
+
+            Long currentStamp = currentStamps.get( origins[i] );
+            if ( currentStamp == null ) {
+                currentStamp = Origins.getStamp( origins[i] );
+                currentStamps.put( origins[i], currentStamp );
+            }
+            validOrigins[i] = stamp == currentStamp.longValue();
+        }
+
+        checkCanceled( monitor );
+
+        Map<String, TypeProperties> validEntries = new LinkedHashMap<String, TypeProperties>();
+        Set<String> staleEntries = new HashSet<String>();
+        int entryCount = in.readInt();
+        for ( int i = 0; i < entryCount; i++ ) {
+            String cacheKey = in.readUTF();
+            String typeKey = in.readUTF();
+
+            int hierarchySize = in.readInt();
+            String[] hierarchy = new String[hierarchySize];
+            String[] entryOrigins = new String[hierarchySize];
+            long[] stamps = new long[hierarchySize];
+            boolean valid = true;
+            for ( int j = 0; j < hierarchySize; j++ ) {
+                hierarchy[j] = in.readUTF();
+                int originIndex = in.readInt();
+                entryOrigins[j] = origins[originIndex];
+                stamps[j] = currentStamps.get( entryOrigins[j] );
+                valid &= validOrigins[originIndex];
+            }
+
+            PropertyTable readProperties = readTable( in );
+            PropertyTable writeProperties = readTable( in );
+            String[] enumConstants = readStrings( in );
+            for ( int j = 0; j < enumConstants.length; j++ ) {
+                enumConstants[j] = enumConstants[j].intern();
+            }
+
+            if ( valid && isProjectAccessible( cacheKey ) ) {
+                validEntries.put(
+                    cacheKey,
+                    new TypeProperties(
+                        typeKey,
+                        readProperties,
+                        writeProperties,
+                        hierarchy,
+                        entryOrigins,
+                        stamps,
+                        enumConstants ) );
+            }
+            else {
+                staleEntries.add( cacheKey );
+            }
+        }
+
+        checkCanceled( monitor );
+
+        List<MapperModel> validMappers = new ArrayList<MapperModel>();
+        Set<String> staleCompilationUnits = new HashSet<String>();
+        int mapperCount = in.readInt();
+        for ( int i = 0; i < mapperCount; i++ ) {
+            String projectName = in.readUTF();
+            String compilationUnit = in.readUTF();
+            String qualifiedName = in.readUTF();
+            int originIndex = in.readInt();
+            String[] methods = readStrings( in );
+            String[] typeKeys = readStrings( in );
+
+            boolean valid = validOrigins[originIndex];
+            for ( String typeKey : typeKeys ) {
+                valid &= !staleEntries.contains( PropertyIndex.toCacheKey( projectName, typeKey ) );
+            }
+
+            if ( valid ) {
+                validMappers.add(
+                    new MapperModel(
+                        projectName,
+                        compilationUnit,
+                        qualifiedName,
+                        origins[originIndex],
+                        currentStamps.get( origins[originIndex] ),
+                        methods,
+                        typeKeys ) );
+            }
+            else {
+                staleCompilationUnits.add( compilationUnit );
+            }
+        }
+
+        if ( in.readInt() != MAGIC ) {
+            // truncated or otherwise corrupt, don't trust anything of it
+            return;
+        }
+
+        for ( Map.Entry<String, TypeProperties> entry : validEntries.entrySet() ) {
+            propertyIndex.restore( entry.getKey(), entry.getValue() );
+        }
+
+        for ( MapperModel mapper : validMappers ) {
+            if ( !staleCompilationUnits.contains( mapper.getCompilationUnit() ) ) {
+                mapperIndex.restore( mapper );
+            }
+        }
+
+        for ( String compilationUnit : staleCompilationUnits ) {
+            IJavaElement element = JavaCore.create( compilationUnit );
+            if ( element instanceof ICompilationUnit && element.exists() ) {
+                PropertyIndexWarmUpJob.schedule( (ICompilationUnit) element, propertyIndex, mapperIndex );
+            }
+        }
+    }
+
+    private static PropertyTable readTable(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        String[] names = new String[size];
+        String[] accessors = new String[size];
+        String[] typeKeys = new String[size];
+        for ( int i = 0; i < size; i++ ) {
+            names[i] = in.readUTF();
+            accessors[i] = in.readUTF();
+            typeKeys[i] = in.readUTF();
+        }
+        return PropertyTable.of( names, accessors, typeKeys );
+    }
+
+    private static String[] readStrings(DataInputStream in) throws IOException {
+        String[] strings = new String[in.readInt()];
+        for ( int i = 0; i < strings.length; i++ ) {
+            strings[i] = in.readUTF();
+        }
+        return strings;
+    }
+
+    private static boolean isProjectAccessible(String cacheKey) {
+        String projectName = cacheKey.substring( 0, cacheKey.indexOf( '/' ) );
+        return ResourcesPlugin.getWorkspace().getRoot().getProject( projectName ).isAccessible();
+    }
+
+    private static void checkCanceled(IProgressMonitor monitor) {
+        if ( monitor.isCanceled() ) {
+            throw new OperationCanceledException();
+        }
+    }
+
+    /**
+     * Job that loads the index file in the background
+     */
+    private final class LoadJob extends Job {
+
+        private LoadJob() {
+            super( "Loading MapStruct index" );
+            setSystem( true );
+            setPriority( SHORT );
+
+            // also notifies the waiting completions if the job is canceled before it runs
+            addJobChangeListener(
+                new JobChangeAdapter() {
+                    @Override
+                    public void done(IJobChangeEvent event) {
+                        loadFinished();
+                    }
+                } );
+        }
+
+        @Override
+        public boolean belongsTo(Object family) {
+            return PropertyIndexWarmUpJob.FAMILY == family;
+        }
+
+        @Override
+        protected IStatus run(IProgressMonitor monitor) {
+            try {
+                load( monitor );
+                return Status.OK_STATUS;
+            }
+            catch ( OperationCanceledException e ) {
+                return Status.CANCEL_STATUS;
+            }
+            catch ( IOException e ) {
+                return new Status( IStatus.WARNING, MapStructPlugIn.PLUGIN_ID, "Could not load " + file, e );
+            }
+            catch ( RuntimeException e ) {
+                // e.g. an origin index out of bounds in a corrupt file, the index will be rebuilt anyway
+                return new Status( IStatus.WARNING, MapStructPlugIn.PLUGIN_ID, "Could not load " + file, e );
+            }
+        }
+    }
+
+    /**
+     * The distinct pairs of origins and stamps referenced by the persisted entries
+     */
+    private static final class OriginTable {
+        private final List<String> origins = new ArrayList<String>();
+        private final List<Long> stamps = new ArrayList<Long>();
+        private final Map<String, Integer> indexes = new HashMap<String, Integer>();
+
+        void add(String origin, long stamp) {
+            String key = toKey( origin, stamp );
+            if ( !indexes.containsKey( key ) ) {
+                indexes.put( key, origins.size() );
+                origins.add( origin );
+                stamps.add( stamp );
+            }
+        }
+
+        int indexOf(String origin, long stamp) {
+            return indexes.get( toKey( origin, stamp ) );
+        }
+
+        int size() {
+            return origins.size();
+        }
+
+        String getOrigin(int index) {
+            return origins.get( index );
+        }
+
+        long getStamp(int index) {
+            return stamps.get( index );
+        }
+
+        private static String toKey(String origin, long stamp) {
+            return stamp + "@" + origin; //$NON-NLS-1$
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.index;
+
+import static org.mapstruct.eclipse.internal.MapStructAPIConstants.CONTEXT_FQ_NAME;
+import static org.mapstruct.eclipse.internal.MapStructAPIConstants.MAPPER_FQ_NAME;
+import static org.mapstruct.eclipse.internal.MapStructAPIConstants.MAPPER_SIMPLE_NAME;
+import static org.mapstruct.eclipse.internal.MapStructAPIConstants.TARGET_TYPE_FQ_NAME;
+import static org.mapstruct.eclipse.internal.util.Bindings.containsAnnotation;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.mapstruct.eclipse.internal.MapStructPlugIn;
+import org.mapstruct.eclipse.internal.util.MapStructProjects;
+
+/**
+ * Low-priority job that fills the {@link PropertyIndex} with the properties of all parameter and return types of the
+ * mapping methods of the mappers declared in a compilation unit, so that the first completion request in that
+ * compilation unit can be served from the index. The mappers are recorded in the {@link MapperIndex}.
+ * <p>
+ * The job only reads the Java model, so it uses no scheduling rule and never blocks saves, builds or refactorings. It
+ * runs at low priority, checks for cancellation after each mapping method and is canceled when its editor is closed.
+ *
+ * @author agent
+ */
+public class PropertyIndexWarmUpJob extends Job {
+
+    /**
+     * Family of all warm-up jobs
+     */
+    public static final Object FAMILY = PropertyIndexWarmUpJob.class;
+
+    private final ICompilationUnit compilationUnit;
+    private final PropertyIndex propertyIndex;
+    private final MapperIndex mapperIndex;
+
+    /**
+     * @param compilationUnit the compilation unit possibly containing mappers
+     * @param propertyIndex the index to fill
+     * @param mapperIndex the index to record the mappers in
+     */
+    public PropertyIndexWarmUpJob(ICompilationUnit compilationUnit, PropertyIndex propertyIndex,
+                                  MapperIndex mapperIndex) {
+        super( "Indexing MapStruct mapper " + compilationUnit.getElementName() );
+        this.compilationUnit = compilationUnit;
+        this.propertyIndex = propertyIndex;
+        this.mapperIndex = mapperIndex;
+
+        setSystem( true );
+        setPriority( DECORATE );
+    }
+
+    /**
+     * Schedules a warm-up job for the given compilation unit, canceling any other one for it still waiting.
+     *
+     * @param compilationUnit the compilation unit possibly containing mappers
+     * @param propertyIndex the index to fill
+     * @param mapperIndex the index to record the mappers in
+     */
+    public static void schedule(ICompilationUnit compilationUnit, PropertyIndex propertyIndex,
+                                MapperIndex mapperIndex) {
+        Job.getJobManager().cancel( compilationUnit );
+        new PropertyIndexWarmUpJob( compilationUnit, propertyIndex, mapperIndex ).schedule();
+    }
+
+    @Override
+    public boolean belongsTo(Object family) {
+        return FAMILY == family || compilationUnit.equals( family );
+    }
+
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+        try {
+            if ( !MapStructProjects.isMapStructProject( compilationUnit.getJavaProject() )
+                || !compilationUnit.exists() || !declaresMapper( compilationUnit ) ) {
+                return Status.OK_STATUS;
+            }
+
+            ASTParser parser = ASTParser.newParser( AST.JLS8 );
+            parser.setKind( ASTParser.K_COMPILATION_UNIT );
+            parser.setSource( compilationUnit );
+            parser.setResolveBindings( true );
+            parser.setIgnoreMethodBodies( true );
+
+            CompilationUnit astRoot = (CompilationUnit) parser.createAST( monitor );
+
+            List<MapperModel> mappers = new ArrayList<MapperModel>();
+            for ( Object type : astRoot.types() ) {
+                ITypeBinding typeBinding = ( (AbstractTypeDeclaration) type ).resolveBinding();
+                if ( typeBinding != null && containsAnnotation( typeBinding.getAnnotations(), MAPPER_FQ_NAME ) ) {
+                    mappers.add( warmUp( typeBinding, monitor ) );
+                }
+            }
+
+            mapperIndex.put( compilationUnit.getHandleIdentifier(), mappers );
+
+            return Status.OK_STATUS;
+        }
+        catch ( OperationCanceledException e ) {
+            return Status.CANCEL_STATUS;
+        }
+        catch ( JavaModelException e ) {
+            return new Status( IStatus.WARNING, MapStructPlugIn.PLUGIN_ID, e.getMessage(), e );
+        }
+    }
+
+    private MapperModel warmUp(ITypeBinding mapper, IProgressMonitor monitor) {
+        IJavaProject project = compilationUnit.getJavaProject();
+        List<String> methods = new ArrayList<String>();
+        Set<String> typeKeys = new LinkedHashSet<String>();
+
+        for ( IMethodBinding method : mapper.getDeclaredMethods() ) {
+            methods.add( method.getKey() );
+
+            ITypeBinding[] parameterTypes = method.getParameterTypes();
+            for ( int i = 0; i < parameterTypes.length; i++ ) {
+                IMethodBinding declaration = method.getMethodDeclaration();
+                if ( !containsAnnotation( declaration.getParameterAnnotations( i ), CONTEXT_FQ_NAME )
+                    && !containsAnnotation( declaration.getParameterAnnotations( i ), TARGET_TYPE_FQ_NAME ) ) {
+                    warmUp( project, parameterTypes[i], typeKeys, monitor );
+                }
+            }
+
+            warmUp( project, method.getReturnType(), typeKeys, monitor );
+
+            if ( monitor.isCanceled() ) {
+                throw new OperationCanceledException();
+            }
+        }
+
+        String origin = Origins.getOrigin( mapper );
+        return new MapperModel(
+            project.getElementName(),
+            compilationUnit.getHandleIdentifier(),
+            mapper.getQualifiedName(),
+            origin,
+            Origins.hasUnsavedChanges( mapper ) ? Origins.NULL_STAMP : Origins.getStamp( origin ),
+            methods.toArray( new String[methods.size()] ),
+            typeKeys.toArray( new String[typeKeys.size()] ) );
+    }
+
+    private void warmUp(IJavaProject project, ITypeBinding type, Set<String> typeKeys, IProgressMonitor monitor) {
+        if ( type.isClass() || type.isInterface() || type.isEnum() ) {
+            propertyIndex.getProperties( project, type, monitor );
+            typeKeys.add( type.getKey() );
+        }
+    }
+
+    private static boolean declaresMapper(ICompilationUnit compilationUnit) throws JavaModelException {
+        for ( IType type : compilationUnit.getTypes() ) {
+            if ( type.getAnnotation( MAPPER_SIMPLE_NAME ).exists() || type.getAnnotation( MAPPER_FQ_NAME ).exists() ) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
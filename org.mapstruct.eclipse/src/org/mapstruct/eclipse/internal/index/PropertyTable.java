@@ -0,0 +1,204 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The read or write properties of a type: their names, the names of the accessor methods and the binding keys of the
+ * property types. Does not reference any bindings, so instances can be kept beyond the lifetime of an AST.
+ * <p>
+ * The methods of a type are classified by {@link AccessorNaming} when its {@link TypeHierarchyNode} is created. The
+ * properties are sorted by name and all strings are interned, so that looking up a property does not allocate anything
+ * and the tables of related types share their strings.
+ *
+ * @author agent
+ */
+public final class PropertyTable {
+
+    private static final Comparator<MethodDescriptor> BY_NAME = new Comparator<MethodDescriptor>() {
+        @Override
+        public int compare(MethodDescriptor o1, MethodDescriptor o2) {
+            return o1.getName().compareTo( o2.getName() );
+        }
+    };
+
+    private static final int[] WRITE_ACCESSOR_KINDS = {
+        MethodDescriptor.SETTER,
+        MethodDescriptor.FLUENT_SETTER,
+        MethodDescriptor.COLLECTION_GETTER };
+
+    private final String[] names;
+    private final String[] accessors;
+    private final String[] typeKeys;
+
+    private volatile NameMatcher matcher;
+
+    private PropertyTable(String[] names, String[] accessors, String[] typeKeys) {
+        this.names = names;
+        this.accessors = accessors;
+        this.typeKeys = typeKeys;
+    }
+
+    /**
+     * @param names the property names, sorted
+     * @param accessors the names of the accessor methods
+     * @param typeKeys the binding keys of the property types
+     * @return the table of the given properties, e.g. as restored by the {@link PropertyIndexStore}
+     */
+    static PropertyTable of(String[] names, String[] accessors, String[] typeKeys) {
+        intern( names );
+        intern( accessors );
+        intern( typeKeys );
+        return new PropertyTable( names, accessors, typeKeys );
+    }
+
+    /**
+     * @param methods all accessors of a type
+     * @return the table of the properties that can be read with the given accessors, i.e. with getters
+     */
+    static PropertyTable readProperties(Collection<MethodDescriptor> methods) {
+        Map<String, MethodDescriptor> properties = new TreeMap<String, MethodDescriptor>();
+
+        for ( MethodDescriptor method : sorted( methods ) ) {
+            if ( method.is( MethodDescriptor.GETTER ) ) {
+                addIfAbsent( properties, method );
+            }
+        }
+
+        return create( properties );
+    }
+
+    /**
+     * @param methods all accessors of a type
+     * @return the table of the properties that can be written with the given accessors, i.e. with setters, with fluent
+     *         setters, or with getters of collections and maps that have no setter
+     */
+    static PropertyTable writeProperties(Collection<MethodDescriptor> methods) {
+        Map<String, MethodDescriptor> properties = new TreeMap<String, MethodDescriptor>();
+        List<MethodDescriptor> candidates = sorted( methods );
+
+        // setXxx(..) takes precedence over fluent setters of the same property, which take precedence over getters
+        for ( int kind : WRITE_ACCESSOR_KINDS ) {
+            for ( MethodDescriptor method : candidates ) {
+                if ( method.is( kind ) ) {
+                    addIfAbsent( properties, method );
+                }
+            }
+        }
+
+        return create( properties );
+    }
+
+    private static List<MethodDescriptor> sorted(Collection<MethodDescriptor> methods) {
+        List<MethodDescriptor> candidates = new ArrayList<MethodDescriptor>( methods );
+
+        // make the choice between competing accessors independent of the order of the methods
+        Collections.sort( candidates, BY_NAME );
+        return candidates;
+    }
+
+    private static void addIfAbsent(Map<String, MethodDescriptor> properties, MethodDescriptor accessor) {
+        if ( !properties.containsKey( accessor.getPropertyName() ) ) {
+            properties.put( accessor.getPropertyName(), accessor );
+        }
+    }
+
+    private static PropertyTable create(Map<String, MethodDescriptor> properties) {
+        String[] names = new String[properties.size()];
+        String[] accessors = new String[properties.size()];
+        String[] typeKeys = new String[properties.size()];
+
+        int i = 0;
+        for ( Map.Entry<String, MethodDescriptor> property : properties.entrySet() ) {
+            names[i] = property.getKey();
+            accessors[i] = property.getValue().getName();
+            typeKeys[i] = property.getValue().getTypeKey();
+            i++;
+        }
+
+        return of( names, accessors, typeKeys );
+    }
+
+    private static void intern(String[] strings) {
+        for ( int i = 0; i < strings.length; i++ ) {
+            strings[i] = strings[i].intern();
+        }
+    }
+
+    /**
+     * @return the number of properties
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * @param index the index of the property, {@code 0 <= index < size()}
+     * @return the name of the property, the properties are sorted by name
+     */
+    public String getName(int index) {
+        return names[index];
+    }
+
+    /**
+     * @param index the index of the property, {@code 0 <= index < size()}
+     * @return the name of the method to access the property
+     */
+    public String getAccessor(int index) {
+        return accessors[index];
+    }
+
+    /**
+     * @param index the index of the property, {@code 0 <= index < size()}
+     * @return the binding key of the type of the property
+     */
+    public String getTypeKey(int index) {
+        return typeKeys[index];
+    }
+
+    /**
+     * @return the matcher for the property names, created on first request
+     */
+    public NameMatcher getMatcher() {
+        NameMatcher result = matcher;
+        if ( result == null ) {
+            // racing threads create equal matchers, no harm done
+            result = NameMatcher.of( names );
+            matcher = result;
+        }
+        return result;
+    }
+
+    /**
+     * @param name the property name
+     * @return the index of the property with the given name, or {@code -1} if there is no such property
+     */
+    public int indexOf(String name) {
+        int index = Arrays.binarySearch( names, name );
+        return index >= 0 ? index : -1;
+    }
+}
@@ -0,0 +1,239 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.index;
+
+import static org.mapstruct.eclipse.internal.MapStructAPIConstants.MAPPER_CONFIG_FQ_NAME;
+import static org.mapstruct.eclipse.internal.MapStructAPIConstants.MAPPER_FQ_NAME;
+import static org.mapstruct.eclipse.internal.MapStructAPIConstants.MAPPER_MEMBER_CONFIG;
+import static org.mapstruct.eclipse.internal.MapStructAPIConstants.MAPPER_MEMBER_USES;
+import static org.mapstruct.eclipse.internal.MapStructAPIConstants.NAMED_FQ_NAME;
+import static org.mapstruct.eclipse.internal.MapStructAPIConstants.QUALIFIER_FQ_NAME;
+import static org.mapstruct.eclipse.internal.util.Bindings.containsAnnotation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.dom.IAnnotationBinding;
+import org.eclipse.jdt.core.dom.IMemberValuePairBinding;
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.mapstruct.eclipse.internal.preferences.MapStructPreferences;
+import org.mapstruct.eclipse.internal.util.CacheStatistics;
+
+/**
+ * Workspace-wide cache of the {@link MapperQualifiers} of mappers, keyed by the project and the binding key of the
+ * mapper.
+ * <p>
+ * Like MapStruct, the qualifiers of a mapper are collected from the methods of the mapper, of the types referenced in
+ * {@code Mapper#uses()} and of the types referenced in {@code MapperConfig#uses()} of its {@code Mapper#config()},
+ * including the methods inherited by these types. Entries are invalidated by the {@link PropertyIndexInvalidator} when
+ * one of the inspected types or the classpath of their project changes, and computed again on the next request. Like
+ * the ones of the {@link PropertyIndex}, the entries are kept in a {@link DependentLruCache} bounded by
+ * {@link MapStructPreferences#PROPERTY_INDEX_SIZE}.
+ *
+ * @author agent
+ */
+public class QualifierIndex {
+
+    private final DependentLruCache<MapperQualifiers> entries =
+        new DependentLruCache<MapperQualifiers>( "Qualifier index", 1 ) { //$NON-NLS-1$
+            @Override
+            protected Collection<String> getDependencies(MapperQualifiers qualifiers) {
+                return Arrays.asList( qualifiers.getDependencies() );
+            }
+        };
+
+    /**
+     * @param project the project of the mapper
+     * @param mapper the mapper type
+     * @param monitor the progress monitor to check for cancellation
+     * @return the qualifiers available in the mapper, computed if not yet cached
+     * @throws OperationCanceledException if the monitor is canceled while computing the qualifiers
+     */
+    public MapperQualifiers getQualifiers(IJavaProject project, ITypeBinding mapper, IProgressMonitor monitor) {
+        String cacheKey = PropertyIndex.toCacheKey( project, mapper.getErasure().getKey() );
+
+        long generation = entries.getGeneration();
+        MapperQualifiers qualifiers = entries.get( cacheKey );
+        if ( qualifiers == null ) {
+            qualifiers = computeQualifiers( mapper.getErasure(), monitor );
+            entries.put( cacheKey, qualifiers, generation );
+        }
+
+        return qualifiers;
+    }
+
+    /**
+     * Removes all entries that were collected from the type with the given name.
+     *
+     * @param qualifiedName the qualified name of a changed type
+     */
+    public void invalidateType(String qualifiedName) {
+        entries.invalidateType( qualifiedName );
+    }
+
+    /**
+     * Removes all entries of the given project, e.g. after its classpath changed.
+     *
+     * @param projectName the name of the project
+     */
+    public void invalidateProject(String projectName) {
+        entries.invalidateProject( projectName );
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    public CacheStatistics getStatistics() {
+        return entries.getStatistics();
+    }
+
+    private static MapperQualifiers computeQualifiers(ITypeBinding mapper, IProgressMonitor monitor) {
+        Set<String> names = new TreeSet<String>();
+        Set<String> qualifiedNames = new TreeSet<String>();
+        Set<String> dependencies = new HashSet<String>();
+        Set<String> visited = new HashSet<String>();
+
+        collectQualifiers( mapper, names, qualifiedNames, dependencies, visited, monitor );
+
+        IAnnotationBinding mapperAnnotation = findAnnotation( mapper, MAPPER_FQ_NAME );
+        if ( mapperAnnotation != null ) {
+            for ( ITypeBinding used : getTypes( mapperAnnotation, MAPPER_MEMBER_USES ) ) {
+                collectQualifiers( used, names, qualifiedNames, dependencies, visited, monitor );
+            }
+
+            for ( ITypeBinding config : getTypes( mapperAnnotation, MAPPER_MEMBER_CONFIG ) ) {
+                dependencies.add( config.getErasure().getQualifiedName() );
+
+                IAnnotationBinding configAnnotation = findAnnotation( config, MAPPER_CONFIG_FQ_NAME );
+                if ( configAnnotation != null ) {
+                    for ( ITypeBinding used : getTypes( configAnnotation, MAPPER_MEMBER_USES ) ) {
+                        collectQualifiers( used, names, qualifiedNames, dependencies, visited, monitor );
+                    }
+                }
+            }
+        }
+
+        return new MapperQualifiers(
+            intern( names ),
+            intern( qualifiedNames ),
+            dependencies.toArray( new String[dependencies.size()] ) );
+    }
+
+    /**
+     * Collects the qualifiers of the methods declared in the given type and its super types.
+     */
+    private static void collectQualifiers(ITypeBinding type, Set<String> names, Set<String> qualifiedNames,
+                                          Set<String> dependencies, Set<String> visited, IProgressMonitor monitor) {
+        ITypeBinding erasure = type.getErasure();
+        if ( "java.lang.Object".equals( erasure.getQualifiedName() ) || !visited.add( erasure.getKey() ) ) {
+            return;
+        }
+
+        if ( monitor.isCanceled() ) {
+            throw new OperationCanceledException();
+        }
+
+        dependencies.add( erasure.getQualifiedName() );
+
+        for ( IMethodBinding method : erasure.getDeclaredMethods() ) {
+            for ( IAnnotationBinding annotation : method.getAnnotations() ) {
+                ITypeBinding annotationType = annotation.getAnnotationType();
+                if ( NAMED_FQ_NAME.equals( annotationType.getQualifiedName() ) ) {
+                    Object value = getValue( annotation, "value" ); //$NON-NLS-1$
+                    if ( value instanceof String ) {
+                        names.add( (String) value );
+                    }
+                }
+                else if ( containsAnnotation( annotationType.getAnnotations(), QUALIFIER_FQ_NAME ) ) {
+                    dependencies.add( annotationType.getQualifiedName() );
+                    qualifiedNames.add( annotationType.getQualifiedName() );
+                }
+            }
+        }
+
+        // the name of a type annotated with @Named is required in addition to the name of the method, so propose it
+        IAnnotationBinding named = findAnnotation( erasure, NAMED_FQ_NAME );
+        if ( named != null && getValue( named, "value" ) instanceof String ) { //$NON-NLS-1$
+            names.add( (String) getValue( named, "value" ) ); //$NON-NLS-1$
+        }
+
+        for ( ITypeBinding ifc : erasure.getInterfaces() ) {
+            collectQualifiers( ifc, names, qualifiedNames, dependencies, visited, monitor );
+        }
+
+        if ( erasure.getSuperclass() != null ) {
+            collectQualifiers( erasure.getSuperclass(), names, qualifiedNames, dependencies, visited, monitor );
+        }
+    }
+
+    private static IAnnotationBinding findAnnotation(ITypeBinding type, String annotationName) {
+        for ( IAnnotationBinding annotation : type.getAnnotations() ) {
+            if ( annotationName.equals( annotation.getAnnotationType().getQualifiedName() ) ) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    private static Object getValue(IAnnotationBinding annotation, String memberName) {
+        for ( IMemberValuePairBinding pair : annotation.getAllMemberValuePairs() ) {
+            if ( memberName.equals( pair.getName() ) ) {
+                return pair.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the types of a member of type {@code Class} or {@code Class[]}
+     */
+    private static Collection<ITypeBinding> getTypes(IAnnotationBinding annotation, String memberName) {
+        Object value = getValue( annotation, memberName );
+        Object[] values = value instanceof Object[] ? (Object[]) value : new Object[] { value };
+
+        Collection<ITypeBinding> result = new ArrayList<ITypeBinding>( values.length );
+        for ( Object element : values ) {
+            if ( element instanceof ITypeBinding && !"void".equals( ( (ITypeBinding) element ).getName() ) ) {
+                result.add( (ITypeBinding) element );
+            }
+        }
+        return result;
+    }
+
+    private static String[] intern(Collection<String> sortedNames) {
+        String[] result = new String[sortedNames.size()];
+        int i = 0;
+        for ( String name : sortedNames ) {
+            result[i++] = name.intern();
+        }
+        return result;
+    }
+}
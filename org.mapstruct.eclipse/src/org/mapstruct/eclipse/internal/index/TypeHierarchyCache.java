@@ -0,0 +1,125 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.mapstruct.eclipse.internal.model.JdtTypeModel;
+import org.mapstruct.eclipse.internal.model.TypeModel;
+
+/**
+ * Memoizes the {@link TypeHierarchyNode}s of the types whose properties are put into the {@link PropertyIndex}, keyed
+ * by the project and the binding key of the erasure of the type. Super types shared by many types, like a common base
+ * class of all entities, are inspected only once.
+ * <p>
+ * When a type changes, its node and the nodes of all its subtypes are removed. The nodes are kept in a
+ * {@link DependentLruCache} bounded by a multiple of the size of the property index; evicted nodes still referenced by
+ * the nodes of subtypes stay reachable from them.
+ *
+ * @author agent
+ */
+class TypeHierarchyCache {
+
+    /**
+     * Factor of the size of the property index, as every type entry references a few super types
+     */
+    private static final int SIZE_FACTOR = 4;
+
+    private final DependentLruCache<TypeHierarchyNode> nodes =
+        new DependentLruCache<TypeHierarchyNode>( "Type hierarchy cache", SIZE_FACTOR ) { //$NON-NLS-1$
+            @Override
+            protected Collection<String> getDependencies(TypeHierarchyNode node) {
+                List<TypeHierarchyNode> hierarchy = node.getHierarchy();
+                Collection<String> typeNames = new ArrayList<String>( hierarchy.size() );
+                for ( TypeHierarchyNode typeInHierarchy : hierarchy ) {
+                    typeNames.add( typeInHierarchy.getQualifiedName() );
+                }
+                return typeNames;
+            }
+        };
+
+    /**
+     * @param project the project in which the type is used
+     * @param type the type
+     * @param monitor the progress monitor to check for cancellation, may be {@code null}
+     * @return the node of the type, created along with the nodes of its super types if not yet cached
+     * @throws OperationCanceledException if the monitor is canceled while creating nodes
+     */
+    TypeHierarchyNode getNode(IJavaProject project, TypeModel type, IProgressMonitor monitor) {
+        TypeModel erasure = type.getErasure();
+        String key = PropertyIndex.toCacheKey( project, erasure.getKey() );
+
+        long generation = nodes.getGeneration();
+        TypeHierarchyNode cached = nodes.get( key );
+        if ( cached != null ) {
+            return cached;
+        }
+
+        if ( monitor != null && monitor.isCanceled() ) {
+            throw new OperationCanceledException();
+        }
+
+        List<TypeHierarchyNode> supertypes = new ArrayList<TypeHierarchyNode>();
+        for ( TypeModel supertype : TypeHierarchyNode.getSupertypes( erasure ) ) {
+            supertypes.add( getNode( project, supertype, monitor ) );
+        }
+
+        // another thread may have been faster, stick to its node
+        return nodes.putIfAbsent( key, createNode( erasure, supertypes ), generation );
+    }
+
+    private static TypeHierarchyNode createNode(TypeModel erasure, List<TypeHierarchyNode> supertypes) {
+        ITypeBinding binding = JdtTypeModel.getBinding( erasure );
+        String origin = Origins.getOrigin( binding );
+        long stamp = Origins.hasUnsavedChanges( binding ) ? Origins.NULL_STAMP : Origins.getStamp( origin );
+
+        return TypeHierarchyNode.of( erasure, origin, stamp, supertypes );
+    }
+
+    /**
+     * Removes the nodes of the type with the given name and of all its subtypes.
+     *
+     * @param qualifiedName the qualified name of a changed type
+     */
+    void invalidateType(String qualifiedName) {
+        nodes.invalidateType( qualifiedName );
+    }
+
+    /**
+     * Removes all nodes of the given project.
+     *
+     * @param projectName the name of the project
+     */
+    void invalidateProject(String projectName) {
+        nodes.invalidateProject( projectName );
+    }
+
+    /**
+     * Removes all nodes.
+     */
+    void clear() {
+        nodes.clear();
+    }
+}
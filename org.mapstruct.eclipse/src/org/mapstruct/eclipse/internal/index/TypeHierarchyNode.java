@@ -0,0 +1,137 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.mapstruct.eclipse.internal.model.TypeModel;
+import org.mapstruct.eclipse.internal.model.TypeModels;
+
+/**
+ * A type in the memoized type hierarchy of the {@link TypeHierarchyCache}: the accessors declared in the type and the
+ * nodes of its direct super types. The nodes form a DAG, so the closure of the accessors of a type reuses the closures
+ * of its super types, which are computed only once for all their subtypes.
+ *
+ * @author agent
+ */
+final class TypeHierarchyNode {
+    private final String qualifiedName;
+    private final String origin;
+    private final long stamp;
+    private final MethodDescriptor[] declaredMethods;
+    private final TypeHierarchyNode[] supertypes;
+
+    private volatile List<MethodDescriptor> allMethods;
+    private volatile List<TypeHierarchyNode> hierarchy;
+
+    /**
+     * @param qualifiedName the qualified name of the erasure of the type
+     * @param origin the {@link Origins origin} of the type
+     * @param stamp the stamp of the origin at the time the node was created
+     * @param declaredMethods the accessors declared in the type
+     * @param supertypes the nodes of the direct super types, except {@code java.lang.Object}
+     */
+    TypeHierarchyNode(String qualifiedName, String origin, long stamp, MethodDescriptor[] declaredMethods,
+                      TypeHierarchyNode[] supertypes) {
+        this.qualifiedName = qualifiedName;
+        this.origin = origin;
+        this.stamp = stamp;
+        this.declaredMethods = declaredMethods;
+        this.supertypes = supertypes;
+    }
+
+    /**
+     * @param erasure the erasure of a type
+     * @param origin the {@link Origins origin} of the type
+     * @param stamp the stamp of the origin
+     * @param supertypes the nodes of the {@link #getSupertypes(TypeModel) super types} of the type
+     * @return the node of the type, with its declared accessors classified
+     */
+    static TypeHierarchyNode of(TypeModel erasure, String origin, long stamp, List<TypeHierarchyNode> supertypes) {
+        return new TypeHierarchyNode(
+            erasure.getQualifiedName(),
+            origin,
+            stamp,
+            MethodDescriptor.ofDeclaredAccessors( erasure ),
+            supertypes.toArray( new TypeHierarchyNode[supertypes.size()] ) );
+    }
+
+    /**
+     * @param erasure the erasure of a type
+     * @return the direct super types of the type that get a node, i.e. all but {@code java.lang.Object}
+     */
+    static List<TypeModel> getSupertypes(TypeModel erasure) {
+        List<TypeModel> result = new ArrayList<TypeModel>( Arrays.asList( erasure.getInterfaces() ) );
+        TypeModel superclass = erasure.getSuperclass();
+        if ( superclass != null && !TypeModels.isJavaLangObject( superclass.getErasure() ) ) {
+            result.add( superclass );
+        }
+        return result;
+    }
+
+    String getQualifiedName() {
+        return qualifiedName;
+    }
+
+    String getOrigin() {
+        return origin;
+    }
+
+    long getStamp() {
+        return stamp;
+    }
+
+    /**
+     * @return the accessors declared in the type and its super types, the ones of the type first
+     */
+    List<MethodDescriptor> getAllMethods() {
+        List<MethodDescriptor> result = allMethods;
+        if ( result == null ) {
+            Set<MethodDescriptor> methods = new LinkedHashSet<MethodDescriptor>( Arrays.asList( declaredMethods ) );
+            for ( TypeHierarchyNode supertype : supertypes ) {
+                methods.addAll( supertype.getAllMethods() );
+            }
+            result = Collections.unmodifiableList( new ArrayList<MethodDescriptor>( methods ) );
+            allMethods = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return the node itself and the nodes of all its super types
+     */
+    List<TypeHierarchyNode> getHierarchy() {
+        List<TypeHierarchyNode> result = hierarchy;
+        if ( result == null ) {
+            Set<TypeHierarchyNode> nodes = new LinkedHashSet<TypeHierarchyNode>();
+            nodes.add( this );
+            for ( TypeHierarchyNode supertype : supertypes ) {
+                nodes.addAll( supertype.getHierarchy() );
+            }
+            result = Collections.unmodifiableList( new ArrayList<TypeHierarchyNode>( nodes ) );
+            hierarchy = result;
+        }
+        return result;
+    }
+}
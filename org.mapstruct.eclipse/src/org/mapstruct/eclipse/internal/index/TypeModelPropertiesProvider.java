@@ -0,0 +1,74 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.index;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.mapstruct.eclipse.internal.model.TypeModel;
+
+/**
+ * {@link TypePropertiesProvider} for types that exist outside of the workspace, e.g. the synthetic types of the
+ * benchmarks. The nodes of the type hierarchy are shared like in the {@link PropertyIndex}, but the types have no
+ * {@link Origins origin} and nothing is invalidated or evicted, so an instance is meant to be used for a fixed set of
+ * types only. Not thread-safe.
+ *
+ * @author agent
+ */
+public class TypeModelPropertiesProvider implements TypePropertiesProvider {
+
+    private final Map<String, TypeHierarchyNode> nodes = new HashMap<String, TypeHierarchyNode>();
+
+    @Override
+    public TypeProperties getProperties(TypeModel type, IProgressMonitor monitor) {
+        TypeModel erasure = type.getErasure();
+        return TypeProperties.of( type.getKey(), getNode( erasure, monitor ), erasure.getEnumConstants() );
+    }
+
+    private TypeHierarchyNode getNode(TypeModel erasure, IProgressMonitor monitor) {
+        TypeHierarchyNode node = nodes.get( erasure.getKey() );
+        if ( node != null ) {
+            return node;
+        }
+
+        if ( monitor != null && monitor.isCanceled() ) {
+            throw new OperationCanceledException();
+        }
+
+        List<TypeHierarchyNode> supertypes = new ArrayList<TypeHierarchyNode>();
+        for ( TypeModel supertype : TypeHierarchyNode.getSupertypes( erasure ) ) {
+            supertypes.add( getNode( supertype.getErasure(), monitor ) );
+        }
+
+        node = TypeHierarchyNode.of( erasure, null, Origins.NULL_STAMP, supertypes );
+        nodes.put( erasure.getKey(), node );
+        return node;
+    }
+
+    /**
+     * Forgets the nodes of all types, so that the next request classifies the accessors again.
+     */
+    public void clear() {
+        nodes.clear();
+    }
+}
@@ -0,0 +1,160 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.index;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The read and write properties of a type, or the constants of an enum type, as stored in the {@link PropertyIndex}.
+ *
+ * @author agent
+ */
+public final class TypeProperties {
+    private final String typeKey;
+    private final PropertyTable readProperties;
+    private final PropertyTable writeProperties;
+    private final String[] hierarchy;
+    private final String[] origins;
+    private final long[] stamps;
+    private final String[] enumConstants;
+
+    private volatile NameMatcher enumConstantMatcher;
+
+    /**
+     * @param typeKey the binding key of the type
+     * @param readProperties the read properties
+     * @param writeProperties the write properties
+     * @param hierarchy the qualified names of the type and its super types
+     * @param origins the {@link Origins} of the type and its super types
+     * @param stamps the stamps of the origins at the time the properties were computed
+     * @param enumConstants the names of the constants of an enum type, sorted, or an empty array
+     */
+    TypeProperties(String typeKey, PropertyTable readProperties, PropertyTable writeProperties, String[] hierarchy,
+                   String[] origins, long[] stamps, String[] enumConstants) {
+        this.typeKey = typeKey;
+        this.readProperties = readProperties;
+        this.writeProperties = writeProperties;
+        this.hierarchy = hierarchy;
+        this.origins = origins;
+        this.stamps = stamps;
+        this.enumConstants = enumConstants;
+    }
+
+    /**
+     * @param typeKey the binding key of the type
+     * @param node the node of the erasure of the type
+     * @param enumConstants the names of the constants of an enum type, or an empty list
+     * @return the properties of the type
+     */
+    static TypeProperties of(String typeKey, TypeHierarchyNode node, List<String> enumConstants) {
+        List<TypeHierarchyNode> hierarchy = node.getHierarchy();
+
+        String[] hierarchyNames = new String[hierarchy.size()];
+        String[] origins = new String[hierarchy.size()];
+        long[] stamps = new long[hierarchy.size()];
+        for ( int i = 0; i < hierarchyNames.length; i++ ) {
+            TypeHierarchyNode typeInHierarchy = hierarchy.get( i );
+            hierarchyNames[i] = typeInHierarchy.getQualifiedName();
+            origins[i] = typeInHierarchy.getOrigin();
+            stamps[i] = typeInHierarchy.getStamp();
+        }
+
+        String[] constants = new String[enumConstants.size()];
+        for ( int i = 0; i < constants.length; i++ ) {
+            constants[i] = enumConstants.get( i ).intern();
+        }
+        Arrays.sort( constants );
+
+        return new TypeProperties(
+            typeKey,
+            PropertyTable.readProperties( node.getAllMethods() ),
+            PropertyTable.writeProperties( node.getAllMethods() ),
+            hierarchyNames,
+            origins,
+            stamps,
+            constants );
+    }
+
+    /**
+     * @return the binding key of the type
+     */
+    public String getTypeKey() {
+        return typeKey;
+    }
+
+    public PropertyTable getReadProperties() {
+        return readProperties;
+    }
+
+    public PropertyTable getWriteProperties() {
+        return writeProperties;
+    }
+
+    /**
+     * @param source whether the properties of a mapping source or of a mapping target are requested
+     * @return the read properties for a source, the write properties for a target
+     */
+    public PropertyTable getProperties(boolean source) {
+        return source ? readProperties : writeProperties;
+    }
+
+    /**
+     * @return the matcher for the names of the constants of an enum type, created on first request
+     */
+    public NameMatcher getEnumConstants() {
+        NameMatcher result = enumConstantMatcher;
+        if ( result == null ) {
+            result = NameMatcher.of( enumConstants );
+            enumConstantMatcher = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return the qualified names of the type and its super types, i.e. the types that affect the properties
+     */
+    String[] getHierarchy() {
+        return hierarchy;
+    }
+
+    String[] getOrigins() {
+        return origins;
+    }
+
+    long[] getStamps() {
+        return stamps;
+    }
+
+    String[] getEnumConstantNames() {
+        return enumConstants;
+    }
+
+    /**
+     * @return {@code true}, iff the origins of all types in the hierarchy are known and have no unsaved changes
+     */
+    boolean isPersistable() {
+        for ( int i = 0; i < origins.length; i++ ) {
+            if ( origins[i] == null || stamps[i] == Origins.NULL_STAMP ) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,40 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.index;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.mapstruct.eclipse.internal.model.TypeModel;
+
+/**
+ * Provides the {@link TypeProperties} of the types of one {@link TypeModel type model}, e.g. the types used in a
+ * project (see {@link PropertyIndex#forProject(org.eclipse.jdt.core.IJavaProject)}).
+ *
+ * @author agent
+ */
+public interface TypePropertiesProvider {
+
+    /**
+     * @param type the type
+     * @param monitor the progress monitor to check for cancellation, may be {@code null}
+     * @return the properties of the type
+     * @throws OperationCanceledException if the monitor is canceled while computing the properties
+     */
+    TypeProperties getProperties(TypeModel type, IProgressMonitor monitor);
+}
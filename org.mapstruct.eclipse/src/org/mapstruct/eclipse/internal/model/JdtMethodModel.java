@@ -0,0 +1,84 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.model;
+
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.Modifier;
+
+/**
+ * {@link MethodModel} backed by an {@link IMethodBinding}.
+ *
+ * @author agent
+ */
+final class JdtMethodModel implements MethodModel {
+    private final IMethodBinding binding;
+
+    private JdtMethodModel(IMethodBinding binding) {
+        this.binding = binding;
+    }
+
+    static MethodModel[] of(IMethodBinding[] bindings) {
+        MethodModel[] result = new MethodModel[bindings.length];
+        for ( int i = 0; i < bindings.length; i++ ) {
+            result[i] = new JdtMethodModel( bindings[i] );
+        }
+        return result;
+    }
+
+    @Override
+    public String getName() {
+        return binding.getName();
+    }
+
+    @Override
+    public boolean isConstructor() {
+        return binding.isConstructor();
+    }
+
+    @Override
+    public boolean isStatic() {
+        return Modifier.isStatic( binding.getModifiers() );
+    }
+
+    @Override
+    public boolean isPublic() {
+        return Modifier.isPublic( binding.getModifiers() );
+    }
+
+    @Override
+    public TypeModel getDeclaringType() {
+        return JdtTypeModel.of( binding.getDeclaringClass() );
+    }
+
+    @Override
+    public TypeModel getReturnType() {
+        return JdtTypeModel.of( binding.getReturnType() );
+    }
+
+    @Override
+    public TypeModel[] getParameterTypes() {
+        return JdtTypeModel.of( binding.getParameterTypes() );
+    }
+
+    @Override
+    public MethodModel getMethodDeclaration() {
+        IMethodBinding declaration = binding.getMethodDeclaration();
+        return declaration == binding ? this : new JdtMethodModel( declaration );
+    }
+}
@@ -0,0 +1,136 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.model;
+
+import java.util.List;
+
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.mapstruct.eclipse.internal.util.Bindings;
+
+/**
+ * {@link TypeModel} backed by an {@link ITypeBinding}.
+ *
+ * @author agent
+ */
+public final class JdtTypeModel implements TypeModel {
+    private final ITypeBinding binding;
+
+    private JdtTypeModel(ITypeBinding binding) {
+        this.binding = binding;
+    }
+
+    /**
+     * @param binding the binding, may be {@code null}
+     * @return the model of the binding, or {@code null} if the binding is {@code null}
+     */
+    public static TypeModel of(ITypeBinding binding) {
+        return binding != null ? new JdtTypeModel( binding ) : null;
+    }
+
+    static TypeModel[] of(ITypeBinding[] bindings) {
+        TypeModel[] result = new TypeModel[bindings.length];
+        for ( int i = 0; i < bindings.length; i++ ) {
+            result[i] = of( bindings[i] );
+        }
+        return result;
+    }
+
+    /**
+     * @param type a type of the JDT model
+     * @return the binding of the type
+     */
+    public static ITypeBinding getBinding(TypeModel type) {
+        return ( (JdtTypeModel) type ).binding;
+    }
+
+    @Override
+    public String getName() {
+        return binding.getName();
+    }
+
+    @Override
+    public String getQualifiedName() {
+        return binding.getQualifiedName();
+    }
+
+    @Override
+    public String getPackageName() {
+        return binding.getPackage() != null ? binding.getPackage().getName() : ""; //$NON-NLS-1$
+    }
+
+    @Override
+    public String getKey() {
+        return binding.getKey();
+    }
+
+    @Override
+    public TypeModel getErasure() {
+        return of( binding.getErasure() );
+    }
+
+    @Override
+    public boolean isPrimitive() {
+        return binding.isPrimitive();
+    }
+
+    @Override
+    public boolean isArray() {
+        return binding.isArray();
+    }
+
+    @Override
+    public boolean isEnum() {
+        return binding.isEnum();
+    }
+
+    @Override
+    public boolean isInterface() {
+        return binding.isInterface();
+    }
+
+    @Override
+    public TypeModel getSuperclass() {
+        return of( binding.getSuperclass() );
+    }
+
+    @Override
+    public TypeModel[] getInterfaces() {
+        return of( binding.getInterfaces() );
+    }
+
+    @Override
+    public MethodModel[] getDeclaredMethods() {
+        return JdtMethodModel.of( binding.getDeclaredMethods() );
+    }
+
+    @Override
+    public List<String> getEnumConstants() {
+        return Bindings.findAllEnumConstants( binding );
+    }
+
+    @Override
+    public boolean isAssignmentCompatible(TypeModel type) {
+        return binding.isAssignmentCompatible( getBinding( type ) );
+    }
+
+    @Override
+    public String toString() {
+        return binding.getQualifiedName();
+    }
+}
@@ -0,0 +1,50 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.model;
+
+/**
+ * The parts of a method the property resolution relies on, independent of the JDT bindings (see {@link TypeModel}).
+ *
+ * @author agent
+ */
+public interface MethodModel {
+
+    String getName();
+
+    boolean isConstructor();
+
+    boolean isStatic();
+
+    boolean isPublic();
+
+    TypeModel getDeclaringType();
+
+    /**
+     * @return the return type, {@code void} if the method returns nothing
+     */
+    TypeModel getReturnType();
+
+    TypeModel[] getParameterTypes();
+
+    /**
+     * @return the generic method this method is a parameterization of, e.g. {@code T getId()} of {@code Base<T>} for
+     *         {@code Long getId()} of {@code Base<Long>}, or this method itself if it is no parameterization
+     */
+    MethodModel getMethodDeclaration();
+}
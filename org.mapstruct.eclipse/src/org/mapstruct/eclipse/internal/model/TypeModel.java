@@ -0,0 +1,90 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.model;
+
+import java.util.List;
+
+/**
+ * The parts of a Java type the property resolution relies on, independent of the JDT bindings, so that the resolution
+ * can be run on {@link JdtTypeModel bindings} as well as on types that exist in memory only, e.g. in benchmarks.
+ *
+ * @author agent
+ */
+public interface TypeModel {
+
+    /**
+     * @return the simple name of the type, e.g. {@code int}, {@code void} or {@code List<String>}
+     */
+    String getName();
+
+    /**
+     * @return the qualified name of the type, including type arguments
+     */
+    String getQualifiedName();
+
+    /**
+     * @return the name of the package of the type, empty for primitive types and the default package
+     */
+    String getPackageName();
+
+    /**
+     * @return the key uniquely identifying the type
+     */
+    String getKey();
+
+    /**
+     * @return the type without type arguments
+     */
+    TypeModel getErasure();
+
+    boolean isPrimitive();
+
+    boolean isArray();
+
+    boolean isEnum();
+
+    boolean isInterface();
+
+    /**
+     * @return the super class of the type, or {@code null} for interfaces, primitive types and
+     *         {@code java.lang.Object}
+     */
+    TypeModel getSuperclass();
+
+    /**
+     * @return the directly implemented resp. extended interfaces
+     */
+    TypeModel[] getInterfaces();
+
+    /**
+     * @return the methods and constructors declared in the type
+     */
+    MethodModel[] getDeclaredMethods();
+
+    /**
+     * @return the names of the constants of an enum type, without any other fields, or an empty list for other types
+     */
+    List<String> getEnumConstants();
+
+    /**
+     * @param type another type of the same model
+     * @return {@code true}, iff a value of this type can be assigned to a variable of the given type
+     */
+    boolean isAssignmentCompatible(TypeModel type);
+}
@@ -0,0 +1,94 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.model;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Helper class to inspect {@link TypeModel}s.
+ *
+ * @author agent
+ */
+public final class TypeModels {
+
+    private TypeModels() {
+    }
+
+    /**
+     * @param type the type
+     * @param methodName the name of a property accessor
+     * @param propertyTypeKey the key of the type of the property as declared, i.e. the return type of a getter or the
+     *            parameter type of a setter, e.g. {@code T} for {@code T getId()} of {@code Base<T>}
+     * @return the accessor with the given name and declared property type in the class or a super type of it, so that
+     *         overloaded setters are told apart, or {@code null}; on a parameterized type, e.g. {@code Base<Long>},
+     *         the accessor's types are the actual type arguments
+     */
+    public static MethodModel findAccessor(TypeModel type, String methodName, String propertyTypeKey) {
+        return findAccessor( type, methodName, propertyTypeKey, new HashSet<String>() );
+    }
+
+    private static MethodModel findAccessor(TypeModel type, String methodName, String propertyTypeKey,
+                                            Set<String> visited) {
+        if ( isJavaLangObject( type ) || !visited.add( type.getKey() ) ) {
+            return null;
+        }
+
+        for ( MethodModel method : type.getDeclaredMethods() ) {
+            if ( method.getName().equals( methodName ) && isOfPropertyType( method, propertyTypeKey ) ) {
+                return method;
+            }
+        }
+
+        for ( TypeModel ifc : type.getInterfaces() ) {
+            MethodModel method = findAccessor( ifc, methodName, propertyTypeKey, visited );
+            if ( method != null ) {
+                return method;
+            }
+        }
+
+        TypeModel superClass = type.getSuperclass();
+        return superClass != null ? findAccessor( superClass, methodName, propertyTypeKey, visited ) : null;
+    }
+
+    /**
+     * @param accessor a getter or setter
+     * @return the type of the property accessed by the method, i.e. the return type of a getter or the parameter type
+     *         of a setter
+     */
+    public static TypeModel getPropertyType(MethodModel accessor) {
+        TypeModel[] parameterTypes = accessor.getParameterTypes();
+        return parameterTypes.length > 0 ? parameterTypes[0] : accessor.getReturnType();
+    }
+
+    private static boolean isOfPropertyType(MethodModel method, String propertyTypeKey) {
+        // the index records the accessors of the generic declarations, not of their parameterizations
+        MethodModel declaration = method.getMethodDeclaration();
+        return declaration.getParameterTypes().length <= 1
+            && getPropertyType( declaration ).getKey().equals( propertyTypeKey );
+    }
+
+    /**
+     * @param type the type
+     * @return {@code true}, iff the type is {@code java.lang.Object}
+     */
+    public static boolean isJavaLangObject(TypeModel type) {
+        return "java.lang.Object".equals( type.getQualifiedName() ); //$NON-NLS-1$
+    }
+}
@@ -0,0 +1,119 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.preferences;
+
+import static org.mapstruct.eclipse.internal.preferences.MapStructPreferences.COMPLETION_TIME_BUDGET;
+import static org.mapstruct.eclipse.internal.preferences.MapStructPreferences.DEEP_PATH_DEPTH;
+import static org.mapstruct.eclipse.internal.preferences.MapStructPreferences.DEEP_PATH_LIMIT;
+import static org.mapstruct.eclipse.internal.preferences.MapStructPreferences.PROPERTY_INDEX_SIZE;
+import static org.mapstruct.eclipse.internal.preferences.MapStructPreferences.SHARED_AST_IF_AVAILABLE;
+import static org.mapstruct.eclipse.internal.preferences.MapStructPreferences.SHARED_AST_MODE;
+import static org.mapstruct.eclipse.internal.preferences.MapStructPreferences.SHARED_AST_NEVER;
+import static org.mapstruct.eclipse.internal.preferences.MapStructPreferences.SHARED_AST_WAIT_ACTIVE;
+import static org.mapstruct.eclipse.internal.preferences.MapStructPreferences.WARM_UP_ON_OPEN;
+
+import org.eclipse.jface.preference.BooleanFieldEditor;
+import org.eclipse.jface.preference.ComboFieldEditor;
+import org.eclipse.jface.preference.FieldEditorPreferencePage;
+import org.eclipse.jface.preference.IntegerFieldEditor;
+import org.eclipse.ui.IWorkbench;
+import org.eclipse.ui.IWorkbenchPreferencePage;
+import org.mapstruct.eclipse.internal.MapStructPlugIn;
+import org.mapstruct.eclipse.internal.index.MapStructIndexes;
+import org.mapstruct.eclipse.internal.util.Tracing;
+
+/**
+ * Preference page of the plug-in, also showing some statistics of the current session.
+ *
+ * @author agent
+ */
+public class MapStructPreferencePage extends FieldEditorPreferencePage implements IWorkbenchPreferencePage {
+
+    public MapStructPreferencePage() {
+        super( GRID );
+    }
+
+    @Override
+    public void init(IWorkbench workbench) {
+        setPreferenceStore( MapStructPreferences.getPreferenceStore() );
+        setDescription( getStatistics() );
+    }
+
+    @Override
+    protected void createFieldEditors() {
+        addField(
+            new ComboFieldEditor(
+                SHARED_AST_MODE,
+                "Use the editor's AST for completion proposals:",
+                new String[][] {
+                    { "Never, always parse the file", SHARED_AST_NEVER },
+                    { "If it is up to date", SHARED_AST_IF_AVAILABLE },
+                    { "Wait for it in the active editor", SHARED_AST_WAIT_ACTIVE } },
+                getFieldEditorParent() ) );
+
+        IntegerFieldEditor indexSize =
+            new IntegerFieldEditor( PROPERTY_INDEX_SIZE, "Maximum number of types in the property index:",
+                getFieldEditorParent() );
+        indexSize.setValidRange( 10, 100000 );
+        addField( indexSize );
+
+        addField(
+            new BooleanFieldEditor(
+                WARM_UP_ON_OPEN,
+                "Index the properties used in a mapper when opening it in an editor",
+                getFieldEditorParent() ) );
+
+        IntegerFieldEditor timeBudget =
+            new IntegerFieldEditor( COMPLETION_TIME_BUDGET, "Time budget for completion proposals in ms (0 = none):",
+                getFieldEditorParent() );
+        timeBudget.setValidRange( 0, 60000 );
+        addField( timeBudget );
+
+        IntegerFieldEditor deepPathDepth =
+            new IntegerFieldEditor( DEEP_PATH_DEPTH, "Property path elements proposed at once (1 = one level):",
+                getFieldEditorParent() );
+        deepPathDepth.setValidRange( 1, 10 );
+        addField( deepPathDepth );
+
+        IntegerFieldEditor deepPathLimit =
+            new IntegerFieldEditor( DEEP_PATH_LIMIT, "Maximum number of property paths proposed at once:",
+                getFieldEditorParent() );
+        deepPathLimit.setValidRange( 1, 10000 );
+        addField( deepPathLimit );
+    }
+
+    private static String getStatistics() {
+        MapStructPlugIn plugIn = MapStructPlugIn.getDefault();
+
+        StringBuilder statistics = new StringBuilder( "Statistics of this session:\n" );
+        statistics.append( plugIn.getSharedASTStatistics() ).append( "\n" );
+
+        // don't start the indexes just for showing that they are empty
+        if ( plugIn.hasIndexes() ) {
+            MapStructIndexes indexes = plugIn.getIndexes();
+            statistics.append( indexes.getPropertyIndex().getStatistics() ).append( "\n" );
+            statistics.append( indexes.getQualifierIndex().getStatistics() ).append( "\n" );
+            statistics.append( indexes.getInheritanceIndex().getStatistics() ).append( "\n" );
+        }
+
+        return statistics
+            + Tracing.getHistogram( Tracing.Operation.COMPLETION ) + "\n"
+            + Tracing.getHistogram( Tracing.Operation.QUICK_FIX );
+    }
+}
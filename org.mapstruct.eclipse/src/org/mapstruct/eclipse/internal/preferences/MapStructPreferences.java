@@ -0,0 +1,128 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.preferences;
+
+import org.eclipse.jface.preference.IPreferenceStore;
+import org.mapstruct.eclipse.internal.MapStructPlugIn;
+
+/**
+ * Keys, values and accessors of the preferences of the plug-in
+ *
+ * @author agent
+ */
+public final class MapStructPreferences {
+
+    /**
+     * Key of the preference that controls when the editor's shared AST is used for computing completion proposals
+     */
+    public static final String SHARED_AST_MODE = MapStructPlugIn.PLUGIN_ID + ".sharedASTMode"; //$NON-NLS-1$
+
+    /**
+     * Always create a private AST for computing completion proposals
+     */
+    public static final String SHARED_AST_NEVER = "never"; //$NON-NLS-1$
+
+    /**
+     * Use the shared AST if it is reconciled already, create a private AST otherwise
+     */
+    public static final String SHARED_AST_IF_AVAILABLE = "ifAvailable"; //$NON-NLS-1$
+
+    /**
+     * Wait for the shared AST of the active editor to be reconciled, create a private AST for other editors
+     */
+    public static final String SHARED_AST_WAIT_ACTIVE = "waitActive"; //$NON-NLS-1$
+
+    /**
+     * Key of the preference for the maximum number of types in the property index
+     */
+    public static final String PROPERTY_INDEX_SIZE = MapStructPlugIn.PLUGIN_ID + ".propertyIndexSize"; //$NON-NLS-1$
+
+    /**
+     * Key of the preference for the time in milliseconds after which the computation of completion proposals is
+     * stopped, returning what has been found until then. {@code 0} for no limit.
+     */
+    public static final String COMPLETION_TIME_BUDGET =
+        MapStructPlugIn.PLUGIN_ID + ".completionTimeBudget"; //$NON-NLS-1$
+
+    /**
+     * Key of the preference whether the properties of the types used in a mapper are computed in the background when
+     * the mapper is opened in an editor
+     */
+    public static final String WARM_UP_ON_OPEN = MapStructPlugIn.PLUGIN_ID + ".warmUpOnOpen"; //$NON-NLS-1$
+
+    /**
+     * Key of the preference for the number of path elements proposed at once for source and target properties, e.g.
+     * {@code 3} for {@code customer.address.street}. {@code 1} proposes only the properties of the current segment.
+     */
+    public static final String DEEP_PATH_DEPTH = MapStructPlugIn.PLUGIN_ID + ".deepPathDepth"; //$NON-NLS-1$
+
+    /**
+     * Key of the preference for the maximum number of property paths proposed at once
+     */
+    public static final String DEEP_PATH_LIMIT = MapStructPlugIn.PLUGIN_ID + ".deepPathLimit"; //$NON-NLS-1$
+
+    private MapStructPreferences() {
+    }
+
+    /**
+     * @return one of {@link #SHARED_AST_NEVER}, {@link #SHARED_AST_IF_AVAILABLE} or {@link #SHARED_AST_WAIT_ACTIVE}
+     */
+    public static String getSharedASTMode() {
+        return getPreferenceStore().getString( SHARED_AST_MODE );
+    }
+
+    /**
+     * @return the maximum number of types in the property index
+     */
+    public static int getPropertyIndexSize() {
+        return getPreferenceStore().getInt( PROPERTY_INDEX_SIZE );
+    }
+
+    /**
+     * @return the time budget for computing completion proposals in milliseconds, {@code 0} for no limit
+     */
+    public static int getCompletionTimeBudget() {
+        return getPreferenceStore().getInt( COMPLETION_TIME_BUDGET );
+    }
+
+    /**
+     * @return whether the properties of the types used in a mapper are computed when opening it in an editor
+     */
+    public static boolean isWarmUpOnOpen() {
+        return getPreferenceStore().getBoolean( WARM_UP_ON_OPEN );
+    }
+
+    /**
+     * @return the maximum number of path elements proposed at once, {@code 1} for the current segment only
+     */
+    public static int getDeepPathDepth() {
+        return getPreferenceStore().getInt( DEEP_PATH_DEPTH );
+    }
+
+    /**
+     * @return the maximum number of property paths proposed at once
+     */
+    public static int getDeepPathLimit() {
+        return getPreferenceStore().getInt( DEEP_PATH_LIMIT );
+    }
+
+    static IPreferenceStore getPreferenceStore() {
+        return MapStructPlugIn.getDefault().getPreferenceStore();
+    }
+}
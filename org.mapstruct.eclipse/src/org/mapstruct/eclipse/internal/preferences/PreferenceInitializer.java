@@ -0,0 +1,50 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.preferences;
+
+import static org.mapstruct.eclipse.internal.preferences.MapStructPreferences.COMPLETION_TIME_BUDGET;
+import static org.mapstruct.eclipse.internal.preferences.MapStructPreferences.DEEP_PATH_DEPTH;
+import static org.mapstruct.eclipse.internal.preferences.MapStructPreferences.DEEP_PATH_LIMIT;
+import static org.mapstruct.eclipse.internal.preferences.MapStructPreferences.PROPERTY_INDEX_SIZE;
+import static org.mapstruct.eclipse.internal.preferences.MapStructPreferences.SHARED_AST_IF_AVAILABLE;
+import static org.mapstruct.eclipse.internal.preferences.MapStructPreferences.SHARED_AST_MODE;
+import static org.mapstruct.eclipse.internal.preferences.MapStructPreferences.WARM_UP_ON_OPEN;
+
+import org.eclipse.core.runtime.preferences.AbstractPreferenceInitializer;
+import org.eclipse.jface.preference.IPreferenceStore;
+
+/**
+ * Initializes the default values of the {@link MapStructPreferences}.
+ *
+ * @author agent
+ */
+public class PreferenceInitializer extends AbstractPreferenceInitializer {
+
+    @Override
+    public void initializeDefaultPreferences() {
+        IPreferenceStore store = MapStructPreferences.getPreferenceStore();
+
+        store.setDefault( SHARED_AST_MODE, SHARED_AST_IF_AVAILABLE );
+        store.setDefault( PROPERTY_INDEX_SIZE, 1000 );
+        store.setDefault( COMPLETION_TIME_BUDGET, 1000 );
+        store.setDefault( WARM_UP_ON_OPEN, true );
+        store.setDefault( DEEP_PATH_DEPTH, 1 );
+        store.setDefault( DEEP_PATH_LIMIT, 200 );
+    }
+}
@@ -0,0 +1,134 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.proposal;
+
+import static org.mapstruct.eclipse.internal.MapStructAPIConstants.INHERIT_CONFIGURATION_FQ_NAME;
+import static org.mapstruct.eclipse.internal.MapStructAPIConstants.INHERIT_CONFIGURATION_MEMBER_NAME;
+import static org.mapstruct.eclipse.internal.MapStructAPIConstants.INHERIT_CONFIGURATION_SIMPLE_NAME;
+import static org.mapstruct.eclipse.internal.MapStructAPIConstants.INHERIT_INVERSE_CONFIGURATION_FQ_NAME;
+import static org.mapstruct.eclipse.internal.MapStructAPIConstants.INHERIT_INVERSE_CONFIGURATION_SIMPLE_NAME;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.Annotation;
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.MemberValuePair;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
+import org.eclipse.jdt.core.dom.NodeFinder;
+import org.eclipse.jdt.core.dom.StringLiteral;
+import org.eclipse.jdt.ui.ISharedImages;
+import org.eclipse.jdt.ui.JavaUI;
+import org.eclipse.jface.text.contentassist.ICompletionProposal;
+import org.eclipse.swt.graphics.Image;
+import org.mapstruct.eclipse.internal.MapStructPlugIn;
+import org.mapstruct.eclipse.internal.index.InheritanceCandidates;
+import org.mapstruct.eclipse.internal.index.InheritanceIndex;
+
+/**
+ * Computes the proposals for the {@code name} of {@code @InheritConfiguration} and
+ * {@code @InheritInverseConfiguration}, i.e. the methods of the mapper and its mapper config the annotated method can
+ * inherit the configuration from, taken from the {@link InheritanceIndex}.
+ *
+ * @author agent
+ */
+class InheritConfigurationProposalGenerator implements ProposalGenerator {
+    private static final List<String> INHERIT_CONFIGURATION_ANNOTATION_NAMES = Arrays.asList(
+        INHERIT_CONFIGURATION_FQ_NAME,
+        INHERIT_CONFIGURATION_SIMPLE_NAME,
+        INHERIT_INVERSE_CONFIGURATION_FQ_NAME,
+        INHERIT_INVERSE_CONFIGURATION_SIMPLE_NAME );
+
+    @Override
+    public List<String> getAnnotationNames() {
+        return INHERIT_CONFIGURATION_ANNOTATION_NAMES;
+    }
+
+    @Override
+    public void sessionStarted() {
+    }
+
+    @Override
+    public void sessionEnded() {
+    }
+
+    @Override
+    public List<ICompletionProposal> getProposals(ProposalContext context) {
+        List<ICompletionProposal> proposals = new ArrayList<ICompletionProposal>();
+
+        ASTNode node = NodeFinder.perform( context.getAST(), context.getInvocationOffset(), 0 );
+        if ( !( node instanceof StringLiteral ) || !( node.getParent() instanceof MemberValuePair )
+            || !INHERIT_CONFIGURATION_MEMBER_NAME.equals(
+                ( (MemberValuePair) node.getParent() ).getName().getIdentifier() ) ) {
+            return proposals;
+        }
+
+        MethodDeclaration method = findEnclosingMethod( node );
+        IMethodBinding methodBinding = method != null ? method.resolveBinding() : null;
+        if ( methodBinding == null ) {
+            return proposals;
+        }
+
+        InheritanceCandidates candidates = MapStructPlugIn.getDefault().getInheritanceIndex().getCandidates(
+            context.getJavaProject(),
+            methodBinding.getDeclaringClass(),
+            context.getMonitor() );
+
+        String token = context.getToken();
+        Map<String, Integer> matches = new LinkedHashMap<String, Integer>();
+        candidates.findCandidates( methodBinding, isInverse( context ) ).match( token, Integer.MAX_VALUE, matches );
+
+        Image image = JavaUI.getSharedImages().getImage( ISharedImages.IMG_OBJS_PUBLIC );
+        for ( Map.Entry<String, Integer> match : matches.entrySet() ) {
+            proposals.add(
+                new NameProposal(
+                    match.getKey(),
+                    image,
+                    match.getKey(),
+                    token,
+                    context.getInvocationOffset(),
+                    match.getValue() ) );
+        }
+
+        return proposals;
+    }
+
+    private static boolean isInverse(ProposalContext context) {
+        String annotationName = context.getAnnotation().getElementName();
+        return INHERIT_INVERSE_CONFIGURATION_SIMPLE_NAME.equals( annotationName )
+            || INHERIT_INVERSE_CONFIGURATION_FQ_NAME.equals( annotationName );
+    }
+
+    private static MethodDeclaration findEnclosingMethod(ASTNode node) {
+        ASTNode current = node;
+        while ( current != null && !( current instanceof MethodDeclaration ) ) {
+            if ( current instanceof Annotation && !( current.getParent() instanceof MethodDeclaration ) ) {
+                // an annotation of something else than a method, e.g. of a parameter
+                return null;
+            }
+            current = current.getParent();
+        }
+
+        return (MethodDeclaration) current;
+    }
+}
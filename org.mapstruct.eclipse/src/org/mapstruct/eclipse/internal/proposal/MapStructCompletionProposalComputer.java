@@ -0,0 +1,235 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.proposal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.jdt.core.IAnnotatable;
+import org.eclipse.jdt.core.IAnnotation;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.ISourceRange;
+import org.eclipse.jdt.ui.text.java.ContentAssistInvocationContext;
+import org.eclipse.jdt.ui.text.java.IJavaCompletionProposalComputer;
+import org.eclipse.jdt.ui.text.java.JavaContentAssistInvocationContext;
+import org.eclipse.jface.text.contentassist.ICompletionProposal;
+import org.eclipse.jface.text.contentassist.IContextInformation;
+import org.mapstruct.eclipse.internal.MapStructPlugIn;
+import org.mapstruct.eclipse.internal.index.MapStructIndexes;
+import org.mapstruct.eclipse.internal.preferences.MapStructPreferences;
+import org.mapstruct.eclipse.internal.util.BudgetedProgressMonitor;
+import org.mapstruct.eclipse.internal.util.MapStructProjects;
+import org.mapstruct.eclipse.internal.util.OperationTimer;
+import org.mapstruct.eclipse.internal.util.Ranges;
+import org.mapstruct.eclipse.internal.util.Tracing;
+
+/**
+ * Computes MapStruct specific content assist completion proposals. Resolves the element and the annotation at the
+ * invocation offset once and dispatches to the {@link ProposalGenerator}s responsible for that annotation.
+ *
+ * @author Lars Wetzer
+ * @author Stefan Rademacher
+ * @author agent
+ */
+public class MapStructCompletionProposalComputer implements IJavaCompletionProposalComputer {
+
+    /**
+     * Created on the first request from a MapStruct project, so that workspaces without MapStruct don't pay for them
+     */
+    private ProposalGenerator[] generators;
+
+    /**
+     * Simple and fully qualified annotation names to the generators responsible for them
+     */
+    private Map<String, List<ProposalGenerator>> generatorsByAnnotationName;
+
+    private String errorMessage;
+
+    public MapStructCompletionProposalComputer() {
+    }
+
+    @Override
+    public void sessionStarted() {
+        errorMessage = null;
+        if ( generators == null ) {
+            return;
+        }
+
+        for ( ProposalGenerator generator : generators ) {
+            generator.sessionStarted();
+        }
+    }
+
+    @Override
+    public void sessionEnded() {
+        if ( generators == null ) {
+            return;
+        }
+
+        for ( ProposalGenerator generator : generators ) {
+            generator.sessionEnded();
+        }
+    }
+
+    private void initGenerators() {
+        if ( generators != null ) {
+            return;
+        }
+
+        generators = new ProposalGenerator[] {
+            new MapperAnnotationProposalGenerator(),
+            new MappingAnnotationProposalGenerator(),
+            new QualifierProposalGenerator(),
+            new InheritConfigurationProposalGenerator() };
+
+        generatorsByAnnotationName = new HashMap<String, List<ProposalGenerator>>();
+        for ( ProposalGenerator generator : generators ) {
+            for ( String annotationName : generator.getAnnotationNames() ) {
+                List<ProposalGenerator> annotationGenerators = generatorsByAnnotationName.get( annotationName );
+                if ( annotationGenerators == null ) {
+                    annotationGenerators = new ArrayList<ProposalGenerator>();
+                    generatorsByAnnotationName.put( annotationName, annotationGenerators );
+                }
+                annotationGenerators.add( generator );
+            }
+        }
+    }
+
+    @Override
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    @Override
+    public List<IContextInformation> computeContextInformation(ContentAssistInvocationContext context,
+                                                               IProgressMonitor monitor) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<ICompletionProposal> computeCompletionProposals(ContentAssistInvocationContext context,
+                                                                IProgressMonitor monitor) {
+        errorMessage = null;
+
+        if ( !( context instanceof JavaContentAssistInvocationContext ) ) {
+            return Collections.emptyList();
+        }
+
+        JavaContentAssistInvocationContext javaContent = (JavaContentAssistInvocationContext) context;
+
+        ICompilationUnit compilationUnit = javaContent.getCompilationUnit();
+
+        // step aside in projects without MapStruct before touching anything else
+        if ( compilationUnit == null || !MapStructProjects.isMapStructProject( compilationUnit.getJavaProject() ) ) {
+            return Collections.emptyList();
+        }
+
+        MapStructIndexes indexes = MapStructPlugIn.getDefault().getIndexes();
+        initGenerators();
+
+        int budget = MapStructPreferences.getCompletionTimeBudget();
+        BudgetedProgressMonitor budgetedMonitor = new BudgetedProgressMonitor( monitor, budget );
+
+        // the first completion after a restart starts loading the persisted indexes, leave it half of the budget
+        indexes.awaitLoad( budgetedMonitor, budget / 2 );
+
+        OperationTimer timer = Tracing.start( Tracing.Operation.COMPLETION );
+        int invocationOffset = javaContent.getInvocationOffset();
+        IJavaElement javaElement = null;
+
+        try {
+            long lookupStart = System.nanoTime();
+
+            if ( !compilationUnit.isStructureKnown() ) {
+                return Collections.emptyList();
+            }
+
+            javaElement = compilationUnit.getElementAt( invocationOffset );
+
+            if ( !( javaElement instanceof IAnnotatable ) ) {
+                return Collections.emptyList();
+            }
+
+            for ( IAnnotation annotation : ( (IAnnotatable) javaElement ).getAnnotations() ) {
+                List<ProposalGenerator> annotationGenerators =
+                    generatorsByAnnotationName.get( annotation.getElementName() );
+                if ( annotationGenerators == null ) {
+                    continue;
+                }
+
+                ISourceRange range = annotation.getSourceRange();
+                if ( Ranges.isInRange( invocationOffset, range.getOffset(), range.getLength() ) ) {
+                    timer.phase( "lookup", lookupStart ); //$NON-NLS-1$
+
+                    ProposalContext proposalContext =
+                        new ProposalContext(
+                            compilationUnit,
+                            invocationOffset,
+                            String.valueOf( javaContent.getCoreContext().getToken() ),
+                            javaElement,
+                            annotation,
+                            budgetedMonitor,
+                            timer );
+
+                    long generateStart = System.nanoTime();
+                    List<ICompletionProposal> proposals = new ArrayList<ICompletionProposal>();
+                    for ( ProposalGenerator generator : annotationGenerators ) {
+                        proposals.addAll( generator.getProposals( proposalContext ) );
+                    }
+                    timer.phase( "generate", generateStart ); //$NON-NLS-1$
+
+                    if ( budgetedMonitor.isBudgetExceeded() ) {
+                        errorMessage = getIncompleteMessage();
+                    }
+
+                    return proposals;
+                }
+            }
+        }
+        catch ( OperationCanceledException e ) {
+            if ( budgetedMonitor.isBudgetExceeded() ) {
+                errorMessage = getIncompleteMessage();
+            }
+            return Collections.emptyList();
+        }
+        catch ( Exception e ) {
+            return Collections.emptyList();
+        }
+        finally {
+            timer.stop(
+                compilationUnit.getElementName(),
+                javaElement != null ? javaElement.getElementName() : null,
+                invocationOffset );
+        }
+
+        return Collections.emptyList();
+
+    }
+
+    private static String getIncompleteMessage() {
+        return "MapStruct proposals are incomplete, they took longer than "
+            + MapStructPreferences.getCompletionTimeBudget() + " ms";
+    }
+}
@@ -20,44 +20,48 @@
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 
-import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.ui.ISharedImages;
 import org.eclipse.jdt.ui.JavaUI;
 import org.eclipse.jface.text.contentassist.CompletionProposal;
 import org.eclipse.jface.text.contentassist.ICompletionProposal;
 import org.mapstruct.eclipse.internal.MapStructAPIConstants;
+import org.mapstruct.eclipse.internal.util.ComponentModels;
 
 /**
- * Computes MapStruct specific content assist completion proposals for the {@code @Mapper} annotation.
+ * Computes MapStruct specific content assist completion proposals for the {@code @Mapper} and {@code @MapperConfig}
+ * annotations.
  *
  * @author Stefan Rademacher
  */
-public class MapperAnnotationCompletionProposalComputer extends AbstractAnnotationCompletionProposalComputer {
+class MapperAnnotationProposalGenerator implements ProposalGenerator {
 
     private static final List<String> MAPPER_ANNOTATION_NAMES = Arrays.asList(
         MapStructAPIConstants.MAPPER_SIMPLE_NAME,
-        MapStructAPIConstants.MAPPER_FQ_NAME );
-
-    private static final List<String> COMPONENT_MODEL_TYPES = Collections.unmodifiableList( Arrays.asList(
-        "default",
-        "cdi",
-        "spring",
-        "jsr330" ) );
+        MapStructAPIConstants.MAPPER_FQ_NAME,
+        MapStructAPIConstants.MAPPER_CONFIG_SIMPLE_NAME,
+        MapStructAPIConstants.MAPPER_CONFIG_FQ_NAME );
 
     @Override
-    protected List<String> getAnnotationNames() {
+    public List<String> getAnnotationNames() {
         return MAPPER_ANNOTATION_NAMES;
     }
 
     @Override
-    protected List<ICompletionProposal> getProposals(ICompilationUnit compilationUnit, int invocationOffset,
-                                                     String token) {
+    public void sessionStarted() {
+    }
+
+    @Override
+    public void sessionEnded() {
+    }
+
+    @Override
+    public List<ICompletionProposal> getProposals(ProposalContext context) {
         final List<ICompletionProposal> proposals = new ArrayList<ICompletionProposal>();
+        final String token = context.getToken();
 
-        for ( final String property : COMPONENT_MODEL_TYPES ) {
+        for ( final String property : ComponentModels.getComponentModels( context.getJavaProject() ) ) {
 
             if ( property.startsWith( token ) ) {
 
@@ -66,7 +70,7 @@ protected List<ICompletionProposal> getProposals(ICompilationUnit compilationUni
                 final CompletionProposal proposal =
                     new CompletionProposal(
                         replacement,
-                        invocationOffset,
+                        context.getInvocationOffset(),
                         0,
                         replacement.length(),
                         JavaUI.getSharedImages().getImage( ISharedImages.IMG_OBJS_PUBLIC ),
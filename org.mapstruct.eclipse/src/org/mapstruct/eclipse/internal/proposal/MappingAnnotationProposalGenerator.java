@@ -0,0 +1,231 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.proposal;
+
+import static org.mapstruct.eclipse.internal.MapStructAPIConstants.MAPPINGS_FQ_NAME;
+import static org.mapstruct.eclipse.internal.MapStructAPIConstants.MAPPINGS_SIMPLE_NAME;
+import static org.mapstruct.eclipse.internal.MapStructAPIConstants.MAPPING_FQ_NAME;
+import static org.mapstruct.eclipse.internal.MapStructAPIConstants.MAPPING_SIMPLE_NAME;
+import static org.mapstruct.eclipse.internal.MapStructAPIConstants.VALUE_MAPPING_FQ_NAME;
+import static org.mapstruct.eclipse.internal.MapStructAPIConstants.VALUE_MAPPING_SIMPLE_NAME;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
+import org.eclipse.jdt.core.dom.NodeFinder;
+import org.eclipse.jface.text.contentassist.ICompletionProposal;
+import org.mapstruct.eclipse.internal.MapStructPlugIn;
+import org.mapstruct.eclipse.internal.preferences.MapStructPreferences;
+import org.mapstruct.eclipse.internal.proposal.visitors.PropertyNameProposalCollector;
+
+/**
+ * Computes MapStruct specific content assist completion proposals for the <code>@Mapping</code> annotation.
+ *
+ * @author Lars Wetzer
+ * @author Andreas Gudian
+ * @author agent
+ */
+class MappingAnnotationProposalGenerator implements ProposalGenerator {
+    private static final List<String> MAPPING_ANNOTATION_NAMES = Arrays.asList(
+        MAPPING_FQ_NAME,
+        MAPPING_SIMPLE_NAME,
+        MAPPINGS_SIMPLE_NAME,
+        MAPPINGS_FQ_NAME,
+        VALUE_MAPPING_FQ_NAME,
+        VALUE_MAPPING_SIMPLE_NAME );
+
+    /**
+     * The segments of the property path resolved in the current content assist session, by their path without the
+     * trailing dot. Only valid for the string literal identified by {@link #sessionKey}.
+     */
+    private final Map<String, PropertySegment> sessionSegments = new HashMap<String, PropertySegment>();
+    private String sessionKey;
+
+    @Override
+    public List<String> getAnnotationNames() {
+        return MAPPING_ANNOTATION_NAMES;
+    }
+
+    @Override
+    public void sessionStarted() {
+        clearSession();
+    }
+
+    @Override
+    public void sessionEnded() {
+        clearSession();
+    }
+
+    private void clearSession() {
+        sessionSegments.clear();
+        sessionKey = null;
+    }
+
+    /**
+     * Returns {@link ICompletionProposal}s for the invocation offset and token of the given context. Only the method
+     * declaration enclosing the invocation offset is inspected. If the monitor gets canceled while collecting the
+     * properties, the proposals found until then are returned.
+     * <p>
+     * Within one content assist session, the AST is only inspected for the first keystroke in a string literal. The
+     * resolved segments of the property path are kept, so that further keystrokes only filter the names of the
+     * current segment and typing a dot only resolves the new segment.
+     */
+    @Override
+    public List<ICompletionProposal> getProposals(ProposalContext context) {
+        final int invocationOffset = context.getInvocationOffset();
+        final String token = context.getToken();
+        final IProgressMonitor monitor = context.getMonitor();
+
+        List<ICompletionProposal> returnValue = new ArrayList<ICompletionProposal>();
+
+        // the start of the token remains the same while typing in the same string literal
+        String key =
+            context.getCompilationUnit().getHandleIdentifier() + '@' + ( invocationOffset - token.length() );
+        if ( !key.equals( sessionKey ) ) {
+            clearSession();
+
+            PropertySegment rootSegment = findRootSegment( context );
+            if ( rootSegment == null ) {
+                return returnValue;
+            }
+
+            sessionKey = key;
+            sessionSegments.put( "", rootSegment );
+        }
+
+        String pathWithoutLastElement = getPathWithoutLastElement( token );
+        PropertySegment segment = findSegment( pathWithoutLastElement, monitor );
+        if ( segment == null ) {
+            return returnValue;
+        }
+
+        Map<String, Integer> propertiesToProcess = new LinkedHashMap<String, Integer>();
+        segment.collectProposals(
+            getLastPathElement( token ),
+            MapStructPreferences.getDeepPathDepth(),
+            MapStructPreferences.getDeepPathLimit(),
+            propertiesToProcess,
+            monitor );
+
+        int segmentDepth = countDots( token );
+        for ( Map.Entry<String, Integer> property : propertiesToProcess.entrySet() ) {
+            ICompletionProposal proposal =
+                new PropertyPathProposal(
+                    property.getKey(),
+                    token,
+                    invocationOffset,
+                    countDots( property.getKey() ) - segmentDepth,
+                    property.getValue() );
+
+            returnValue.add( proposal );
+        }
+
+        return returnValue;
+    }
+
+    private static PropertySegment findRootSegment(ProposalContext context) {
+        MethodDeclaration method = findEnclosingMethod( context.getAST(), context.getInvocationOffset() );
+        if ( method == null ) {
+            return null;
+        }
+
+        PropertyNameProposalCollector astVisitor =
+            new PropertyNameProposalCollector(
+                context.getInvocationOffset(),
+                MapStructPlugIn.getDefault().getPropertyIndex(),
+                context.getJavaProject(),
+                context.getMonitor() );
+
+        method.accept( astVisitor );
+
+        return astVisitor.getRootSegment();
+    }
+
+    /**
+     * Returns the segment for the given path from the session, resolving it from the longest path already known.
+     */
+    private PropertySegment findSegment(String path, IProgressMonitor monitor) {
+        PropertySegment segment = sessionSegments.get( path );
+        if ( segment != null ) {
+            return segment;
+        }
+
+        String knownPath = path;
+        PropertySegment knownSegment = null;
+        while ( knownSegment == null && !knownPath.isEmpty() ) {
+            knownPath = getPathWithoutLastElement( knownPath );
+            knownSegment = sessionSegments.get( knownPath );
+        }
+
+        if ( knownSegment == null ) {
+            return null;
+        }
+
+        String relativePath = knownPath.isEmpty() ? path : path.substring( knownPath.length() + 1 );
+        segment = knownSegment.resolve( relativePath, monitor );
+        if ( segment != null ) {
+            sessionSegments.put( path, segment );
+        }
+
+        return segment;
+    }
+
+    private static int countDots(String path) {
+        int count = 0;
+        for ( int i = 0; i < path.length(); i++ ) {
+            if ( path.charAt( i ) == '.' ) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static String getLastPathElement(String path) {
+        int lastDot = path.lastIndexOf( '.' );
+        if ( lastDot >= 0 ) {
+            return path.substring( lastDot + 1, path.length() );
+        }
+        return path;
+    }
+
+    private static String getPathWithoutLastElement(String path) {
+        int lastDot = path.lastIndexOf( '.' );
+        if ( lastDot >= 0 ) {
+            return path.substring( 0, lastDot );
+        }
+        return "";
+    }
+
+    private static MethodDeclaration findEnclosingMethod(CompilationUnit astRoot, int invocationOffset) {
+        ASTNode node = NodeFinder.perform( astRoot, invocationOffset, 0 );
+        while ( node != null && !( node instanceof MethodDeclaration ) ) {
+            node = node.getParent();
+        }
+
+        return (MethodDeclaration) node;
+    }
+}
@@ -0,0 +1,46 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.proposal;
+
+import org.eclipse.swt.graphics.Image;
+import org.mapstruct.eclipse.internal.index.NameMatcher;
+
+/**
+ * Proposal of a name that is not a property path, e.g. a {@code @Named} value, a qualifier annotation or a mapping
+ * method, ranked by how well it matches what has been typed (see {@link NameMatcher}). Replaces everything typed so
+ * far.
+ *
+ * @author agent
+ */
+class NameProposal extends RankedProposal {
+
+    /**
+     * @param replacement the text replacing the token
+     * @param image the image of the proposal
+     * @param displayString the text displayed for the proposal
+     * @param token the part of the name already typed
+     * @param invocationOffset the offset of the end of the token
+     * @param matchRank the rank of the match of the name, one of {@link NameMatcher#PREFIX},
+     *            {@link NameMatcher#CAMEL_CASE} or {@link NameMatcher#SUBSTRING}
+     */
+    NameProposal(String replacement, Image image, String displayString, String token, int invocationOffset,
+                 int matchRank) {
+        super( replacement, token.length(), invocationOffset, image, displayString, toRelevance( matchRank ) );
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.proposal;
+
+import org.eclipse.jdt.ui.ISharedImages;
+import org.eclipse.jdt.ui.JavaUI;
+import org.mapstruct.eclipse.internal.index.NameMatcher;
+
+/**
+ * Proposal of a source or target property path, ranked by how well its name matches what has been typed (see
+ * {@link NameMatcher}) and by the number of its path elements, so that the properties of the current segment are
+ * listed before the nested ones. Replaces the last path element typed so far, which is not necessarily a prefix of the
+ * proposed name.
+ *
+ * @author agent
+ */
+class PropertyPathProposal extends RankedProposal {
+
+    /**
+     * @param path the proposed path, as displayed
+     * @param token the part of the path already typed
+     * @param invocationOffset the offset of the end of the token
+     * @param depth the number of path elements proposed beyond the current segment, {@code 0} for a property of the
+     *            current segment
+     * @param matchRank the rank of the match of the name of the current segment, one of {@link NameMatcher#PREFIX},
+     *            {@link NameMatcher#CAMEL_CASE} or {@link NameMatcher#SUBSTRING}
+     */
+    PropertyPathProposal(String path, String token, int invocationOffset, int depth, int matchRank) {
+        super(
+            path.substring( getSegmentStart( token ) ),
+            token.length() - getSegmentStart( token ),
+            invocationOffset,
+            JavaUI.getSharedImages().getImage( ISharedImages.IMG_OBJS_PUBLIC ),
+            path,
+            toRelevance( matchRank ) - depth );
+    }
+
+    private static int getSegmentStart(String token) {
+        return token.lastIndexOf( '.' ) + 1;
+    }
+}
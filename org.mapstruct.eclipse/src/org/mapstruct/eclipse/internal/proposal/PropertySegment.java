@@ -0,0 +1,327 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.proposal;
+
+import static org.mapstruct.eclipse.internal.MapStructAPIConstants.ANY_REMAINING;
+import static org.mapstruct.eclipse.internal.MapStructAPIConstants.ANY_UNMAPPED;
+import static org.mapstruct.eclipse.internal.MapStructAPIConstants.NULL;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.mapstruct.eclipse.internal.index.NameMatcher;
+import org.mapstruct.eclipse.internal.index.PropertyTable;
+import org.mapstruct.eclipse.internal.index.TypeProperties;
+import org.mapstruct.eclipse.internal.index.TypePropertiesProvider;
+import org.mapstruct.eclipse.internal.model.MethodModel;
+import org.mapstruct.eclipse.internal.model.TypeModel;
+import org.mapstruct.eclipse.internal.model.TypeModels;
+
+/**
+ * One segment of a source/target property path, e.g. {@code customer.address.}, with the names that can be proposed
+ * for the next element of the path. A segment can be resolved further for deeper paths without inspecting the AST
+ * of the mapping method again. Resolved segments are memoized, so a segment and the segments resolved from it form
+ * a graph of the types reachable from the root of the path. The segments work on a {@link TypeModel}, so they can be
+ * resolved on types that are not backed by the JDT as well.
+ *
+ * @author agent
+ */
+public final class PropertySegment {
+
+    private static final String[] NO_SPECIAL_NAMES = new String[0];
+
+    private static final String[] VALUE_MAPPING_SOURCE_NAMES = { ANY_REMAINING, ANY_UNMAPPED, NULL };
+
+    private static final String[] VALUE_MAPPING_TARGET_NAMES = { NULL };
+
+    private final String pathPrefix;
+    private final boolean source;
+    private final TypeModel type;
+    private final Map<String, TypeModel> parameters;
+    private final NameMatcher names;
+    private final String[] specialNames;
+    private final TypePropertiesProvider properties;
+    private final PropertySegment parent;
+
+    /**
+     * The segments resolved from this one by name, {@code null} for names that can't be resolved
+     */
+    private final Map<String, PropertySegment> children = new HashMap<String, PropertySegment>();
+
+    private PropertySegment(PropertySegment parent, String pathPrefix, boolean source, TypeModel type,
+                            Map<String, TypeModel> parameters, NameMatcher names, String[] specialNames,
+                            TypePropertiesProvider properties) {
+        this.parent = parent;
+        this.pathPrefix = pathPrefix;
+        this.source = source;
+        this.type = type;
+        this.parameters = parameters;
+        this.names = names;
+        this.specialNames = specialNames;
+        this.properties = properties;
+    }
+
+    /**
+     * @param parameters the source parameters of a mapping method with multiple source parameters, by name
+     * @param properties the provider of the properties of the parameter types
+     * @return the segment proposing the parameter names
+     */
+    public static PropertySegment forParameters(Map<String, TypeModel> parameters,
+                                                TypePropertiesProvider properties) {
+        String[] names = parameters.keySet().toArray( new String[parameters.size()] );
+        Arrays.sort( names );
+
+        return new PropertySegment(
+            null,
+            "",
+            true,
+            null,
+            parameters,
+            NameMatcher.of( names ),
+            NO_SPECIAL_NAMES,
+            properties );
+    }
+
+    /**
+     * @param pathPrefix the path leading to the type, including the trailing dot
+     * @param type the type of which the properties (or enum constants) are proposed
+     * @param source whether source properties (getters) or target properties (setters) are proposed
+     * @param properties the provider of the properties of the type and the types of its properties
+     * @param monitor the progress monitor to check for cancellation
+     * @return the segment proposing the properties of the given type
+     */
+    public static PropertySegment forType(String pathPrefix, TypeModel type, boolean source,
+                                          TypePropertiesProvider properties, IProgressMonitor monitor) {
+        return forType( null, pathPrefix, type, source, properties, monitor );
+    }
+
+    /**
+     * @param type the enum type of which the constants are proposed, or another type mapped to or from an enum
+     * @param source whether the constants for {@code ValueMapping#source()} or {@code ValueMapping#target()} are
+     *            proposed
+     * @param properties the provider of the constants of the type
+     * @param monitor the progress monitor to check for cancellation
+     * @return the segment proposing the constants of the given type and the special values for the value mapping
+     *         source or target
+     */
+    public static PropertySegment forValueMapping(TypeModel type, boolean source, TypePropertiesProvider properties,
+                                                  IProgressMonitor monitor) {
+        NameMatcher names =
+            type.isEnum() ? properties.getProperties( type, monitor ).getEnumConstants()
+                            : NameMatcher.of( new String[0] );
+
+        return new PropertySegment(
+            null,
+            "",
+            source,
+            type,
+            null,
+            names,
+            source ? VALUE_MAPPING_SOURCE_NAMES : VALUE_MAPPING_TARGET_NAMES,
+            properties );
+    }
+
+    private static PropertySegment forType(PropertySegment parent, String pathPrefix, TypeModel type,
+                                           boolean source, TypePropertiesProvider properties,
+                                           IProgressMonitor monitor) {
+        // shared by all segments of the type
+        TypeProperties typeProperties = properties.getProperties( type, monitor );
+        NameMatcher names =
+            type.isEnum() ? typeProperties.getEnumConstants() : typeProperties.getProperties( source ).getMatcher();
+
+        return new PropertySegment(
+            parent,
+            pathPrefix,
+            source,
+            type,
+            null,
+            names,
+            NO_SPECIAL_NAMES,
+            properties );
+    }
+
+    /**
+     * @param relativePath the dot-separated path relative to this segment, e.g. {@code address.city}
+     * @param monitor the progress monitor to check for cancellation
+     * @return the segment at the end of the given path, or {@code null} if the path can't be resolved
+     */
+    public PropertySegment resolve(String relativePath, IProgressMonitor monitor) {
+        PropertySegment segment = this;
+        for ( String element : relativePath.split( "\\." ) ) {
+            segment = segment.getChild( element, monitor );
+            if ( segment == null ) {
+                return null;
+            }
+        }
+
+        return segment;
+    }
+
+    private PropertySegment getChild(String name, IProgressMonitor monitor) {
+        if ( children.containsKey( name ) ) {
+            return children.get( name );
+        }
+
+        PropertySegment child = resolveElement( name, monitor );
+        children.put( name, child );
+        return child;
+    }
+
+    private PropertySegment resolveElement(String name, IProgressMonitor monitor) {
+        TypeModel elementType;
+        if ( parameters != null ) {
+            elementType = parameters.get( name );
+        }
+        else if ( type.isEnum() ) {
+            return null;
+        }
+        else {
+            elementType = findPropertyType( name, monitor );
+        }
+
+        if ( elementType == null ) {
+            return null;
+        }
+
+        return forType( this, pathPrefix + name + ".", elementType, source, properties, monitor );
+    }
+
+    private TypeModel findPropertyType(String propertyName, IProgressMonitor monitor) {
+        PropertyTable table = properties.getProperties( type, monitor ).getProperties( source );
+
+        int index = table.indexOf( propertyName );
+        if ( index < 0 ) {
+            return null;
+        }
+
+        // the accessor recorded in the index, not just any overload of the same name
+        MethodModel accessor = TypeModels.findAccessor( type, table.getAccessor( index ), table.getTypeKey( index ) );
+        return accessor != null ? TypeModels.getPropertyType( accessor ) : null;
+    }
+
+    /**
+     * Adds the full paths of the names of this segment that match the given pattern (see {@link NameMatcher}) to the
+     * given proposals, along with their rank, and the paths of the nested properties of the matching ones up to the
+     * given depth, ranked like the name they are nested in. The proposals are added level by level in order of
+     * increasing depth, so that the shallow ones are complete when the limit is reached or the given monitor gets
+     * canceled. Types already on the path are not expanded again.
+     *
+     * @param namePattern the pattern typed for the last path element
+     * @param maxDepth the maximum number of path elements to add to the path of this segment, at least {@code 1}
+     * @param limit the maximum number of proposals to add
+     * @param proposals receives the proposed paths and the rank of their match
+     * @param monitor the progress monitor to check for cancellation
+     */
+    public void collectProposals(String namePattern, int maxDepth, int limit, Map<String, Integer> proposals,
+                                 IProgressMonitor monitor) {
+        try {
+            Map<String, Integer> matches = new LinkedHashMap<String, Integer>();
+            for ( String specialName : specialNames ) {
+                if ( specialName.startsWith( namePattern ) ) {
+                    matches.put( specialName, NameMatcher.PREFIX );
+                }
+            }
+            names.match( namePattern, limit, matches );
+
+            List<PropertySegment> level = new ArrayList<PropertySegment>();
+            Map<PropertySegment, Integer> ranks = new HashMap<PropertySegment, Integer>();
+            for ( Map.Entry<String, Integer> match : matches.entrySet() ) {
+                if ( monitor.isCanceled() ) {
+                    return;
+                }
+
+                proposals.put( pathPrefix + match.getKey(), match.getValue() );
+                PropertySegment child = addExpandableChild( match.getKey(), maxDepth > 1, level, monitor );
+                if ( child != null ) {
+                    ranks.put( child, match.getValue() );
+                }
+            }
+
+            for ( int depth = 2; depth <= maxDepth && !level.isEmpty(); depth++ ) {
+                List<PropertySegment> nextLevel = new ArrayList<PropertySegment>();
+
+                for ( PropertySegment segment : level ) {
+                    Integer rank = ranks.get( segment );
+                    for ( int i = 0; i < segment.names.size(); i++ ) {
+                        if ( proposals.size() >= limit || monitor.isCanceled() ) {
+                            return;
+                        }
+
+                        String name = segment.names.getName( i );
+                        proposals.put( segment.pathPrefix + name, rank );
+                        PropertySegment child =
+                            segment.addExpandableChild( name, depth < maxDepth, nextLevel, monitor );
+                        if ( child != null ) {
+                            ranks.put( child, rank );
+                        }
+                    }
+                }
+
+                level = nextLevel;
+            }
+        }
+        catch ( OperationCanceledException e ) {
+            // keep the proposals of the levels completed so far
+        }
+    }
+
+    private PropertySegment addExpandableChild(String name, boolean expand, List<PropertySegment> level,
+                                               IProgressMonitor monitor) {
+        if ( !expand ) {
+            return null;
+        }
+
+        PropertySegment child = getChild( name, monitor );
+        if ( child != null && child.isExpandable() ) {
+            level.add( child );
+            return child;
+        }
+        return null;
+    }
+
+    /**
+     * @return {@code true}, iff the nested properties of this segment are worth proposing, i.e. it is not a value like
+     *         an enum, a primitive or a JDK type, and its type does not occur on the path leading to it already
+     */
+    private boolean isExpandable() {
+        if ( type == null || type.isEnum() || type.isPrimitive() || type.isArray() || names.size() == 0 ) {
+            return false;
+        }
+
+        String packageName = type.getPackageName();
+        if ( packageName.startsWith( "java." ) || packageName.startsWith( "javax." ) ) {
+            return false;
+        }
+
+        String typeKey = type.getErasure().getKey();
+        for ( PropertySegment ancestor = parent; ancestor != null; ancestor = ancestor.parent ) {
+            if ( ancestor.type != null && ancestor.type.getErasure().getKey().equals( typeKey ) ) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,148 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.proposal;
+
+import static org.mapstruct.eclipse.internal.preferences.MapStructPreferences.SHARED_AST_NEVER;
+import static org.mapstruct.eclipse.internal.preferences.MapStructPreferences.SHARED_AST_WAIT_ACTIVE;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.IAnnotation;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.ui.SharedASTProvider;
+import org.mapstruct.eclipse.internal.MapStructPlugIn;
+import org.mapstruct.eclipse.internal.preferences.MapStructPreferences;
+import org.mapstruct.eclipse.internal.util.CacheStatistics;
+import org.mapstruct.eclipse.internal.util.OperationTimer;
+
+/**
+ * The state of one content assist invocation that is shared by all {@link ProposalGenerator}s: the element and the
+ * annotation at the invocation offset, resolved once by the {@link MapStructCompletionProposalComputer}, and the AST
+ * of the compilation unit, obtained on first request.
+ *
+ * @author agent
+ */
+final class ProposalContext {
+    private final ICompilationUnit compilationUnit;
+    private final int invocationOffset;
+    private final String token;
+    private final IJavaElement element;
+    private final IAnnotation annotation;
+    private final IProgressMonitor monitor;
+    private final OperationTimer timer;
+
+    private CompilationUnit astRoot;
+
+    ProposalContext(ICompilationUnit compilationUnit, int invocationOffset, String token, IJavaElement element,
+                    IAnnotation annotation, IProgressMonitor monitor, OperationTimer timer) {
+        this.compilationUnit = compilationUnit;
+        this.invocationOffset = invocationOffset;
+        this.token = token;
+        this.element = element;
+        this.annotation = annotation;
+        this.monitor = monitor;
+        this.timer = timer;
+    }
+
+    ICompilationUnit getCompilationUnit() {
+        return compilationUnit;
+    }
+
+    IJavaProject getJavaProject() {
+        return compilationUnit.getJavaProject();
+    }
+
+    int getInvocationOffset() {
+        return invocationOffset;
+    }
+
+    /**
+     * @return the part of the identifier or string literal in front of the invocation offset
+     */
+    String getToken() {
+        return token;
+    }
+
+    /**
+     * @return the annotated element at the invocation offset
+     */
+    IJavaElement getElement() {
+        return element;
+    }
+
+    /**
+     * @return the annotation enclosing the invocation offset
+     */
+    IAnnotation getAnnotation() {
+        return annotation;
+    }
+
+    IProgressMonitor getMonitor() {
+        return monitor;
+    }
+
+    /**
+     * Returns the AST of the editor if it is available with resolved bindings, depending on the
+     * {@link MapStructPreferences#SHARED_AST_MODE}. Falls back to parsing the compilation unit otherwise, in which
+     * case only the method at the invocation offset is fully parsed and resolved. The AST is obtained only once per
+     * invocation. The time taken for that is recorded as phase of the completion.
+     *
+     * @return the AST of the compilation unit
+     */
+    CompilationUnit getAST() {
+        if ( astRoot == null ) {
+            long start = System.nanoTime();
+            astRoot = createAST();
+            timer.phase( "ast", start ); //$NON-NLS-1$
+        }
+        return astRoot;
+    }
+
+    private CompilationUnit createAST() {
+        String sharedASTMode = MapStructPreferences.getSharedASTMode();
+
+        if ( !SHARED_AST_NEVER.equals( sharedASTMode ) ) {
+            CacheStatistics statistics = MapStructPlugIn.getDefault().getSharedASTStatistics();
+            SharedASTProvider.WAIT_FLAG waitFlag =
+                SHARED_AST_WAIT_ACTIVE.equals( sharedASTMode ) ? SharedASTProvider.WAIT_ACTIVE_ONLY
+                                : SharedASTProvider.WAIT_NO;
+
+            CompilationUnit sharedAST = SharedASTProvider.getAST( compilationUnit, waitFlag, monitor );
+            if ( sharedAST != null && sharedAST.getAST().hasResolvedBindings() ) {
+                statistics.hit();
+                return sharedAST;
+            }
+
+            statistics.miss();
+        }
+
+        ASTParser parser = ASTParser.newParser( AST.JLS8 );
+        parser.setKind( ASTParser.K_COMPILATION_UNIT );
+        parser.setSource( compilationUnit );
+        parser.setResolveBindings( true );
+        parser.setStatementsRecovery( false );
+        parser.setFocalPosition( invocationOffset );
+
+        return (CompilationUnit) parser.createAST( monitor );
+    }
+}
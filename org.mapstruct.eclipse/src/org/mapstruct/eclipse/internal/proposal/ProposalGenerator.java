@@ -0,0 +1,55 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.proposal;
+
+import java.util.List;
+
+import org.eclipse.jface.text.contentassist.ICompletionProposal;
+
+/**
+ * Computes the proposals within the annotations of a MapStruct annotation type. Called by the
+ * {@link MapStructCompletionProposalComputer} when the invocation offset is within one of the annotations returned by
+ * {@link #getAnnotationNames()}.
+ *
+ * @author agent
+ */
+interface ProposalGenerator {
+
+    /**
+     * @return the simple and fully qualified names of the annotations this generator computes proposals for
+     */
+    List<String> getAnnotationNames();
+
+    /**
+     * Called when a content assist session starts.
+     */
+    void sessionStarted();
+
+    /**
+     * Called when a content assist session ends.
+     */
+    void sessionEnded();
+
+    /**
+     * @param context the context of the invocation, the monitor of which reports cancellation also if the time budget
+     *            is used up. Implementations may return the proposals found until then.
+     * @return the proposals
+     */
+    List<ICompletionProposal> getProposals(ProposalContext context);
+}
@@ -0,0 +1,277 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.proposal;
+
+import static org.mapstruct.eclipse.internal.MapStructAPIConstants.BEAN_MAPPING_FQ_NAME;
+import static org.mapstruct.eclipse.internal.MapStructAPIConstants.BEAN_MAPPING_SIMPLE_NAME;
+import static org.mapstruct.eclipse.internal.MapStructAPIConstants.ITERABLE_MAPPING_FQ_NAME;
+import static org.mapstruct.eclipse.internal.MapStructAPIConstants.ITERABLE_MAPPING_SIMPLE_NAME;
+import static org.mapstruct.eclipse.internal.MapStructAPIConstants.MAPPINGS_FQ_NAME;
+import static org.mapstruct.eclipse.internal.MapStructAPIConstants.MAPPINGS_SIMPLE_NAME;
+import static org.mapstruct.eclipse.internal.MapStructAPIConstants.MAPPING_FQ_NAME;
+import static org.mapstruct.eclipse.internal.MapStructAPIConstants.MAPPING_MEMBER_QUALIFIED_BY;
+import static org.mapstruct.eclipse.internal.MapStructAPIConstants.MAPPING_MEMBER_QUALIFIED_BY_NAME;
+import static org.mapstruct.eclipse.internal.MapStructAPIConstants.MAPPING_SIMPLE_NAME;
+import static org.mapstruct.eclipse.internal.MapStructAPIConstants.MAP_MAPPING_FQ_NAME;
+import static org.mapstruct.eclipse.internal.MapStructAPIConstants.MAP_MAPPING_SIMPLE_NAME;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.core.ISourceRange;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
+import org.eclipse.jdt.core.dom.Annotation;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.eclipse.jdt.core.dom.ImportDeclaration;
+import org.eclipse.jdt.core.dom.MemberValuePair;
+import org.eclipse.jdt.core.dom.NodeFinder;
+import org.eclipse.jdt.core.dom.StringLiteral;
+import org.eclipse.jdt.core.dom.TypeLiteral;
+import org.eclipse.jdt.ui.ISharedImages;
+import org.eclipse.jdt.ui.JavaUI;
+import org.eclipse.jface.text.contentassist.ICompletionProposal;
+import org.eclipse.swt.graphics.Image;
+import org.mapstruct.eclipse.internal.MapStructPlugIn;
+import org.mapstruct.eclipse.internal.index.MapperQualifiers;
+import org.mapstruct.eclipse.internal.index.QualifierIndex;
+
+/**
+ * Computes the proposals for {@code qualifiedByName} and {@code qualifiedBy} within the mapping annotations, i.e. the
+ * values of {@code @Named} resp. the qualifier annotations available in the mapper, taken from the
+ * {@link QualifierIndex}.
+ *
+ * @author agent
+ */
+class QualifierProposalGenerator implements ProposalGenerator {
+    private static final List<String> QUALIFIED_ANNOTATION_NAMES = Arrays.asList(
+        MAPPING_FQ_NAME,
+        MAPPING_SIMPLE_NAME,
+        MAPPINGS_SIMPLE_NAME,
+        MAPPINGS_FQ_NAME,
+        ITERABLE_MAPPING_FQ_NAME,
+        ITERABLE_MAPPING_SIMPLE_NAME,
+        MAP_MAPPING_FQ_NAME,
+        MAP_MAPPING_SIMPLE_NAME,
+        BEAN_MAPPING_FQ_NAME,
+        BEAN_MAPPING_SIMPLE_NAME );
+
+    private static final String CLASS_LITERAL_SUFFIX = ".class"; //$NON-NLS-1$
+
+    @Override
+    public List<String> getAnnotationNames() {
+        return QUALIFIED_ANNOTATION_NAMES;
+    }
+
+    @Override
+    public void sessionStarted() {
+    }
+
+    @Override
+    public void sessionEnded() {
+    }
+
+    @Override
+    public List<ICompletionProposal> getProposals(ProposalContext context) {
+        List<ICompletionProposal> proposals = new ArrayList<ICompletionProposal>();
+
+        // most invocations are in target or source, which must not pay for the AST
+        String lastMember = findLastMemberName( context );
+        if ( !MAPPING_MEMBER_QUALIFIED_BY_NAME.equals( lastMember )
+            && !MAPPING_MEMBER_QUALIFIED_BY.equals( lastMember ) ) {
+            return proposals;
+        }
+
+        CompilationUnit astRoot = context.getAST();
+        ASTNode node = NodeFinder.perform( astRoot, context.getInvocationOffset(), 0 );
+
+        boolean inTypeLiteral = false;
+        boolean inStringLiteral = false;
+        while ( node != null && !( node instanceof MemberValuePair ) && !( node instanceof Annotation ) ) {
+            inTypeLiteral |= node instanceof TypeLiteral;
+            inStringLiteral |= node instanceof StringLiteral;
+            node = node.getParent();
+        }
+
+        if ( !( node instanceof MemberValuePair ) ) {
+            return proposals;
+        }
+
+        String memberName = ( (MemberValuePair) node ).getName().getIdentifier();
+        boolean byName = MAPPING_MEMBER_QUALIFIED_BY_NAME.equals( memberName ) && inStringLiteral;
+        boolean byType = MAPPING_MEMBER_QUALIFIED_BY.equals( memberName ) && !inStringLiteral;
+        if ( !byName && !byType ) {
+            return proposals;
+        }
+
+        ITypeBinding mapper = findEnclosingType( node );
+        if ( mapper == null ) {
+            return proposals;
+        }
+
+        MapperQualifiers qualifiers = MapStructPlugIn.getDefault().getQualifierIndex().getQualifiers(
+            context.getJavaProject(),
+            mapper,
+            context.getMonitor() );
+
+        String token = context.getToken();
+        Map<String, Integer> matches = new LinkedHashMap<String, Integer>();
+        ( byName ? qualifiers.getNames() : qualifiers.getQualifiers() ).match( token, Integer.MAX_VALUE, matches );
+
+        int invocationOffset = context.getInvocationOffset();
+        for ( Map.Entry<String, Integer> match : matches.entrySet() ) {
+            String name = match.getKey();
+            if ( byName ) {
+                proposals.add( new NameProposal( name, getImage(), name, token, invocationOffset, match.getValue() ) );
+            }
+            else {
+                // annotations sharing a simple name are proposed separately, by the name they can be referenced with
+                for ( String qualifiedName : qualifiers.getQualifiedNames( name ) ) {
+                    String replacement = isVisible( astRoot, qualifiedName ) ? name : qualifiedName;
+                    if ( !inTypeLiteral ) {
+                        replacement += CLASS_LITERAL_SUFFIX;
+                    }
+
+                    proposals.add(
+                        new NameProposal(
+                            replacement,
+                            getImage(),
+                            name + " - " + qualifiedName, //$NON-NLS-1$
+                            token,
+                            invocationOffset,
+                            match.getValue() ) );
+                }
+            }
+        }
+
+        return proposals;
+    }
+
+    /**
+     * Scans the source of the annotation up to the invocation offset, without parsing it.
+     *
+     * @return the name of the last member assigned in front of the invocation offset, i.e. the member whose value is
+     *         being completed unless another member is being typed after it, or {@code null}
+     */
+    private static String findLastMemberName(ProposalContext context) {
+        String source;
+        ISourceRange range;
+        try {
+            source = context.getAnnotation().getSource();
+            range = context.getAnnotation().getSourceRange();
+        }
+        catch ( JavaModelException e ) {
+            return null;
+        }
+
+        if ( source == null || range == null ) {
+            return null;
+        }
+
+        int end = Math.min( source.length(), context.getInvocationOffset() - range.getOffset() );
+        String lastMember = null;
+        boolean inString = false;
+        for ( int i = 0; i < end; i++ ) {
+            char c = source.charAt( i );
+            if ( inString ) {
+                if ( c == '\\' ) {
+                    i++;
+                }
+                else if ( c == '"' ) {
+                    inString = false;
+                }
+            }
+            else if ( c == '"' ) {
+                inString = true;
+            }
+            else if ( c == '=' ) {
+                lastMember = findIdentifierBefore( source, i );
+            }
+        }
+
+        return lastMember;
+    }
+
+    private static String findIdentifierBefore(String source, int offset) {
+        int end = offset;
+        while ( end > 0 && Character.isWhitespace( source.charAt( end - 1 ) ) ) {
+            end--;
+        }
+
+        int start = end;
+        while ( start > 0 && Character.isJavaIdentifierPart( source.charAt( start - 1 ) ) ) {
+            start--;
+        }
+
+        return source.substring( start, end );
+    }
+
+    private static Image getImage() {
+        return JavaUI.getSharedImages().getImage( ISharedImages.IMG_OBJS_ANNOTATION );
+    }
+
+    private static ITypeBinding findEnclosingType(ASTNode node) {
+        ASTNode current = node;
+        while ( current != null && !( current instanceof AbstractTypeDeclaration ) ) {
+            current = current.getParent();
+        }
+
+        return current != null ? ( (AbstractTypeDeclaration) current ).resolveBinding() : null;
+    }
+
+    /**
+     * @return {@code true}, iff the type can be referenced by its simple name in the compilation unit, i.e. it is
+     *         imported or declared in the same package and not shadowed by another type with the same simple name
+     */
+    private static boolean isVisible(CompilationUnit astRoot, String qualifiedName) {
+        String packageName = qualifiedName.substring( 0, Math.max( 0, qualifiedName.lastIndexOf( '.' ) ) );
+        String simpleName = qualifiedName.substring( qualifiedName.lastIndexOf( '.' ) + 1 );
+
+        // single type imports shadow the types of the own package, which shadow on-demand imports
+        for ( Object obj : astRoot.imports() ) {
+            ImportDeclaration importDeclaration = (ImportDeclaration) obj;
+            String importName = importDeclaration.getName().getFullyQualifiedName();
+            if ( !importDeclaration.isStatic() && !importDeclaration.isOnDemand()
+                && importName.substring( importName.lastIndexOf( '.' ) + 1 ).equals( simpleName ) ) {
+                return importName.equals( qualifiedName );
+            }
+        }
+
+        String ownPackage =
+            astRoot.getPackage() != null ? astRoot.getPackage().getName().getFullyQualifiedName() : ""; //$NON-NLS-1$
+        if ( packageName.equals( ownPackage ) ) {
+            return true;
+        }
+
+        for ( Object obj : astRoot.imports() ) {
+            ImportDeclaration importDeclaration = (ImportDeclaration) obj;
+            if ( !importDeclaration.isStatic() && importDeclaration.isOnDemand()
+                && importDeclaration.getName().getFullyQualifiedName().equals( packageName ) ) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
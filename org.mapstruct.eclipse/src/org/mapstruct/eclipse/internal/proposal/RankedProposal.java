@@ -0,0 +1,109 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.proposal;
+
+import org.eclipse.jdt.ui.text.java.IJavaCompletionProposal;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.contentassist.CompletionProposal;
+import org.eclipse.jface.text.contentassist.IContextInformation;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.Point;
+import org.mapstruct.eclipse.internal.index.NameMatcher;
+
+/**
+ * Proposal replacing what has been typed so far, ranked by how well the proposed name matches it (see
+ * {@link NameMatcher}).
+ *
+ * @author agent
+ */
+abstract class RankedProposal implements IJavaCompletionProposal {
+
+    private static final int BASE_RELEVANCE = 100;
+    private static final int MATCH_RANK_WEIGHT = 20;
+
+    private final CompletionProposal delegate;
+    private final int relevance;
+
+    /**
+     * @param replacement the text replacing the typed text
+     * @param typedLength the length of the typed text to replace
+     * @param invocationOffset the offset of the end of the typed text
+     * @param image the image of the proposal
+     * @param displayString the text displayed for the proposal
+     * @param relevance the relevance of the proposal, see {@link #toRelevance(int)}
+     */
+    RankedProposal(String replacement, int typedLength, int invocationOffset, Image image, String displayString,
+                   int relevance) {
+        this.delegate =
+            new CompletionProposal(
+                replacement,
+                invocationOffset - typedLength,
+                typedLength,
+                replacement.length(),
+                image,
+                displayString,
+                null,
+                null );
+        this.relevance = relevance;
+    }
+
+    /**
+     * @param matchRank the rank of the match of the proposed name, one of {@link NameMatcher#PREFIX},
+     *            {@link NameMatcher#CAMEL_CASE} or {@link NameMatcher#SUBSTRING}
+     * @return the relevance of a proposal with the given match rank
+     */
+    static int toRelevance(int matchRank) {
+        return BASE_RELEVANCE + matchRank * MATCH_RANK_WEIGHT;
+    }
+
+    @Override
+    public int getRelevance() {
+        return relevance;
+    }
+
+    @Override
+    public void apply(IDocument document) {
+        delegate.apply( document );
+    }
+
+    @Override
+    public Point getSelection(IDocument document) {
+        return delegate.getSelection( document );
+    }
+
+    @Override
+    public String getAdditionalProposalInfo() {
+        return delegate.getAdditionalProposalInfo();
+    }
+
+    @Override
+    public String getDisplayString() {
+        return delegate.getDisplayString();
+    }
+
+    @Override
+    public Image getImage() {
+        return delegate.getImage();
+    }
+
+    @Override
+    public IContextInformation getContextInformation() {
+        return delegate.getContextInformation();
+    }
+}
@@ -28,71 +28,87 @@
 import static org.mapstruct.eclipse.internal.util.Bindings.containsAnnotation;
 import static org.mapstruct.eclipse.internal.util.Bindings.getAnnotationQualifiedName;
 
-import java.beans.Introspector;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.Deque;
-import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.TreeSet;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.Block;
 import org.eclipse.jdt.core.dom.IAnnotationBinding;
-import org.eclipse.jdt.core.dom.IMethodBinding;
 import org.eclipse.jdt.core.dom.ITypeBinding;
 import org.eclipse.jdt.core.dom.IVariableBinding;
 import org.eclipse.jdt.core.dom.MemberValuePair;
 import org.eclipse.jdt.core.dom.MethodDeclaration;
 import org.eclipse.jdt.core.dom.SingleVariableDeclaration;
-import org.mapstruct.eclipse.internal.util.Bindings;
+import org.mapstruct.eclipse.internal.index.PropertyIndex;
+import org.mapstruct.eclipse.internal.model.JdtTypeModel;
+import org.mapstruct.eclipse.internal.model.TypeModel;
+import org.mapstruct.eclipse.internal.proposal.PropertySegment;
 import org.mapstruct.eclipse.internal.util.Ranges;
 
 /**
- * AST Visitor that collects proposals for source/target property paths
+ * AST Visitor that determines the root {@link PropertySegment} of the source/target property path at the invocation
+ * offset, i.e. the source parameters, the source parameter type or the target type of the mapping method.
  *
  * @author Andreas Gudian
  */
 public class PropertyNameProposalCollector extends ASTVisitor {
-    private static final String[] READ_ACCESSOR_PREFIXES = { "get", "is" }; //$NON-NLS-1$
-    private static final String[] WRITE_ACCESSOR_PREFIXES = { "set" }; //$NON-NLS-1$
-
     private final int invocationOffset;
-    private final String givenPrefix;
+    private final PropertyIndex propertyIndex;
+    private final IJavaProject project;
+    private final IProgressMonitor monitor;
 
-    private final Collection<String> proposedProperties = new TreeSet<String>();
-    private final Map<String, ITypeBinding> sourceNameToType = new HashMap<String, ITypeBinding>();
+    private final Map<String, TypeModel> sourceNameToType = new LinkedHashMap<String, TypeModel>();
 
     private boolean source = false;
+    private boolean valueMapping = false;
     private boolean valid = false;
     private boolean inMethod = false;
 
     private ITypeBinding resultType;
-    private String proposalPrefix;
+    private PropertySegment rootSegment;
 
     /**
      * @param invocationOffset cursor position
-     * @param givenPrefix value that is already present (before the cursor)
+     * @param propertyIndex the index to obtain the properties of types from
+     * @param project the project of the compilation unit
+     * @param monitor the progress monitor to check for cancellation
      */
-    public PropertyNameProposalCollector(int invocationOffset, String givenPrefix) {
+    public PropertyNameProposalCollector(int invocationOffset, PropertyIndex propertyIndex, IJavaProject project,
+                                         IProgressMonitor monitor) {
         super( false );
         this.invocationOffset = invocationOffset;
-        this.givenPrefix = givenPrefix;
+        this.propertyIndex = propertyIndex;
+        this.project = project;
+        this.monitor = monitor;
+    }
+
+    @Override
+    public boolean preVisit2(ASTNode node) {
+        if ( monitor.isCanceled() ) {
+            throw new OperationCanceledException();
+        }
+        return true;
     }
 
     @Override
     public boolean visit(MemberValuePair node) {
+        if ( !Ranges.isInRange( invocationOffset, node.getValue().getStartPosition(), node.getValue().getLength() )
+            || !( isSourceNode( node ) || isTargetNode( node ) ) ) {
+            return false;
+        }
+
         String annotationQualifiedName = getAnnotationQualifiedName( node.resolveMemberValuePairBinding() );
 
-        if ( isSupportedAnnotation( annotationQualifiedName )
-            && Ranges.isInRange( invocationOffset, node.getValue().getStartPosition(), node.getValue().getLength() )
-            && ( isSourceNode( node ) || isTargetNode( node ) ) ) {
+        if ( isSupportedAnnotation( annotationQualifiedName ) ) {
 
             valid = true;
 
             source = isSourceNode( node );
+            valueMapping = VALUE_MAPPING_FQ_NAME.equals( annotationQualifiedName );
         }
 
         return false;
@@ -114,6 +130,12 @@ public boolean visit(MethodDeclaration node) {
         return false;
     }
 
+    @Override
+    public boolean visit(Block node) {
+        // the parameters and annotations of the method are all we need, no matter how large its body is
+        return false;
+    }
+
     @Override
     public boolean visit(SingleVariableDeclaration node) {
         IVariableBinding binding = node.resolveBinding();
@@ -124,7 +146,7 @@ public boolean visit(SingleVariableDeclaration node) {
         }
         else if ( !containsAnnotation( annotations, TARGET_TYPE_FQ_NAME )
             && !containsAnnotation( annotations, CONTEXT_FQ_NAME ) ) {
-            sourceNameToType.put( node.getName().toString(), binding.getType() );
+            sourceNameToType.put( node.getName().toString(), JdtTypeModel.of( binding.getType() ) );
         }
 
         return false;
@@ -132,127 +154,37 @@ else if ( !containsAnnotation( annotations, TARGET_TYPE_FQ_NAME )
 
     @Override
     public void endVisit(MethodDeclaration node) {
-        if ( !inMethod ) {
+        if ( !inMethod || !valid ) {
             return;
         }
 
-        String pathWithoutLastElement = getPathWithoutLastElement( givenPrefix );
-        Deque<String> pathToProposedType;
-        if ( pathWithoutLastElement.isEmpty() ) {
-            pathToProposedType = new LinkedList<String>();
-            proposalPrefix = "";
-        }
-        else {
-            pathToProposedType = new LinkedList<String>( Arrays.asList( pathWithoutLastElement.split( "\\." ) ) );
-            proposalPrefix = pathWithoutLastElement + ".";
-        }
-
-        String propertyPrefix = getLastPathElement( givenPrefix );
-
-        ITypeBinding proposalType = getTypeForPropertyProposals( node, pathToProposedType, propertyPrefix );
-
-        if ( proposalType != null ) {
-            proposePropertiesIfPrefixMatches(
-                propertyPrefix,
-                proposalType );
-        }
-    }
-
-    private ITypeBinding getTypeForPropertyProposals(MethodDeclaration node, Deque<String> pathToProposedType,
-                                                     String propertyPrefix) {
-        ITypeBinding proposalType;
+        TypeModel rootType;
         if ( source ) {
-            if ( sourceNameToType.size() > 1 ) {
-                if ( pathToProposedType.isEmpty() ) {
-                    proposeIfPrefixMatches( propertyPrefix, sourceNameToType.keySet() );
-
-                    return null;
-                }
-                else {
-                    // for multiple source params, the first element would be expected to be the parameter name
-                    String first = pathToProposedType.removeFirst();
-
-                    proposalType = sourceNameToType.get( first );
-                }
-            }
-            else {
-                proposalType = sourceNameToType.values().iterator().next();
-            }
-        }
-        else {
-            if ( resultType == null ) {
-                proposalType = node.resolveBinding().getReturnType();
-            }
-            else {
-                proposalType = resultType;
+            if ( sourceNameToType.size() > 1 && !valueMapping ) {
+                // for multiple source params, the first element would be expected to be the parameter name
+                rootSegment = PropertySegment.forParameters( sourceNameToType, propertyIndex.forProject( project ) );
+                return;
             }
-        }
-
-        return retrieveProposalTypeFromPath( proposalType, pathToProposedType );
-    }
-
-    private ITypeBinding retrieveProposalTypeFromPath(ITypeBinding proposalType, Deque<String> pathToProposedType) {
-        if ( proposalType != null && !pathToProposedType.isEmpty() ) {
-            if ( proposalType.isEnum() ) {
-                return null;
-            }
-
-            String propertyName = pathToProposedType.removeFirst();
-            Collection<IMethodBinding> methodNames = Bindings.findAllMethods( proposalType );
-
-            String[] prefixes = source ? READ_ACCESSOR_PREFIXES : WRITE_ACCESSOR_PREFIXES;
-            Map<String, List<IMethodBinding>> propertyMethods =
-                findPropertyMethods( propertyName, methodNames, prefixes );
-
-            if ( !propertyMethods.isEmpty() ) {
-                IMethodBinding firstMethod = propertyMethods.values().iterator().next().iterator().next();
-                ITypeBinding nextType;
-                if ( source ) {
-                    nextType = firstMethod.getReturnType();
-                }
-                else {
-                    nextType = ( firstMethod.getParameterTypes().length > 0 ? firstMethod.getParameterTypes()[0]
-                                    : firstMethod.getReturnType() );
-                }
 
-                proposalType = retrieveProposalTypeFromPath( nextType, pathToProposedType );
-            }
-            else {
-                return null;
-            }
+            rootType = sourceNameToType.isEmpty() ? null : sourceNameToType.values().iterator().next();
         }
-
-        return proposalType;
-    }
-
-    private void proposePropertiesIfPrefixMatches(String propertyPrefix, ITypeBinding type) {
-        if ( type.isEnum() ) {
-            proposeIfPrefixMatches( propertyPrefix, Bindings.findAllEnumConstants( type ) );
+        else if ( resultType == null ) {
+            rootType = JdtTypeModel.of( node.resolveBinding().getReturnType() );
         }
         else {
-            Collection<IMethodBinding> methodNames = Bindings.findAllMethods( type );
-            if ( source ) {
-                proposeIfPrefixMatches(
-                    propertyPrefix,
-                    findPropertyMethods( methodNames, READ_ACCESSOR_PREFIXES ).keySet() );
-            }
-            else {
-                proposeIfPrefixMatches(
-                    propertyPrefix,
-                    findPropertyMethods( methodNames, WRITE_ACCESSOR_PREFIXES ).keySet() );
-            }
+            rootType = JdtTypeModel.of( resultType );
         }
-    }
 
-    private void proposeIfPrefixMatches(String propertyPrefix, Collection<String> keySet) {
-        for ( String value : keySet ) {
-            proposeIfPrefixMatches( propertyPrefix, value );
+        if ( rootType == null ) {
+            return;
         }
-    }
 
-    private void proposeIfPrefixMatches(String prefix, String value) {
-        if ( prefix.isEmpty() || value.startsWith( prefix ) ) {
-            proposedProperties.add( proposalPrefix + value );
+        if ( valueMapping ) {
+            rootSegment =
+                PropertySegment.forValueMapping( rootType, source, propertyIndex.forProject( project ), monitor );
+        }
+        else {
+            rootSegment = PropertySegment.forType( "", rootType, source, propertyIndex.forProject( project ), monitor );
         }
     }
 
@@ -265,73 +197,10 @@ private static boolean isSourceNode(MemberValuePair node) {
     }
 
     /**
-     * Finds {@link IMethodBinding}s starting with any of the given prefixes for the given property.
+     * @return the segment at the root of the property path at the invocation offset, or {@code null} if the
+     *         invocation offset is not within the value of a supported annotation member
      */
-    private static Map<String, List<IMethodBinding>> findPropertyMethods(String propertyName,
-                                                                  Collection<IMethodBinding> methods,
-                                                                  String... candidatePrefixes) {
-        Map<String, List<IMethodBinding>> returnValue = new HashMap<String, List<IMethodBinding>>();
-        for ( IMethodBinding method : methods ) {
-            String methodName = method.getName();
-            String matchingPrefix = getMatchingPrefix( methodName, candidatePrefixes );
-            if ( matchingPrefix != null ) {
-                String methodPropertyName =
-                    Introspector.decapitalize( methodName.substring( matchingPrefix.length() ) );
-
-                if ( propertyName == null || methodPropertyName.equals( propertyName ) ) {
-                    List<IMethodBinding> accessorMethods = returnValue.get( methodPropertyName );
-                    if ( accessorMethods == null ) {
-                        accessorMethods = new ArrayList<IMethodBinding>( 2 );
-                        returnValue.put( methodPropertyName, accessorMethods );
-                    }
-
-                    accessorMethods.add( method );
-                }
-            }
-        }
-
-        return returnValue;
-    }
-
-    /**
-     * Finds {@link IMethodBinding}s starting with any of the given prefix and extracts the associated property name
-     * from it.
-     */
-    private static Map<String, List<IMethodBinding>> findPropertyMethods(Collection<IMethodBinding> methods,
-                                                                  String[] candidatePrefixes) {
-        return findPropertyMethods( null, methods, candidatePrefixes );
-    }
-
-    private static String getMatchingPrefix(String methodName, String[] candidatePrefixes) {
-        for ( String prefix : candidatePrefixes ) {
-            if ( methodName.startsWith( prefix ) ) {
-                return prefix;
-            }
-        }
-        return null;
-    }
-
-    private static String getLastPathElement(String path) {
-        int lastDot = path.lastIndexOf( '.' );
-        if ( lastDot >= 0 ) {
-            return path.substring( lastDot + 1, path.length() );
-        }
-        return path;
-    }
-
-    private static String getPathWithoutLastElement(String path) {
-        int lastDot = path.lastIndexOf( '.' );
-        if ( lastDot >= 0 ) {
-            return path.substring( 0, lastDot );
-        }
-        return "";
-    }
-
-    public Collection<String> getProperties() {
-        return proposedProperties;
-    }
-
-    public boolean isValidValue() {
-        return valid;
+    public PropertySegment getRootSegment() {
+        return rootSegment;
     }
 }
@@ -0,0 +1,214 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.quickfix;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
+import org.eclipse.jdt.core.dom.rewrite.ASTRewrite;
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.source.Annotation;
+import org.eclipse.jface.text.source.IAnnotationModel;
+import org.eclipse.text.edits.TextEdit;
+import org.eclipse.ui.IEditorInput;
+import org.eclipse.ui.texteditor.MarkerAnnotation;
+import org.mapstruct.eclipse.internal.quickfix.visitors.FindMethodByPositionVisitor;
+
+/**
+ * Collects the {@link MapStructQuickFix}es for the markers of one compilation unit and turns them into a single
+ * {@link TextEdit}. Fixes of the same kind for the same {@link MapStructQuickFix#getCombinationKey(ASTNode) key} are
+ * {@link MapStructQuickFix#combine(MapStructQuickFix) combined}.
+ *
+ * @author agent
+ */
+@SuppressWarnings("restriction")
+final class CompilationUnitRewrite {
+
+    private final CompilationUnit astCompilationUnit;
+    private final IEditorInput input;
+
+    private final Map<Object, PendingFix> fixes = new LinkedHashMap<Object, PendingFix>();
+    private final List<IMarker> fixedMarkers = new ArrayList<IMarker>();
+
+    private String methodName;
+    private int problemStart = -1;
+
+    /**
+     * @param astCompilationUnit the AST of the compilation unit
+     * @param input the editor input of the compilation unit, to find the current position of markers in a (dirty)
+     *            editor, or {@code null}
+     */
+    CompilationUnitRewrite(CompilationUnit astCompilationUnit, IEditorInput input) {
+        this.astCompilationUnit = astCompilationUnit;
+        this.input = input;
+    }
+
+    /**
+     * @param marker the marker
+     * @param fix the fix for the marker
+     * @return {@code true} if the method the marker belongs to has been found and the fix will be applied to it
+     * @throws CoreException
+     */
+    boolean add(IMarker marker, MapStructQuickFix fix) throws CoreException {
+        problemStart = findProblemStart( marker );
+        ASTNode locatedNode = locateASTNodeForSartingOffset( problemStart );
+        if ( locatedNode == null ) {
+            // the marker is out of date, but the tagger may have recorded the method it belongs to
+            problemStart = findMethodNameOffset( marker );
+            locatedNode = locateASTNodeForSartingOffset( problemStart );
+        }
+
+        if ( locatedNode == null ) {
+            return false;
+        }
+
+        if ( locatedNode instanceof MethodDeclaration ) {
+            methodName = ( (MethodDeclaration) locatedNode ).getName().getIdentifier();
+        }
+
+        Object key = Arrays.asList( fix.getClass(), fix.getCombinationKey( locatedNode ) );
+        PendingFix pending = fixes.get( key );
+        if ( pending == null ) {
+            fixes.put( key, new PendingFix( fix, locatedNode ) );
+        }
+        else {
+            MapStructQuickFix combined = pending.fix.combine( fix );
+            if ( combined != null ) {
+                pending.fix = combined;
+            }
+            else {
+                fixes.put( marker, new PendingFix( fix, locatedNode ) );
+            }
+        }
+
+        fixedMarkers.add( marker );
+        return true;
+    }
+
+    /**
+     * @return the edit applying all added fixes
+     * @throws JavaModelException
+     */
+    TextEdit createEdit() throws JavaModelException {
+        ASTRewrite rewrite = ASTRewrite.create( astCompilationUnit.getAST() );
+        for ( PendingFix pending : fixes.values() ) {
+            pending.fix.addChanges( rewrite, astCompilationUnit, pending.node );
+        }
+        return rewrite.rewriteAST();
+    }
+
+    /**
+     * @return the markers whose fixes have been added
+     */
+    List<IMarker> getFixedMarkers() {
+        return fixedMarkers;
+    }
+
+    /**
+     * @return the name of the method of the last added marker, for tracing
+     */
+    String getMethodName() {
+        return methodName;
+    }
+
+    /**
+     * @return the offset of the last added marker, for tracing
+     */
+    int getProblemStart() {
+        return problemStart;
+    }
+
+    /**
+     * @param marker the marker
+     * @return the offset of the problem, either as currently computed in an open (dirty) editor, or as originally
+     *         stated in the marker
+     */
+    private int findProblemStart(IMarker marker) {
+        IAnnotationModel model = input != null
+            ? JavaPlugin.getDefault().getCompilationUnitDocumentProvider().getAnnotationModel( input )
+            : null;
+        if ( model != null ) {
+            Iterator<Annotation> iter = model.getAnnotationIterator();
+
+            while ( iter.hasNext() ) {
+                Annotation curr = iter.next();
+                if ( curr instanceof MarkerAnnotation ) {
+                    MarkerAnnotation annot = (MarkerAnnotation) curr;
+                    if ( marker.equals( annot.getMarker() ) ) {
+                        Position pos = model.getPosition( annot );
+                        if ( pos != null ) {
+                            return pos.getOffset();
+                        }
+                    }
+                }
+            }
+        }
+
+        return marker.getAttribute( IMarker.CHAR_START, -1 );
+    }
+
+    /**
+     * @param marker the marker
+     * @return the current offset of the name of the method recorded by the {@link MapStructProblemTagger}, or
+     *         {@code -1} if unknown
+     * @throws JavaModelException
+     */
+    private static int findMethodNameOffset(IMarker marker) throws JavaModelException {
+        MapStructProblem problem = MapStructProblem.of( marker );
+        String handle = problem != null ? problem.getMethodHandle() : null;
+        IJavaElement method = handle != null ? JavaCore.create( handle ) : null;
+        if ( method instanceof IMethod && method.exists() ) {
+            return ( (IMethod) method ).getNameRange().getOffset();
+        }
+        return -1;
+    }
+
+    private ASTNode locateASTNodeForSartingOffset(int problemOffset) {
+        FindMethodByPositionVisitor visitor = new FindMethodByPositionVisitor( problemOffset );
+        astCompilationUnit.accept( visitor );
+        return visitor.getLocatedNode();
+    }
+
+    /**
+     * A fix to be applied to a node, possibly combined from the fixes of several markers
+     */
+    private static final class PendingFix {
+        private MapStructQuickFix fix;
+        private final ASTNode node;
+
+        private PendingFix(MapStructQuickFix fix, ASTNode node) {
+            this.fix = fix;
+            this.node = node;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.quickfix;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.CompositeChange;
+import org.eclipse.ltk.ui.refactoring.RefactoringWizard;
+import org.eclipse.ltk.ui.refactoring.RefactoringWizardOpenOperation;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.ui.IWorkbenchWindow;
+import org.eclipse.ui.PlatformUI;
+import org.mapstruct.eclipse.internal.MapStructPlugIn;
+
+/**
+ * Computes the quick fixes for all MapStruct problems of the workspace and presents them as one refactoring, with a
+ * preview and a single undo step.
+ * <p>
+ * The markers are grouped by project, and the changes of each project are computed by a {@link ProjectFixJob} using
+ * the project as scheduling rule, so that independent projects are processed concurrently while a project being
+ * built is not. Applying the refactoring modifies the workspace in one operation, so the projects are built only once
+ * after all files have been changed.
+ *
+ * @author agent
+ */
+public class FixAllProblemsJob extends Job {
+
+    private static final String TITLE = "Fix All MapStruct Problems";
+
+    public FixAllProblemsJob() {
+        super( "Computing fixes for all MapStruct problems" );
+        setUser( true );
+    }
+
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+        try {
+            Map<IProject, List<IMarker>> markersByProject = findMarkersByProject();
+
+            List<ProjectFixJob> projectJobs = new ArrayList<ProjectFixJob>( markersByProject.size() );
+            for ( Map.Entry<IProject, List<IMarker>> entry : markersByProject.entrySet() ) {
+                ProjectFixJob projectJob = new ProjectFixJob( entry.getKey(), entry.getValue(), this );
+                projectJobs.add( projectJob );
+                projectJob.schedule();
+            }
+
+            try {
+                Job.getJobManager().join( this, monitor );
+            }
+            catch ( OperationCanceledException e ) {
+                Job.getJobManager().cancel( this );
+                return Status.CANCEL_STATUS;
+            }
+
+            CompositeChange change = new CompositeChange( TITLE );
+            Map<IFile, Long> modificationStamps = new HashMap<IFile, Long>();
+            int unfixed = 0;
+            for ( ProjectFixJob projectJob : projectJobs ) {
+                IStatus result = projectJob.getResult();
+                if ( result != null && result.getSeverity() == IStatus.ERROR ) {
+                    return result;
+                }
+
+                for ( Change child : projectJob.getChanges() ) {
+                    change.add( child );
+                }
+                modificationStamps.putAll( projectJob.getModificationStamps() );
+                unfixed += projectJob.getUnfixedMarkers();
+            }
+
+            openRefactoring( change, modificationStamps, unfixed );
+
+            return Status.OK_STATUS;
+        }
+        catch ( InterruptedException e ) {
+            Job.getJobManager().cancel( this );
+            return Status.CANCEL_STATUS;
+        }
+        catch ( CoreException e ) {
+            return new Status( IStatus.ERROR, MapStructPlugIn.PLUGIN_ID, e.getMessage(), e );
+        }
+    }
+
+    private static Map<IProject, List<IMarker>> findMarkersByProject() throws CoreException {
+        IMarker[] markers = ResourcesPlugin.getWorkspace().getRoot()
+            .findMarkers( MapStructProblem.APT_COMPILE_PROBLEM, false, IResource.DEPTH_INFINITE );
+
+        Map<IProject, List<IMarker>> result = new LinkedHashMap<IProject, List<IMarker>>();
+        for ( IMarker marker : markers ) {
+            if ( MapStructProblem.isCandidate( marker ) ) {
+                IProject project = marker.getResource().getProject();
+                List<IMarker> projectMarkers = result.get( project );
+                if ( projectMarkers == null ) {
+                    projectMarkers = new ArrayList<IMarker>();
+                    result.put( project, projectMarkers );
+                }
+                projectMarkers.add( marker );
+            }
+        }
+        return result;
+    }
+
+    private static void openRefactoring(final CompositeChange change, final Map<IFile, Long> modificationStamps,
+                                        final int unfixed) {
+        PlatformUI.getWorkbench().getDisplay().asyncExec( new Runnable() {
+            @Override
+            public void run() {
+                IWorkbenchWindow window = PlatformUI.getWorkbench().getActiveWorkbenchWindow();
+                if ( window == null ) {
+                    return;
+                }
+
+                Shell shell = window.getShell();
+                if ( change.getChildren().length == 0 ) {
+                    MessageDialog.openInformation( shell, TITLE, "There are no MapStruct problems to fix." );
+                    return;
+                }
+
+                RefactoringWizard wizard = new FixAllProblemsWizard(
+                    new FixAllProblemsRefactoring( change, modificationStamps, unfixed ) );
+                try {
+                    new RefactoringWizardOpenOperation( wizard ).run( shell, TITLE );
+                }
+                catch ( InterruptedException e ) {
+                    // canceled by the user
+                }
+            }
+        } );
+    }
+
+    /**
+     * Shows the preview of the changes right away, as there is nothing to configure
+     */
+    private static final class FixAllProblemsWizard extends RefactoringWizard {
+
+        private FixAllProblemsWizard(FixAllProblemsRefactoring refactoring) {
+            super( refactoring, DIALOG_BASED_USER_INTERFACE | PREVIEW_EXPAND_FIRST_NODE );
+            setDefaultPageTitle( TITLE );
+        }
+
+        @Override
+        protected void addUserInputPages() {
+        }
+    }
+}
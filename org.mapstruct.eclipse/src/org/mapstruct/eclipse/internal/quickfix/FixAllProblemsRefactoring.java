@@ -0,0 +1,103 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.quickfix;
+
+import java.util.Map;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.ITextFileBuffer;
+import org.eclipse.core.filebuffers.LocationKind;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.CompositeChange;
+import org.eclipse.ltk.core.refactoring.Refactoring;
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+
+/**
+ * Refactoring applying the changes computed by the {@link FixAllProblemsJob}. The changes are rejected if one of the
+ * files has been modified since they were computed.
+ *
+ * @author agent
+ */
+class FixAllProblemsRefactoring extends Refactoring {
+
+    private final CompositeChange change;
+    private final Map<IFile, Long> modificationStamps;
+    private final int unfixedMarkers;
+
+    /**
+     * @param change the changes of all compilation units
+     * @param modificationStamps the modification stamps of the changed files at the time the changes were computed,
+     *            see {@link #getModificationStamp(IFile)}
+     * @param unfixedMarkers the number of markers that could not be fixed
+     */
+    FixAllProblemsRefactoring(CompositeChange change, Map<IFile, Long> modificationStamps, int unfixedMarkers) {
+        this.change = change;
+        this.modificationStamps = modificationStamps;
+        this.unfixedMarkers = unfixedMarkers;
+    }
+
+    /**
+     * @param file a file
+     * @return the modification stamp of the document of the file, if it is opened in an editor, or of the file
+     */
+    static long getModificationStamp(IFile file) {
+        ITextFileBuffer buffer =
+            FileBuffers.getTextFileBufferManager().getTextFileBuffer( file.getFullPath(), LocationKind.IFILE );
+        IDocument document = buffer != null ? buffer.getDocument() : null;
+        if ( document instanceof IDocumentExtension4 ) {
+            return ( (IDocumentExtension4) document ).getModificationStamp();
+        }
+        return file.getModificationStamp();
+    }
+
+    @Override
+    public String getName() {
+        return change.getName();
+    }
+
+    @Override
+    public RefactoringStatus checkInitialConditions(IProgressMonitor pm) {
+        if ( unfixedMarkers > 0 ) {
+            return RefactoringStatus.createInfoStatus(
+                unfixedMarkers + " MapStruct problem(s) cannot be fixed automatically or are out of date." );
+        }
+        return new RefactoringStatus();
+    }
+
+    @Override
+    public RefactoringStatus checkFinalConditions(IProgressMonitor pm) {
+        for ( Map.Entry<IFile, Long> entry : modificationStamps.entrySet() ) {
+            if ( getModificationStamp( entry.getKey() ) != entry.getValue().longValue() ) {
+                return RefactoringStatus.createFatalErrorStatus(
+                    entry.getKey().getName() + " has been modified since the fixes were computed. "
+                        + "Run 'Fix All MapStruct Problems' again." );
+            }
+        }
+        return new RefactoringStatus();
+    }
+
+    @Override
+    public Change createChange(IProgressMonitor pm) {
+        return change;
+    }
+}
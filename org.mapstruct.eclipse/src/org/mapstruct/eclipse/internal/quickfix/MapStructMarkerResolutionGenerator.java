@@ -19,27 +19,40 @@
 package org.mapstruct.eclipse.internal.quickfix;
 
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collection;
 import java.util.List;
 
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.ui.IMarkerResolution;
-import org.eclipse.ui.IMarkerResolutionGenerator;
+import org.eclipse.ui.IMarkerResolutionGenerator2;
 import org.mapstruct.eclipse.internal.quickfix.factories.CantMapPropertyQFFactory;
 import org.mapstruct.eclipse.internal.quickfix.factories.UnmappedTargetPropertyQFFactory;
 
 /**
- * Creates possible marker resolutions, i.e. quick fixes for errors that read like being generated by MapStruct
+ * Creates possible marker resolutions, i.e. quick fixes for errors that read like being generated by MapStruct.
+ * <p>
+ * {@link #hasResolutions(IMarker)} is asked for every marker of the APT marker type whenever the Problems view or an
+ * editor ruler is updated, so it only reads the attributes set by the {@link MapStructProblemTagger}, or compares the
+ * message prefixes for markers not tagged yet. The quick fixes are created by {@link #getResolutions(IMarker)} once
+ * the user asks for them, from the {@link MapStructProblem} shared by all factories.
  *
  * @author Andreas Gudian
  */
-public class MapStructMarkerResolutionGenerator implements IMarkerResolutionGenerator {
+public class MapStructMarkerResolutionGenerator implements IMarkerResolutionGenerator2 {
 
     private static final IMarkerResolution[] NO_RESOLUTIONS = new IMarkerResolution[0];
 
-    private Collection<? extends QuickFixFactory> allFactories = allQuickFixFactories();
+    private final QuickFixFactory[] allFactories = allQuickFixFactories();
+
+    @Override
+    public boolean hasResolutions(IMarker marker) {
+        try {
+            return isAptCompileProblem( marker ) && MapStructProblem.isCandidate( marker );
+        }
+        catch ( CoreException e ) {
+            return false;
+        }
+    }
 
     @Override
     public IMarkerResolution[] getResolutions(IMarker mk) {
@@ -55,21 +68,44 @@ public IMarkerResolution[] getResolutions(IMarker mk) {
     }
 
     private static boolean isAptCompileProblem(IMarker mk) throws CoreException {
-        return "org.eclipse.jdt.apt.pluggable.core.compileProblem".equals( mk.getType() );
+        return MapStructProblem.APT_COMPILE_PROBLEM.equals( mk.getType() );
     }
 
-    private IMarkerResolution[] findApplicableFixes(IMarker marker) throws CoreException {
+    private IMarkerResolution[] findApplicableFixes(IMarker marker) {
+        MapStructProblem problem = MapStructProblem.of( marker );
+        if ( problem == null ) {
+            return NO_RESOLUTIONS;
+        }
+
         List<IMarkerResolution> result = new ArrayList<IMarkerResolution>();
-        for ( QuickFixFactory fix : allFactories ) {
-            result.addAll( fix.createQuickFix( marker ) );
+        for ( QuickFixFactory factory : allFactories ) {
+            for ( MapStructQuickFix fix : factory.createQuickFix( problem ) ) {
+                // the fix can also be applied to all similar markers selected in the Problems view
+                fix.setMarker( marker );
+                result.add( fix );
+            }
         }
         return result.toArray( new IMarkerResolution[result.size()] );
     }
 
-    private static Collection<? extends QuickFixFactory> allQuickFixFactories() {
-        return Arrays.asList(
+    /**
+     * @param problem the problem
+     * @return the first quick fix offered for the problem, which is the one applied when fixing all problems of the
+     *         workspace, or {@code null} if there is none
+     */
+    MapStructQuickFix getPreferredFix(MapStructProblem problem) {
+        for ( QuickFixFactory factory : allFactories ) {
+            List<? extends MapStructQuickFix> fixes = factory.createQuickFix( problem );
+            if ( !fixes.isEmpty() ) {
+                return fixes.get( 0 );
+            }
+        }
+        return null;
+    }
+
+    private static QuickFixFactory[] allQuickFixFactories() {
+        return new QuickFixFactory[] {
             new UnmappedTargetPropertyQFFactory(),
-            new CantMapPropertyQFFactory()
-                     );
+            new CantMapPropertyQFFactory() };
     }
 }
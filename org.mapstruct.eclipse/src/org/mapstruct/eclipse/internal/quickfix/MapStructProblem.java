@@ -0,0 +1,271 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.quickfix;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.runtime.CoreException;
+import org.mapstruct.eclipse.internal.MapStructPlugIn;
+
+/**
+ * A MapStruct problem reported by the annotation processor, parsed from the message of its marker. The
+ * {@link MapStructProblemTagger} parses each marker once after the build and stores the result in the attributes of
+ * the marker, so that quick fixes read the attributes instead of matching the message again.
+ *
+ * @author agent
+ */
+public final class MapStructProblem {
+
+    /**
+     * Marker type of the problems reported by annotation processors
+     */
+    public static final String APT_COMPILE_PROBLEM = "org.eclipse.jdt.apt.pluggable.core.compileProblem"; //$NON-NLS-1$
+
+    /**
+     * Marker attribute holding the name of the {@link Kind}
+     */
+    public static final String KIND = MapStructPlugIn.PLUGIN_ID + ".problemKind"; //$NON-NLS-1$
+
+    /**
+     * Marker attribute holding the comma-separated names of the target properties of the problem
+     */
+    public static final String PROPERTIES = MapStructPlugIn.PLUGIN_ID + ".properties"; //$NON-NLS-1$
+
+    /**
+     * Marker attribute holding the source type of a property that can't be mapped
+     */
+    public static final String SOURCE_TYPE = MapStructPlugIn.PLUGIN_ID + ".sourceType"; //$NON-NLS-1$
+
+    /**
+     * Marker attribute holding the target type of a property that can't be mapped
+     */
+    public static final String TARGET_TYPE = MapStructPlugIn.PLUGIN_ID + ".targetType"; //$NON-NLS-1$
+
+    /**
+     * Marker attribute holding the handle identifier of the mapping method the problem is reported on
+     */
+    public static final String METHOD = MapStructPlugIn.PLUGIN_ID + ".method"; //$NON-NLS-1$
+
+    private static final String PROPERTY_SEPARATOR = ", "; //$NON-NLS-1$
+
+    /**
+     * The kinds of problems that can be fixed
+     */
+    public enum Kind {
+        /**
+         * {@code Unmapped target property: "prop".} resp. {@code Unmapped target properties: "prop1, prop2".}
+         */
+        UNMAPPED_TARGET_PROPERTIES(
+            "Unmapped target propert", //$NON-NLS-1$
+            "Unmapped target propert(?:y|ies): \"([^\"]+)\".*"), //$NON-NLS-1$
+
+        /**
+         * {@code Can't map property "X prop" to "Y prop". Consider to declare/implement a mapping method ...}
+         */
+        CANT_MAP_PROPERTY(
+            "Can't map property \"", //$NON-NLS-1$
+            "Can't map property \"([^\"]+) ([^\"]+)\" to \"([^\"]+) ([^\"]+)\".*"); //$NON-NLS-1$
+
+        private static final Kind[] KINDS = values();
+
+        private final String messagePrefix;
+        private final Pattern pattern;
+
+        private Kind(String messagePrefix, String pattern) {
+            this.messagePrefix = messagePrefix;
+            this.pattern = Pattern.compile( pattern, Pattern.DOTALL );
+        }
+
+        /**
+         * @param message a marker message
+         * @return the kind of problem the message reads like, judged by its start only, or {@code null}
+         */
+        public static Kind ofMessage(String message) {
+            for ( Kind kind : KINDS ) {
+                if ( message.startsWith( kind.messagePrefix ) ) {
+                    return kind;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final Kind kind;
+    private final List<String> properties;
+    private final String sourceType;
+    private final String targetType;
+    private final String methodHandle;
+
+    private MapStructProblem(Kind kind, List<String> properties, String sourceType, String targetType,
+                             String methodHandle) {
+        this.kind = kind;
+        this.properties = properties;
+        this.sourceType = sourceType;
+        this.targetType = targetType;
+        this.methodHandle = methodHandle;
+    }
+
+    /**
+     * @param message a marker message
+     * @return the problem described by the message, or {@code null} if it is no MapStruct problem that can be fixed
+     */
+    public static MapStructProblem parse(String message) {
+        Kind kind = Kind.ofMessage( message );
+        if ( kind == null ) {
+            return null;
+        }
+
+        Matcher matcher = kind.pattern.matcher( message );
+        if ( !matcher.matches() ) {
+            return null;
+        }
+
+        switch ( kind ) {
+            case UNMAPPED_TARGET_PROPERTIES:
+                return new MapStructProblem(
+                    kind,
+                    Arrays.asList( matcher.group( 1 ).split( PROPERTY_SEPARATOR ) ),
+                    null,
+                    null,
+                    null );
+            case CANT_MAP_PROPERTY:
+                return new MapStructProblem(
+                    kind,
+                    Collections.singletonList( matcher.group( 4 ) ),
+                    matcher.group( 1 ),
+                    matcher.group( 3 ),
+                    null );
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @param marker an annotation processor marker
+     * @return the problem stored in the attributes of the marker, or parsed from its message if it has not been tagged
+     *         (yet) or has an unknown kind, or {@code null} if it is no MapStruct problem that can be fixed
+     */
+    public static MapStructProblem of(IMarker marker) {
+        Kind kind = toKind( marker.getAttribute( KIND, null ) );
+        if ( kind == null ) {
+            return parse( marker.getAttribute( IMarker.MESSAGE, "" ) ); //$NON-NLS-1$
+        }
+
+        String properties = marker.getAttribute( PROPERTIES, "" ); //$NON-NLS-1$
+        return new MapStructProblem(
+            kind,
+            Arrays.asList( properties.split( PROPERTY_SEPARATOR ) ),
+            marker.getAttribute( SOURCE_TYPE, null ),
+            marker.getAttribute( TARGET_TYPE, null ),
+            marker.getAttribute( METHOD, null ) );
+    }
+
+    /**
+     * @param kindName the name of a kind stored in a marker, or {@code null}
+     * @return the kind, or {@code null} if the marker has not been tagged or was tagged by a version of the plug-in
+     *         with other kinds
+     */
+    private static Kind toKind(String kindName) {
+        if ( kindName == null ) {
+            return null;
+        }
+
+        try {
+            return Kind.valueOf( kindName );
+        }
+        catch ( IllegalArgumentException e ) {
+            return null;
+        }
+    }
+
+    /**
+     * @param marker an annotation processor marker
+     * @return {@code true}, iff the marker has been tagged or its message reads like a MapStruct problem that can be
+     *         fixed; does not parse the message
+     */
+    public static boolean isCandidate(IMarker marker) {
+        if ( marker.getAttribute( KIND, null ) != null ) {
+            return true;
+        }
+
+        String message = marker.getAttribute( IMarker.MESSAGE, null );
+        return message != null && Kind.ofMessage( message ) != null;
+    }
+
+    /**
+     * Stores the problem in the attributes of the given marker.
+     *
+     * @param marker the marker the problem was parsed from
+     * @param method the handle identifier of the mapping method the marker is located at, or {@code null}
+     * @throws CoreException if the marker can't be modified
+     */
+    void tag(IMarker marker, String method) throws CoreException {
+        marker.setAttributes(
+            new String[] { KIND, PROPERTIES, SOURCE_TYPE, TARGET_TYPE, METHOD },
+            new Object[] { kind.name(), join( properties ), sourceType, targetType, method } );
+    }
+
+    private static String join(List<String> strings) {
+        StringBuilder result = new StringBuilder();
+        for ( String string : strings ) {
+            if ( result.length() > 0 ) {
+                result.append( PROPERTY_SEPARATOR );
+            }
+            result.append( string );
+        }
+        return result.toString();
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return the unmapped target properties, or the target property that can't be mapped
+     */
+    public List<String> getProperties() {
+        return properties;
+    }
+
+    /**
+     * @return the source type of a property that can't be mapped, {@code null} for other kinds
+     */
+    public String getSourceType() {
+        return sourceType;
+    }
+
+    /**
+     * @return the target type of a property that can't be mapped, {@code null} for other kinds
+     */
+    public String getTargetType() {
+        return targetType;
+    }
+
+    /**
+     * @return the handle identifier of the mapping method the problem is reported on, {@code null} if unknown
+     */
+    public String getMethodHandle() {
+        return methodHandle;
+    }
+}
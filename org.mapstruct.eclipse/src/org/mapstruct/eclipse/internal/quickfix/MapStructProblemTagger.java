@@ -0,0 +1,91 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.quickfix;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.compiler.CompilationParticipant;
+import org.mapstruct.eclipse.internal.MapStructPlugIn;
+import org.mapstruct.eclipse.internal.util.MapStructProjects;
+
+/**
+ * Parses the annotation processor markers of a MapStruct project once after each build and stores the
+ * {@link MapStructProblem} in their attributes, along with the mapping method they are located at. Markers tagged in
+ * a previous build are skipped.
+ *
+ * @author agent
+ */
+public class MapStructProblemTagger extends CompilationParticipant {
+
+    @Override
+    public boolean isActive(IJavaProject project) {
+        return MapStructProjects.isMapStructProject( project );
+    }
+
+    @Override
+    public void buildFinished(IJavaProject project) {
+        MapStructPlugIn.getDefault().getIndexes();
+
+        try {
+            IMarker[] markers = project.getProject()
+                .findMarkers( MapStructProblem.APT_COMPILE_PROBLEM, false, IResource.DEPTH_INFINITE );
+
+            for ( IMarker marker : markers ) {
+                if ( marker.getAttribute( MapStructProblem.KIND, null ) == null ) {
+                    tag( marker );
+                }
+            }
+        }
+        catch ( CoreException e ) {
+            MapStructPlugIn.getDefault().getLog().log(
+                new Status(
+                    IStatus.WARNING,
+                    MapStructPlugIn.PLUGIN_ID,
+                    "Could not tag the MapStruct problems of " + project.getElementName(),
+                    e ) );
+        }
+    }
+
+    private static void tag(IMarker marker) throws CoreException {
+        MapStructProblem problem = MapStructProblem.parse( marker.getAttribute( IMarker.MESSAGE, "" ) ); //$NON-NLS-1$
+        if ( problem != null ) {
+            problem.tag( marker, findMethodHandle( marker ) );
+        }
+    }
+
+    private static String findMethodHandle(IMarker marker) throws JavaModelException {
+        int charStart = marker.getAttribute( IMarker.CHAR_START, -1 );
+        IJavaElement element = JavaCore.create( marker.getResource() );
+        if ( charStart < 0 || !( element instanceof ICompilationUnit ) ) {
+            return null;
+        }
+
+        IJavaElement elementAtMarker = ( (ICompilationUnit) element ).getElementAt( charStart );
+        return elementAtMarker instanceof IMethod ? elementAtMarker.getHandleIdentifier() : null;
+    }
+}
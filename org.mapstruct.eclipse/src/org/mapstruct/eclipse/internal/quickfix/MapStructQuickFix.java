@@ -18,120 +18,121 @@
  */
 package org.mapstruct.eclipse.internal.quickfix;
 
-import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.eclipse.core.resources.IMarker;
-import org.eclipse.core.resources.IResource;
-import org.eclipse.core.runtime.CoreException;
-import org.eclipse.jdt.core.ICompilationUnit;
-import org.eclipse.jdt.core.IJavaElement;
-import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.ImportDeclaration;
 import org.eclipse.jdt.core.dom.PrimitiveType;
 import org.eclipse.jdt.core.dom.rewrite.ASTRewrite;
-import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.core.dom.rewrite.ListRewrite;
 import org.eclipse.jdt.internal.ui.JavaPluginImages;
-import org.eclipse.jdt.internal.ui.javaeditor.EditorUtility;
-import org.eclipse.jdt.internal.ui.text.correction.ASTResolving;
-import org.eclipse.jdt.ui.SharedASTProvider;
-import org.eclipse.jface.text.Position;
-import org.eclipse.jface.text.source.Annotation;
-import org.eclipse.jface.text.source.IAnnotationModel;
 import org.eclipse.swt.graphics.Image;
-import org.eclipse.ui.IEditorInput;
-import org.eclipse.ui.IMarkerResolution2;
-import org.eclipse.ui.texteditor.MarkerAnnotation;
-import org.mapstruct.eclipse.internal.quickfix.visitors.FindMethodByPositionVisitor;
+import org.eclipse.ui.views.markers.WorkbenchMarkerResolution;
 
 /**
- * Base class for quick fixes
+ * Base class for quick fixes. A quick fix can be applied to all selected markers it {@link #forProblem applies to}:
+ * the changes of all markers of one compilation unit are collected in a single {@link ASTRewrite}. The rewrite is
+ * computed in a {@link QuickFixJob} and applied to the editor of the compilation unit without saving it.
  *
  * @author Andreas Gudian
  */
 @SuppressWarnings("restriction")
-public abstract class MapStructQuickFix implements IMarkerResolution2 {
+public abstract class MapStructQuickFix extends WorkbenchMarkerResolution {
+
+    /**
+     * The marker the quick fix was created for, if known
+     */
+    private IMarker marker;
+
+    void setMarker(IMarker marker) {
+        this.marker = marker;
+    }
 
     @Override
-    public void run(IMarker marker) {
-        ICompilationUnit compilationUnit = null;
-        try {
-            IResource resource = marker.getResource();
-            IJavaElement javaElement = JavaCore.create( resource );
-
-            compilationUnit = (ICompilationUnit) javaElement.getAdapter( ICompilationUnit.class );
-            IEditorInput input = EditorUtility.getEditorInput( compilationUnit );
-            if ( input != null ) {
-                CompilationUnit astCompilationUnit = toAST( compilationUnit );
-
-                ASTNode locatedNode =
-                    locateASTNodeForSartingOffset( findProblemStart( input, marker ), astCompilationUnit );
-                if ( locatedNode != null ) {
-                    ASTRewrite rewrite = getASTRewrite( astCompilationUnit, locatedNode, marker );
-
-                    if ( rewrite != null ) {
-                        compilationUnit.applyTextEdit( rewrite.rewriteAST(), null );
-                        compilationUnit.becomeWorkingCopy( null );
-                        compilationUnit.commitWorkingCopy( true, null );
-                        compilationUnit.discardWorkingCopy();
-                        marker.delete();
-                    }
+    public IMarker[] findOtherMarkers(IMarker[] markers) {
+        List<IMarker> result = new ArrayList<IMarker>();
+        for ( IMarker other : markers ) {
+            if ( !other.equals( marker ) && MapStructProblem.isCandidate( other ) ) {
+                MapStructProblem problem = MapStructProblem.of( other );
+                if ( problem != null && forProblem( problem ) != null ) {
+                    result.add( other );
                 }
             }
         }
-        catch ( CoreException e ) {
-            throw new RuntimeException( e );
+        return result.toArray( new IMarker[result.size()] );
+    }
+
+    /**
+     * Computes the fix in a {@link QuickFixJob} and applies it to the editor of the marker's compilation unit
+     * afterwards.
+     */
+    @Override
+    public void run(IMarker marker) {
+        if ( this.marker == null ) {
+            this.marker = marker;
         }
+        run( new IMarker[] { marker }, new NullProgressMonitor() );
     }
 
     /**
-     * @param input editor input
-     * @param marker the marker
-     * @return the offset of the problem, either as currently computed in an open (dirty) editor, or as originally
-     *         stated in the marker
-     * @throws CoreException
+     * Computes the fixes in a {@link QuickFixJob} and applies them to the editors of the markers' compilation units
+     * afterwards.
      */
-    private static int findProblemStart(IEditorInput input, IMarker marker) throws CoreException {
-        IAnnotationModel model =
-            JavaPlugin.getDefault().getCompilationUnitDocumentProvider().getAnnotationModel( input );
-        if ( model != null ) {
-            Iterator<Annotation> iter = model.getAnnotationIterator();
-
-            while ( iter.hasNext() ) {
-                Annotation curr = iter.next();
-                if ( curr instanceof MarkerAnnotation ) {
-                    MarkerAnnotation annot = (MarkerAnnotation) curr;
-                    if ( marker.equals( annot.getMarker() ) ) {
-                        Position pos = model.getPosition( annot );
-                        if ( pos != null ) {
-                            return pos.getOffset();
-                        }
-                    }
-                }
-            }
+    @Override
+    public void run(IMarker[] markers, IProgressMonitor monitor) {
+        new QuickFixJob( this, markers ).schedule();
+    }
+
+    /**
+     * @param m a marker
+     * @return this fix for its own marker, otherwise a fix of the same kind for the given marker, or {@code null}
+     */
+    MapStructQuickFix getFix(IMarker m) {
+        if ( m.equals( marker ) ) {
+            return this;
         }
 
-        Integer charStart = (Integer) marker.getAttribute( IMarker.CHAR_START );
+        MapStructProblem problem = MapStructProblem.of( m );
+        return problem != null ? forProblem( problem ) : null;
+    }
 
-        return charStart != null ? charStart : -1;
+    /**
+     * @param problem the problem of another marker
+     * @return a quick fix of the same kind for the other problem, or {@code null} if this kind of fix does not apply to
+     *         it
+     */
+    protected abstract MapStructQuickFix forProblem(MapStructProblem problem);
+
+    /**
+     * @param nodeWithMarker the ASTNode that is located at the start position of the marker
+     * @return the key of the fixes to be {@link #combine(MapStructQuickFix) combined} when fixing several markers of a
+     *         compilation unit at once, by default the node
+     */
+    protected Object getCombinationKey(ASTNode nodeWithMarker) {
+        return nodeWithMarker;
     }
 
-    private ASTNode locateASTNodeForSartingOffset(int problemOffset, CompilationUnit astCompilationUnit)
-        throws CoreException {
-        FindMethodByPositionVisitor visitor = new FindMethodByPositionVisitor( problemOffset );
-        astCompilationUnit.accept( visitor );
-        return visitor.getLocatedNode();
+    /**
+     * @param other a fix of the same kind with the same {@link #getCombinationKey(ASTNode) combination key}
+     * @return a single fix doing the work of this fix and the given one, or {@code null} if both are to be applied one
+     *         after the other
+     */
+    protected MapStructQuickFix combine(MapStructQuickFix other) {
+        return null;
     }
 
     /**
+     * @param rewrite the rewrite of the compilation unit, shared by the fixes of all markers in it
      * @param unit the compilation unit
      * @param nodeWithMarker the ASTNode that is located at the start position of the marker
-     * @param marker the marker
-     * @return the rewrite to be performed, or <code>null</code> in case no changes are to be performed
      */
-    protected abstract ASTRewrite getASTRewrite(CompilationUnit unit, ASTNode nodeWithMarker, IMarker marker);
+    protected abstract void addChanges(ASTRewrite rewrite, CompilationUnit unit, ASTNode nodeWithMarker);
 
     /**
      * Add an import statement for the fullyQualifiedName if it is not yet imported
@@ -141,13 +142,14 @@ private ASTNode locateASTNodeForSartingOffset(int problemOffset, CompilationUnit
      * @param fullyQualifiedName the fully qualified name of the type to add an import for
      */
     protected void addImportIfRequired(CompilationUnit compilationUnit, ASTRewrite rewrite, String fullyQualifiedName) {
-        if ( !hasImport( compilationUnit, fullyQualifiedName )
+        ListRewrite imports = rewrite.getListRewrite( compilationUnit, CompilationUnit.IMPORTS_PROPERTY );
+        if ( !hasImport( imports, fullyQualifiedName )
             && requiresImport( compilationUnit, fullyQualifiedName ) ) {
             AST ast = compilationUnit.getAST();
             ImportDeclaration declaration = ast.newImportDeclaration();
             declaration.setName( ast.newName( fullyQualifiedName ) );
 
-            rewrite.getListRewrite( compilationUnit, CompilationUnit.IMPORTS_PROPERTY ).insertLast( declaration, null );
+            imports.insertLast( declaration, null );
         }
     }
 
@@ -165,8 +167,11 @@ private static boolean requiresImport(CompilationUnit compilationUnit, String fu
         return true;
     }
 
-    private static boolean hasImport(CompilationUnit compilationUnit, String fullyQualifiedName) {
-        for ( Object obj : compilationUnit.imports() ) {
+    /**
+     * @param imports the imports, including the ones added by other fixes of the same rewrite
+     */
+    private static boolean hasImport(ListRewrite imports, String fullyQualifiedName) {
+        for ( Object obj : imports.getRewrittenList() ) {
             ImportDeclaration importDec = (ImportDeclaration) obj;
             if ( importDec.getName().getFullyQualifiedName().equals( fullyQualifiedName ) ) {
                 return true;
@@ -212,12 +217,4 @@ public String getDescription() {
     public Image getImage() {
         return JavaPluginImages.get( JavaPluginImages.IMG_CORRECTION_CHANGE );
     }
-
-    private static CompilationUnit toAST(ICompilationUnit unit) {
-        CompilationUnit astRoot = SharedASTProvider.getAST( unit, SharedASTProvider.WAIT_YES, null );
-        if ( astRoot == null ) {
-            astRoot = ASTResolving.createQuickFixAST( unit, null );
-        }
-        return astRoot;
-    }
 }
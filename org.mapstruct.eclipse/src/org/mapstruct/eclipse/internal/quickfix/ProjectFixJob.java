@@ -0,0 +1,208 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.quickfix;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTRequestor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.internal.ui.javaeditor.EditorUtility;
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.TextFileChange;
+import org.mapstruct.eclipse.internal.MapStructPlugIn;
+
+/**
+ * Computes a {@link TextFileChange} with the preferred quick fixes for the MapStruct problems of each compilation
+ * unit of a project. The compilation units are parsed in one batch, and each AST is dropped as soon as its change is
+ * computed.
+ * <p>
+ * The job uses the project as scheduling rule, so it does not run concurrently to builds of the project, but to the
+ * jobs of other projects.
+ *
+ * @author agent
+ */
+@SuppressWarnings("restriction")
+class ProjectFixJob extends Job {
+
+    private final IProject project;
+    private final List<IMarker> markers;
+    private final Object family;
+
+    private final MapStructMarkerResolutionGenerator generator = new MapStructMarkerResolutionGenerator();
+
+    private List<Change> changes = Collections.emptyList();
+    private Map<IFile, Long> modificationStamps = Collections.emptyMap();
+    private int unfixedMarkers;
+
+    /**
+     * @param project the project
+     * @param markers the MapStruct markers of the project
+     * @param family the family of the job, to join all jobs of a bulk fix
+     */
+    ProjectFixJob(IProject project, List<IMarker> markers, Object family) {
+        super( "Computing fixes for the MapStruct problems of " + project.getName() );
+        this.project = project;
+        this.markers = markers;
+        this.family = family;
+
+        setSystem( true );
+        setRule( project );
+    }
+
+    @Override
+    public boolean belongsTo(Object family) {
+        return this.family == family;
+    }
+
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+        try {
+            final Map<ICompilationUnit, List<IMarker>> markersByUnit = groupByCompilationUnit( markers );
+            final List<Change> result = new ArrayList<Change>( markersByUnit.size() );
+            final CoreException[] failure = new CoreException[1];
+            final int[] fixed = new int[1];
+
+            // taken before parsing, so that modifications made while the changes are computed are noticed as well
+            Map<IFile, Long> stamps = new LinkedHashMap<IFile, Long>();
+            for ( ICompilationUnit unit : markersByUnit.keySet() ) {
+                IFile file = (IFile) unit.getResource();
+                stamps.put( file, FixAllProblemsRefactoring.getModificationStamp( file ) );
+            }
+
+            ASTParser parser = ASTParser.newParser( AST.JLS8 );
+            parser.setProject( JavaCore.create( project ) );
+            parser.setResolveBindings( true );
+
+            parser.createASTs(
+                markersByUnit.keySet().toArray( new ICompilationUnit[markersByUnit.size()] ),
+                new String[0],
+                new ASTRequestor() {
+                    @Override
+                    public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+                        try {
+                            CompilationUnitRewrite rewrite = createRewrite( source, ast, markersByUnit.get( source ) );
+                            if ( !rewrite.getFixedMarkers().isEmpty() ) {
+                                result.add( createChange( source, rewrite ) );
+                                fixed[0] += rewrite.getFixedMarkers().size();
+                            }
+                        }
+                        catch ( CoreException e ) {
+                            failure[0] = e;
+                        }
+                    }
+                },
+                monitor );
+
+            if ( failure[0] != null ) {
+                throw failure[0];
+            }
+
+            synchronized ( this ) {
+                changes = result;
+                modificationStamps = stamps;
+                unfixedMarkers = markers.size() - fixed[0];
+            }
+            return Status.OK_STATUS;
+        }
+        catch ( OperationCanceledException e ) {
+            return Status.CANCEL_STATUS;
+        }
+        catch ( CoreException e ) {
+            return new Status( IStatus.ERROR, MapStructPlugIn.PLUGIN_ID, e.getMessage(), e );
+        }
+    }
+
+    private CompilationUnitRewrite createRewrite(ICompilationUnit unit, CompilationUnit ast, List<IMarker> unitMarkers)
+        throws CoreException {
+        CompilationUnitRewrite rewrite = new CompilationUnitRewrite( ast, EditorUtility.getEditorInput( unit ) );
+        for ( IMarker marker : unitMarkers ) {
+            MapStructProblem problem = MapStructProblem.of( marker );
+            MapStructQuickFix fix = problem != null ? generator.getPreferredFix( problem ) : null;
+            if ( fix != null ) {
+                rewrite.add( marker, fix );
+            }
+        }
+        return rewrite;
+    }
+
+    private static Change createChange(ICompilationUnit unit, CompilationUnitRewrite rewrite) throws CoreException {
+        TextFileChange change = new TextFileChange( unit.getElementName(), (IFile) unit.getResource() );
+        change.setTextType( "java" ); //$NON-NLS-1$
+        // files opened in a dirty editor stay dirty, all others are saved
+        change.setSaveMode( TextFileChange.KEEP_SAVE_STATE );
+        change.setEdit( rewrite.createEdit() );
+        return change;
+    }
+
+    private static Map<ICompilationUnit, List<IMarker>> groupByCompilationUnit(List<IMarker> markers) {
+        Map<ICompilationUnit, List<IMarker>> result = new LinkedHashMap<ICompilationUnit, List<IMarker>>();
+        for ( IMarker marker : markers ) {
+            IJavaElement element = JavaCore.create( marker.getResource() );
+            if ( element instanceof ICompilationUnit ) {
+                List<IMarker> unitMarkers = result.get( element );
+                if ( unitMarkers == null ) {
+                    unitMarkers = new ArrayList<IMarker>();
+                    result.put( (ICompilationUnit) element, unitMarkers );
+                }
+                unitMarkers.add( marker );
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the changes of the compilation units, once the job is done
+     */
+    synchronized List<Change> getChanges() {
+        return changes;
+    }
+
+    /**
+     * @return the modification stamps of the files of the compilation units at the time the changes were computed,
+     *         once the job is done
+     */
+    synchronized Map<IFile, Long> getModificationStamps() {
+        return modificationStamps;
+    }
+
+    /**
+     * @return the number of markers that could not be fixed, once the job is done
+     */
+    synchronized int getUnfixedMarkers() {
+        return unfixedMarkers;
+    }
+}
@@ -20,30 +20,14 @@
 
 import java.util.List;
 
-import org.eclipse.core.resources.IMarker;
-import org.eclipse.core.runtime.CoreException;
-
 /**
  * @author Andreas Gudian
  *
  */
 public abstract class QuickFixFactory {
     /**
-     * @param marker the problem marker to create a fix for
-     * @return the quick fixes, or an empty list if the fix is not applicable to the given marker
-     */
-    public abstract List<? extends MapStructQuickFix> createQuickFix(IMarker marker);
-
-    /**
-     * @param marker the marker
-     * @return the message of the marker, or an empty string in case the message cannot be retrieved
+     * @param problem the problem parsed from the marker to create a fix for, shared by all factories
+     * @return the quick fixes, or an empty list if the fix is not applicable to the given problem
      */
-    protected static String getMessage(IMarker marker) {
-        try {
-            return (String) marker.getAttribute( IMarker.MESSAGE );
-        }
-        catch ( CoreException e ) {
-            return "";
-        }
-    }
+    public abstract List<? extends MapStructQuickFix> createQuickFix(MapStructProblem problem);
 }
@@ -0,0 +1,205 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.quickfix;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.internal.ui.javaeditor.EditorUtility;
+import org.eclipse.jdt.internal.ui.text.correction.ASTResolving;
+import org.eclipse.jdt.ui.JavaUI;
+import org.eclipse.jdt.ui.SharedASTProvider;
+import org.eclipse.text.edits.TextEdit;
+import org.eclipse.ui.IEditorInput;
+import org.eclipse.ui.PlatformUI;
+import org.mapstruct.eclipse.internal.MapStructPlugIn;
+import org.mapstruct.eclipse.internal.util.OperationTimer;
+import org.mapstruct.eclipse.internal.util.Tracing;
+
+/**
+ * Applies a {@link MapStructQuickFix} to markers without blocking the UI thread: the ASTs and the edits are computed
+ * in this job, which shows its progress and can be canceled. Each edit is then applied on the UI thread to the
+ * working copy of the editor of the compilation unit, which is opened if necessary. The editor is left dirty, so the
+ * user decides when to save and build. The markers are owned by the annotation processor and are left alone, the
+ * next build removes the fixed ones.
+ * <p>
+ * An edit is dropped if the compilation unit has been modified while it was computed.
+ *
+ * @author agent
+ */
+@SuppressWarnings("restriction")
+public class QuickFixJob extends Job {
+
+    /**
+     * Family of all quick fix jobs
+     */
+    public static final Object FAMILY = QuickFixJob.class;
+
+    private final MapStructQuickFix quickFix;
+    private final IMarker[] markers;
+
+    /**
+     * @param quickFix the quick fix to apply
+     * @param markers the markers to apply the quick fix to
+     */
+    QuickFixJob(MapStructQuickFix quickFix, IMarker[] markers) {
+        super( quickFix.getLabel() );
+        this.quickFix = quickFix;
+        this.markers = markers;
+
+        setUser( true );
+    }
+
+    @Override
+    public boolean belongsTo(Object family) {
+        return FAMILY == family;
+    }
+
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+        Map<IResource, List<IMarker>> markersByResource = new LinkedHashMap<IResource, List<IMarker>>();
+        for ( IMarker m : markers ) {
+            List<IMarker> resourceMarkers = markersByResource.get( m.getResource() );
+            if ( resourceMarkers == null ) {
+                resourceMarkers = new ArrayList<IMarker>();
+                markersByResource.put( m.getResource(), resourceMarkers );
+            }
+            resourceMarkers.add( m );
+        }
+
+        SubMonitor progress = SubMonitor.convert( monitor, getName(), markersByResource.size() );
+        try {
+            for ( Map.Entry<IResource, List<IMarker>> entry : markersByResource.entrySet() ) {
+                if ( progress.isCanceled() ) {
+                    return Status.CANCEL_STATUS;
+                }
+                computeEdit( entry.getKey(), entry.getValue(), progress.newChild( 1 ) );
+            }
+            return Status.OK_STATUS;
+        }
+        catch ( OperationCanceledException e ) {
+            return Status.CANCEL_STATUS;
+        }
+        catch ( CoreException e ) {
+            return new Status( IStatus.ERROR, MapStructPlugIn.PLUGIN_ID, e.getMessage(), e );
+        }
+    }
+
+    private void computeEdit(IResource resource, List<IMarker> resourceMarkers, IProgressMonitor monitor)
+        throws CoreException {
+        ICompilationUnit compilationUnit = (ICompilationUnit) JavaCore.create( resource )
+            .getAdapter( ICompilationUnit.class );
+        IEditorInput input = compilationUnit != null ? EditorUtility.getEditorInput( compilationUnit ) : null;
+        if ( input == null ) {
+            return;
+        }
+
+        OperationTimer timer = Tracing.start( Tracing.Operation.QUICK_FIX );
+
+        long astStart = System.nanoTime();
+        String source = compilationUnit.getSource();
+        CompilationUnit astCompilationUnit = toAST( compilationUnit, monitor );
+        timer.phase( "ast", astStart ); //$NON-NLS-1$
+
+        long rewriteStart = System.nanoTime();
+        CompilationUnitRewrite unitRewrite = new CompilationUnitRewrite( astCompilationUnit, input );
+        for ( IMarker m : resourceMarkers ) {
+            MapStructQuickFix fix = quickFix.getFix( m );
+            if ( fix != null ) {
+                unitRewrite.add( m, fix );
+            }
+        }
+        TextEdit edit = unitRewrite.getFixedMarkers().isEmpty() ? null : unitRewrite.createEdit();
+        timer.phase( "rewrite", rewriteStart ); //$NON-NLS-1$
+
+        if ( edit == null || monitor.isCanceled() ) {
+            stop( timer, compilationUnit, unitRewrite );
+            return;
+        }
+
+        applyEdit( compilationUnit, source, edit, unitRewrite, timer );
+    }
+
+    private static void applyEdit(final ICompilationUnit compilationUnit, final String source, final TextEdit edit,
+                                  final CompilationUnitRewrite unitRewrite, final OperationTimer timer) {
+        PlatformUI.getWorkbench().getDisplay().asyncExec( new Runnable() {
+            @Override
+            public void run() {
+                long applyStart = System.nanoTime();
+                try {
+                    if ( !source.equals( compilationUnit.getSource() ) ) {
+                        // the edit is based on an outdated content
+                        return;
+                    }
+
+                    // the editor's working copy takes the edit, without saving it
+                    JavaUI.openInEditor( compilationUnit, false, false );
+                    compilationUnit.applyTextEdit( edit, null );
+                }
+                catch ( CoreException e ) {
+                    MapStructPlugIn.getDefault().getLog().log(
+                        new Status(
+                            IStatus.ERROR,
+                            MapStructPlugIn.PLUGIN_ID,
+                            "Could not apply the quick fix to " + compilationUnit.getElementName(),
+                            e ) );
+                }
+                finally {
+                    timer.phase( "apply", applyStart ); //$NON-NLS-1$
+                    stop( timer, compilationUnit, unitRewrite );
+                }
+            }
+        } );
+    }
+
+    private static void stop(OperationTimer timer, ICompilationUnit compilationUnit,
+                             CompilationUnitRewrite unitRewrite) {
+        timer.stop( compilationUnit.getElementName(), unitRewrite.getMethodName(), unitRewrite.getProblemStart() );
+    }
+
+    /**
+     * @param unit the compilation unit
+     * @param monitor the progress monitor to check for cancellation
+     * @return the AST of the active editor, if it shows the compilation unit, or a freshly parsed one
+     */
+    private static CompilationUnit toAST(ICompilationUnit unit, IProgressMonitor monitor) {
+        CompilationUnit astRoot = SharedASTProvider.getAST( unit, SharedASTProvider.WAIT_ACTIVE_ONLY, monitor );
+        if ( astRoot == null ) {
+            if ( monitor.isCanceled() ) {
+                throw new OperationCanceledException();
+            }
+            astRoot = ASTResolving.createQuickFixAST( unit, monitor );
+        }
+        return astRoot;
+    }
+}
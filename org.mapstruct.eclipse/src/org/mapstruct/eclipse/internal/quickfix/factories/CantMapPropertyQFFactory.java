@@ -19,12 +19,9 @@
 package org.mapstruct.eclipse.internal.quickfix.factories;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
-import org.eclipse.core.resources.IMarker;
+import org.mapstruct.eclipse.internal.quickfix.MapStructProblem;
 import org.mapstruct.eclipse.internal.quickfix.MapStructQuickFix;
 import org.mapstruct.eclipse.internal.quickfix.QuickFixFactory;
 import org.mapstruct.eclipse.internal.quickfix.fixes.AddIgnoreTargetMappingAnnotationQuickFix;
@@ -36,24 +33,20 @@
  * @author Andreas Gudian
  */
 public class CantMapPropertyQFFactory extends QuickFixFactory {
-    private static final Pattern PATTERN =
-        Pattern.compile( "Can't map property \"([^\"]+) ([^\"]+)\" to \"([^\"]+) ([^\"]+)\"\\..*" );
 
     @Override
-    public List<? extends MapStructQuickFix> createQuickFix(IMarker marker) {
+    public List<? extends MapStructQuickFix> createQuickFix(MapStructProblem problem) {
         List<MapStructQuickFix> result = new ArrayList<MapStructQuickFix>( 2 );
-        Matcher matcher = PATTERN.matcher( getMessage( marker ) );
 
-        if ( matcher.matches() ) {
-            String srcType = matcher.group( 1 );
-            String targetType = matcher.group( 3 );
-            String targetProp = matcher.group( 4 );
+        if ( problem.getKind() == MapStructProblem.Kind.CANT_MAP_PROPERTY ) {
+            String srcType = problem.getSourceType();
+            String targetType = problem.getTargetType();
 
             if ( !isGenericType( srcType ) && !isGenericType( targetType ) ) {
                 result.add( new AddMethodQuickFix( targetType, srcType ) );
             }
 
-            result.add( new AddIgnoreTargetMappingAnnotationQuickFix( Arrays.asList( targetProp ) ) );
+            result.add( new AddIgnoreTargetMappingAnnotationQuickFix( problem.getProperties() ) );
         }
 
         return result;
@@ -21,10 +21,8 @@
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
-import org.eclipse.core.resources.IMarker;
+import org.mapstruct.eclipse.internal.quickfix.MapStructProblem;
 import org.mapstruct.eclipse.internal.quickfix.MapStructQuickFix;
 import org.mapstruct.eclipse.internal.quickfix.QuickFixFactory;
 import org.mapstruct.eclipse.internal.quickfix.fixes.AddIgnoreTargetMappingAnnotationQuickFix;
@@ -36,24 +34,10 @@
  */
 public class UnmappedTargetPropertyQFFactory extends QuickFixFactory {
 
-    private static final Pattern PATTERN = Pattern.compile( "Unmapped target (property|properties): \"([^\"]+)\"." );
-
     @Override
-    public List<? extends MapStructQuickFix> createQuickFix(IMarker marker) {
-        List<String> properties = extractPropertiesFromMessage( getMessage( marker ) );
-
-        if ( !properties.isEmpty() ) {
-            return Arrays.asList( new AddIgnoreTargetMappingAnnotationQuickFix( properties ) );
-        }
-
-        return Collections.emptyList();
-    }
-
-    private static List<String> extractPropertiesFromMessage(String msg) {
-        Matcher matcher = PATTERN.matcher( msg );
-        if ( matcher.matches() ) {
-            String props = matcher.group( 2 );
-            return Arrays.asList( props.split( ", " ) );
+    public List<? extends MapStructQuickFix> createQuickFix(MapStructProblem problem) {
+        if ( problem.getKind() == MapStructProblem.Kind.UNMAPPED_TARGET_PROPERTIES ) {
+            return Arrays.asList( new AddIgnoreTargetMappingAnnotationQuickFix( problem.getProperties() ) );
         }
 
         return Collections.emptyList();
@@ -25,11 +25,13 @@
 import static org.mapstruct.eclipse.internal.MapStructAPIConstants.MAPPING_MEMBER_TARGET;
 import static org.mapstruct.eclipse.internal.MapStructAPIConstants.MAPPING_SIMPLE_NAME;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
-import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.jdt.core.IAnnotation;
 import org.eclipse.jdt.core.IJavaElement;
@@ -46,6 +48,7 @@
 import org.eclipse.jdt.core.dom.StringLiteral;
 import org.eclipse.jdt.core.dom.rewrite.ASTRewrite;
 import org.eclipse.jdt.core.dom.rewrite.ListRewrite;
+import org.mapstruct.eclipse.internal.quickfix.MapStructProblem;
 import org.mapstruct.eclipse.internal.quickfix.MapStructQuickFix;
 import org.mapstruct.eclipse.internal.quickfix.visitors.FindAnnotationByNameVisitor;
 
@@ -88,10 +91,25 @@ public String getDescription() {
     }
 
     @Override
-    protected ASTRewrite getASTRewrite(CompilationUnit unit, ASTNode nodeWithMarker, IMarker marker) {
+    protected MapStructQuickFix forProblem(MapStructProblem problem) {
+        return new AddIgnoreTargetMappingAnnotationQuickFix( problem.getProperties() );
+    }
+
+    /**
+     * Several markers of the same method are fixed with a single list of {@code @Mapping} annotations
+     */
+    @Override
+    protected MapStructQuickFix combine(MapStructQuickFix other) {
+        Set<String> combined = new LinkedHashSet<String>( properties );
+        combined.addAll( ( (AddIgnoreTargetMappingAnnotationQuickFix) other ).properties );
+
+        return new AddIgnoreTargetMappingAnnotationQuickFix( new ArrayList<String>( combined ) );
+    }
+
+    @Override
+    protected void addChanges(ASTRewrite rewrite, CompilationUnit unit, ASTNode nodeWithMarker) {
         AST ast = unit.getAST();
 
-        ASTRewrite rewrite = ASTRewrite.create( ast );
         MethodDeclaration method = (MethodDeclaration) nodeWithMarker;
 
         ListRewrite mappingList = getListForAddingMappingAnnotations( unit, properties, ast, rewrite, method );
@@ -99,8 +117,6 @@ protected ASTRewrite getASTRewrite(CompilationUnit unit, ASTNode nodeWithMarker,
         addMappingAnnotations( properties, ast, mappingList );
 
         addImportIfRequired( unit, rewrite, MAPPING_FQ_NAME );
-
-        return rewrite;
     }
 
     private ListRewrite getListForAddingMappingAnnotations(CompilationUnit unit, Collection<String> properties,
@@ -18,7 +18,6 @@
  */
 package org.mapstruct.eclipse.internal.quickfix.fixes;
 
-import org.eclipse.core.resources.IMarker;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.CompilationUnit;
@@ -29,6 +28,7 @@
 import org.eclipse.jdt.core.dom.TypeDeclaration;
 import org.eclipse.jdt.core.dom.rewrite.ASTRewrite;
 import org.eclipse.jdt.core.dom.rewrite.ListRewrite;
+import org.mapstruct.eclipse.internal.quickfix.MapStructProblem;
 import org.mapstruct.eclipse.internal.quickfix.MapStructQuickFix;
 
 /**
@@ -66,12 +66,35 @@ public String getDescription() {
         return "<html><b>" + getMethodDeclarationString() + "</b></html>";
     }
 
+    @Override
+    protected MapStructQuickFix forProblem(MapStructProblem problem) {
+        if ( problem.getKind() == MapStructProblem.Kind.CANT_MAP_PROPERTY
+            && resultType.equals( problem.getTargetType() )
+            && sourceType.equals( problem.getSourceType() ) ) {
+            return new AddMethodQuickFix( resultType, sourceType );
+        }
+
+        return null;
+    }
+
+    /**
+     * The same method is added only once per compilation unit, no matter how many markers ask for it
+     */
+    @Override
+    protected Object getCombinationKey(ASTNode nodeWithMarker) {
+        return getMethodDeclarationString();
+    }
+
+    @Override
+    protected MapStructQuickFix combine(MapStructQuickFix other) {
+        return this;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
-    protected ASTRewrite getASTRewrite(CompilationUnit unit, ASTNode nodeWithMarker, IMarker marker) {
+    protected void addChanges(ASTRewrite rewrite, CompilationUnit unit, ASTNode nodeWithMarker) {
         AST ast = unit.getAST();
 
-        ASTRewrite rewrite = ASTRewrite.create( ast );
         MethodDeclaration method = (MethodDeclaration) nodeWithMarker;
 
         MethodDeclaration newMethod = ast.newMethodDeclaration();
@@ -91,8 +114,6 @@ protected ASTRewrite getASTRewrite(CompilationUnit unit, ASTNode nodeWithMarker,
 
         addImportIfRequired( unit, rewrite, resultType );
         addImportIfRequired( unit, rewrite, sourceType );
-
-        return rewrite;
     }
 
     private Type createType(AST ast, String type) {
@@ -19,11 +19,8 @@
 package org.mapstruct.eclipse.internal.util;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 import org.eclipse.jdt.core.dom.IAnnotationBinding;
 import org.eclipse.jdt.core.dom.IBinding;
@@ -42,40 +39,6 @@ public class Bindings {
     private Bindings() {
     }
 
-    /**
-     * @param type the type
-     * @return the methods declared in the class or a super type of it
-     */
-    public static Set<IMethodBinding> findAllMethods(ITypeBinding type) {
-        Set<IMethodBinding> result = new HashSet<IMethodBinding>();
-
-        collectMethods( type, new HashSet<ITypeBinding>(), result );
-
-        return result;
-    }
-
-    private static void collectMethods(ITypeBinding type, Set<ITypeBinding> visited,
-                                       Collection<IMethodBinding> methods) {
-        if ( !isJavaLangObject( type ) && visited.add( type ) ) {
-            for ( IMethodBinding methodBinding : type.getDeclaredMethods() ) {
-                methods.add( methodBinding );
-            }
-
-            for ( ITypeBinding ifc : type.getInterfaces() ) {
-                collectMethods( ifc, visited, methods );
-            }
-
-            ITypeBinding superClass = type.getSuperclass();
-            if ( superClass != null ) {
-                collectMethods( superClass, visited, methods );
-            }
-        }
-    }
-
-    private static boolean isJavaLangObject(ITypeBinding curr) {
-        return curr.getQualifiedName().equals( "java.lang.Object" );
-    }
-
     /**
      * @param annotations the annotations
      * @param annotationName the fully qualified name of the annotation to look for
@@ -92,7 +55,7 @@ public static boolean containsAnnotation(IAnnotationBinding[] annotations, Strin
 
     /**
      * @param type the enum type
-     * @return the enum constant names of the given type
+     * @return the enum constant names of the given type, without any other fields declared in the enum
      */
     public static List<String> findAllEnumConstants(ITypeBinding type) {
         if ( !type.isEnum() ) {
@@ -104,7 +67,9 @@ public static List<String> findAllEnumConstants(ITypeBinding type) {
         List<String> result = new ArrayList<String>( declaredFields.length );
 
         for ( IVariableBinding field : declaredFields ) {
-            result.add( field.getName() );
+            if ( field.isEnumConstant() ) {
+                result.add( field.getName() );
+            }
         }
 
         return result;
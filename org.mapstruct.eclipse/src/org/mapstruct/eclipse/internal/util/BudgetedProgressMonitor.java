@@ -0,0 +1,62 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.ProgressMonitorWrapper;
+
+/**
+ * Progress monitor that reports itself as canceled either if the wrapped monitor is canceled or if the given time
+ * budget is used up. This way, long running operations that honor the cancellation of a progress monitor can be
+ * limited in time.
+ *
+ * @author agent
+ */
+public class BudgetedProgressMonitor extends ProgressMonitorWrapper {
+
+    private final long deadline;
+    private boolean budgetExceeded = false;
+
+    /**
+     * @param monitor the monitor to wrap, may be {@code null}
+     * @param budgetMillis the time budget in milliseconds, starting now. {@code 0} for no limit.
+     */
+    public BudgetedProgressMonitor(IProgressMonitor monitor, long budgetMillis) {
+        super( monitor != null ? monitor : new NullProgressMonitor() );
+        this.deadline = budgetMillis > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos( budgetMillis ) : 0L;
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return super.isCanceled() || isBudgetExceeded();
+    }
+
+    /**
+     * @return {@code true}, iff the time budget is used up
+     */
+    public boolean isBudgetExceeded() {
+        if ( !budgetExceeded && deadline != 0L && System.nanoTime() - deadline > 0 ) {
+            budgetExceeded = true;
+        }
+        return budgetExceeded;
+    }
+}
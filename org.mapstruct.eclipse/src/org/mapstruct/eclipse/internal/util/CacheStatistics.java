@@ -0,0 +1,89 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe hit/miss/eviction counters of a cache-like facility, e.g. for displaying them in the preferences.
+ *
+ * @author agent
+ */
+public class CacheStatistics {
+
+    private final String name;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * @param name the human readable name of the cache
+     */
+    public CacheStatistics(String name) {
+        this.name = name;
+    }
+
+    public void hit() {
+        hits.incrementAndGet();
+    }
+
+    public void miss() {
+        misses.incrementAndGet();
+    }
+
+    public void evicted(int count) {
+        evictions.addAndGet( count );
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * @return the percentage of hits of all lookups, or {@code 0} if there was no lookup yet
+     */
+    public int getHitRate() {
+        long h = hits.get();
+        long total = h + misses.get();
+        return total == 0 ? 0 : (int) ( h * 100 / total );
+    }
+
+    public void reset() {
+        hits.set( 0 );
+        misses.set( 0 );
+        evictions.set( 0 );
+    }
+
+    @Override
+    public String toString() {
+        String result = name + ": " + getHits() + " hits, " + getMisses() + " misses";
+        if ( getEvictions() > 0 ) {
+            result += ", " + getEvictions() + " evictions";
+        }
+        return result + " (" + getHitRate() + "% hit rate)";
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.util;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+
+/**
+ * Forgets whether MapStruct is on the classpath of a project (see {@link MapStructProjects}) and its
+ * {@link ComponentModels} when its classpath changes. Registered as long as the plug-in is active, independent of the
+ * indexes, so that a project becoming a MapStruct project is noticed before the plug-in has been used in any. Only
+ * looks at the deltas of projects and package fragment roots, never at the ones of their contents.
+ *
+ * @author agent
+ */
+public final class ClasspathChangeListener implements IElementChangedListener {
+
+    /**
+     * Flags of a project delta telling that its (resolved) classpath changed or that it was closed
+     */
+    public static final int CLASSPATH_CHANGED =
+        IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED
+            | IJavaElementDelta.F_CLOSED;
+
+    /**
+     * Flags of a package fragment root delta telling that the types it provides may have changed
+     */
+    public static final int ROOT_CHANGED =
+        IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED | IJavaElementDelta.F_ADDED_TO_CLASSPATH
+            | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH;
+
+    @Override
+    public void elementChanged(ElementChangedEvent event) {
+        for ( IJavaElementDelta projectDelta : event.getDelta().getAffectedChildren() ) {
+            if ( projectDelta.getElement().getElementType() != IJavaElement.JAVA_PROJECT ) {
+                continue;
+            }
+
+            if ( isClasspathChange( projectDelta ) ) {
+                invalidate( projectDelta.getElement().getElementName() );
+                continue;
+            }
+
+            for ( IJavaElementDelta rootDelta : projectDelta.getAffectedChildren() ) {
+                if ( isRootChange( rootDelta ) ) {
+                    invalidate( projectDelta.getElement().getElementName() );
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * @param delta the delta of a project
+     * @return {@code true}, iff the project was removed or its classpath changed
+     */
+    public static boolean isClasspathChange(IJavaElementDelta delta) {
+        return delta.getKind() == IJavaElementDelta.REMOVED || ( delta.getFlags() & CLASSPATH_CHANGED ) != 0;
+    }
+
+    /**
+     * @param delta the delta of a package fragment root
+     * @return {@code true}, iff the types provided by the root may have changed
+     */
+    public static boolean isRootChange(IJavaElementDelta delta) {
+        return delta.getElement().getElementType() == IJavaElement.PACKAGE_FRAGMENT_ROOT
+            && ( delta.getFlags() & ROOT_CHANGED ) != 0;
+    }
+
+    private static void invalidate(String projectName) {
+        MapStructProjects.invalidate( projectName );
+        ComponentModels.invalidate( projectName );
+    }
+}
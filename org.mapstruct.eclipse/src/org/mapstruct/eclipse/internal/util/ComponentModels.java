@@ -0,0 +1,118 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+
+/**
+ * Remembers for each Java project the values of {@code Mapper#componentModel()} offered by the MapStruct version on
+ * its classpath, i.e. the constants of {@code MappingConstants.ComponentModel}. Projects with a MapStruct version
+ * older than that get the models known before. The cached values of a project are invalidated when its classpath
+ * changes.
+ *
+ * @author agent
+ */
+public final class ComponentModels {
+
+    private static final String COMPONENT_MODEL_FQ_NAME = "org.mapstruct.MappingConstants.ComponentModel"; //$NON-NLS-1$
+
+    private static final List<String> LEGACY_COMPONENT_MODELS = Collections.unmodifiableList( Arrays.asList(
+        "default",
+        "cdi",
+        "spring",
+        "jsr330" ) );
+
+    private static final Map<String, List<String>> COMPONENT_MODELS = new ConcurrentHashMap<String, List<String>>();
+
+    private ComponentModels() {
+    }
+
+    /**
+     * @param project the project
+     * @return the component models supported by the MapStruct version on the classpath of the project
+     */
+    public static List<String> getComponentModels(IJavaProject project) {
+        List<String> result = COMPONENT_MODELS.get( project.getElementName() );
+        if ( result == null ) {
+            try {
+                result = findComponentModels( project );
+            }
+            catch ( JavaModelException e ) {
+                // e.g. the project is closed, try again next time
+                return LEGACY_COMPONENT_MODELS;
+            }
+            COMPONENT_MODELS.put( project.getElementName(), result );
+        }
+
+        return result;
+    }
+
+    private static List<String> findComponentModels(IJavaProject project) throws JavaModelException {
+        IType type = project.findType( COMPONENT_MODEL_FQ_NAME );
+        if ( type == null ) {
+            return LEGACY_COMPONENT_MODELS;
+        }
+
+        List<String> result = new ArrayList<String>();
+        for ( IField field : type.getFields() ) {
+            Object constant = field.getConstant();
+            if ( constant instanceof String ) {
+                result.add( unquote( (String) constant ) );
+            }
+        }
+
+        return result.isEmpty() ? LEGACY_COMPONENT_MODELS : Collections.unmodifiableList( result );
+    }
+
+    /**
+     * The constants of fields in source files are returned as they are written, i.e. string literals with quotes.
+     */
+    private static String unquote(String constant) {
+        if ( constant.length() >= 2 && constant.startsWith( "\"" ) && constant.endsWith( "\"" ) ) {
+            return constant.substring( 1, constant.length() - 1 );
+        }
+        return constant;
+    }
+
+    /**
+     * Forgets the component models of a project, e.g. after its classpath changed.
+     *
+     * @param projectName the name of the project
+     */
+    public static void invalidate(String projectName) {
+        COMPONENT_MODELS.remove( projectName );
+    }
+
+    /**
+     * Forgets the component models of all projects.
+     */
+    public static void clear() {
+        COMPONENT_MODELS.clear();
+    }
+}
@@ -0,0 +1,96 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.util;
+
+import java.util.Arrays;
+
+/**
+ * Rolling latency histogram over the most recent samples of an operation, reporting the 50th, 95th and 99th
+ * percentile. Recording a sample is constant time; the percentiles are computed on request.
+ *
+ * @author agent
+ */
+public class LatencyHistogram {
+
+    private static final int CAPACITY = 1024;
+
+    private static final long NANOS_PER_MILLI = 1000000L;
+
+    private final String name;
+    private final long[] samples = new long[CAPACITY];
+    private int next;
+    private long count;
+
+    /**
+     * @param name the human readable name of the operation
+     */
+    public LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @param nanos the duration of one execution of the operation
+     */
+    public synchronized void add(long nanos) {
+        samples[next] = nanos;
+        next = ( next + 1 ) % CAPACITY;
+        count++;
+    }
+
+    /**
+     * @param percentile the percentile, {@code 0 < percentile <= 100}
+     * @return the given percentile of the recorded durations in nanoseconds, or {@code 0} if there is none
+     */
+    public long getPercentile(int percentile) {
+        long[] sorted;
+        synchronized ( this ) {
+            sorted = Arrays.copyOf( samples, (int) Math.min( count, CAPACITY ) );
+        }
+
+        if ( sorted.length == 0 ) {
+            return 0;
+        }
+
+        Arrays.sort( sorted );
+        int index = (int) Math.ceil( percentile / 100.0 * sorted.length ) - 1;
+        return sorted[Math.max( 0, index )];
+    }
+
+    /**
+     * @return the number of durations recorded in total, including the ones no longer considered
+     */
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public synchronized void reset() {
+        next = 0;
+        count = 0;
+    }
+
+    @Override
+    public String toString() {
+        return name + ": " + getCount() + " times, p50 " + toMillis( getPercentile( 50 ) ) + " ms, p95 "
+            + toMillis( getPercentile( 95 ) ) + " ms, p99 " + toMillis( getPercentile( 99 ) ) + " ms";
+    }
+
+    static long toMillis(long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+}
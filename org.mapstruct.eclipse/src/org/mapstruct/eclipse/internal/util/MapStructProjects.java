@@ -0,0 +1,83 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaModelException;
+import org.mapstruct.eclipse.internal.MapStructAPIConstants;
+
+/**
+ * Remembers for each Java project whether MapStruct is on its classpath, so that the plug-in can step aside in all
+ * other projects without accessing the Java model.
+ * <p>
+ * Deliberately depends on nothing but JDT core, as it is used before any of the rest of the plug-in is needed. The
+ * cached state of a project is invalidated when its classpath changes.
+ *
+ * @author agent
+ */
+public final class MapStructProjects {
+
+    private static final Map<String, Boolean> MAPSTRUCT_PROJECTS = new ConcurrentHashMap<String, Boolean>();
+
+    private MapStructProjects() {
+    }
+
+    /**
+     * @param project the project
+     * @return {@code true}, iff {@code org.mapstruct.Mapper} can be resolved in the given project
+     */
+    public static boolean isMapStructProject(IJavaProject project) {
+        if ( project == null ) {
+            return false;
+        }
+
+        Boolean result = MAPSTRUCT_PROJECTS.get( project.getElementName() );
+        if ( result == null ) {
+            try {
+                result = Boolean.valueOf( project.findType( MapStructAPIConstants.MAPPER_FQ_NAME ) != null );
+            }
+            catch ( JavaModelException e ) {
+                // e.g. the project is closed, try again next time
+                return false;
+            }
+            MAPSTRUCT_PROJECTS.put( project.getElementName(), result );
+        }
+
+        return result.booleanValue();
+    }
+
+    /**
+     * Forgets whether MapStruct is on the classpath of a project, e.g. after its classpath changed.
+     *
+     * @param projectName the name of the project
+     */
+    public static void invalidate(String projectName) {
+        MAPSTRUCT_PROJECTS.remove( projectName );
+    }
+
+    /**
+     * Forgets the state of all projects.
+     */
+    public static void clear() {
+        MAPSTRUCT_PROJECTS.clear();
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Measures one execution of an {@link Tracing.Operation} and its phases. Created by {@link Tracing#start}, used by one
+ * thread at a time.
+ *
+ * @author agent
+ */
+public final class OperationTimer {
+    private final Tracing.Operation operation;
+    private final long start = System.nanoTime();
+
+    private Map<String, Long> phases;
+
+    OperationTimer(Tracing.Operation operation) {
+        this.operation = operation;
+    }
+
+    /**
+     * Adds the time since the given start to the given phase. Phases may be nested in each other.
+     *
+     * @param phase the name of the phase
+     * @param phaseStart the value of {@link System#nanoTime()} at the start of the phase
+     */
+    public void phase(String phase, long phaseStart) {
+        if ( phases == null ) {
+            phases = new LinkedHashMap<String, Long>();
+        }
+
+        Long previous = phases.get( phase );
+        long duration = System.nanoTime() - phaseStart;
+        phases.put( phase, previous == null ? duration : previous + duration );
+    }
+
+    /**
+     * Records the duration of the operation in its histogram and traces it, if enabled.
+     *
+     * @param compilationUnit the name of the compilation unit the operation was performed in
+     * @param method the name of the method the operation was performed in, may be {@code null}
+     * @param offset the offset the operation was performed at
+     */
+    public void stop(String compilationUnit, String method, int offset) {
+        long duration = System.nanoTime() - start;
+        Tracing.getHistogram( operation ).add( duration );
+
+        boolean slow = Tracing.isSlow( duration );
+        if ( Tracing.isTracing( operation ) || slow ) {
+            StringBuilder message = new StringBuilder();
+            message.append( operation.getName() ).append( ' ' ).append( LatencyHistogram.toMillis( duration ) )
+                .append( " ms" );
+            if ( phases != null ) {
+                for ( Map.Entry<String, Long> phase : phases.entrySet() ) {
+                    message.append( ", " ).append( phase.getKey() ).append( ' ' )
+                        .append( LatencyHistogram.toMillis( phase.getValue() ) ).append( " ms" );
+                }
+            }
+            message.append( " in " ).append( compilationUnit );
+            if ( method != null ) {
+                message.append( '#' ).append( method );
+            }
+            message.append( " at " ).append( offset );
+
+            Tracing.trace( operation, slow, message.toString() );
+        }
+    }
+}
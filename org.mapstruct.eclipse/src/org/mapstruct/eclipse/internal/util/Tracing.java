@@ -0,0 +1,129 @@
+/**
+ *  Copyright 2012-2017 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.eclipse.internal.util;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.eclipse.osgi.service.debug.DebugOptions;
+import org.eclipse.osgi.service.debug.DebugOptionsListener;
+import org.eclipse.osgi.service.debug.DebugTrace;
+import org.mapstruct.eclipse.internal.MapStructPlugIn;
+
+/**
+ * Timing of the operations of the plug-in, recorded in a {@link LatencyHistogram} per operation and traced to the
+ * Eclipse trace file if enabled in the debug options of the plug-in (see the {@code .options} file). Slow operations
+ * are traced with the option {@code debug/slow} even if the tracing of the operation itself is disabled.
+ *
+ * @author agent
+ */
+public final class Tracing implements DebugOptionsListener {
+
+    /**
+     * An operation measured by an {@link OperationTimer}
+     */
+    public enum Operation {
+        COMPLETION( "Completion", "/debug/completion" ), //$NON-NLS-2$
+        QUICK_FIX( "Quick fix", "/debug/quickfix" ); //$NON-NLS-2$
+
+        private final String name;
+        private final String option;
+
+        private Operation(String name, String option) {
+            this.name = name;
+            this.option = option;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    private static final String DEBUG = "/debug"; //$NON-NLS-1$
+    private static final String DEBUG_SLOW = "/debug/slow"; //$NON-NLS-1$
+    private static final String DEBUG_SLOW_THRESHOLD = "/debug/slow/threshold"; //$NON-NLS-1$
+
+    private static final int DEFAULT_SLOW_THRESHOLD = 200;
+    private static final long NANOS_PER_MILLI = 1000000L;
+
+    private static final Map<Operation, LatencyHistogram> HISTOGRAMS = createHistograms();
+
+    private static volatile DebugTrace trace;
+    private static volatile boolean slowEnabled;
+    private static volatile long slowThresholdNanos = DEFAULT_SLOW_THRESHOLD * NANOS_PER_MILLI;
+    private static volatile Map<Operation, Boolean> enabled = new EnumMap<Operation, Boolean>( Operation.class );
+
+    @Override
+    public void optionsChanged(DebugOptions options) {
+        boolean debug = options.getBooleanOption( MapStructPlugIn.PLUGIN_ID + DEBUG, false );
+
+        Map<Operation, Boolean> newEnabled = new EnumMap<Operation, Boolean>( Operation.class );
+        for ( Operation operation : Operation.values() ) {
+            newEnabled.put(
+                operation,
+                debug && options.getBooleanOption( MapStructPlugIn.PLUGIN_ID + operation.option, false ) );
+        }
+
+        trace = options.newDebugTrace( MapStructPlugIn.PLUGIN_ID );
+        enabled = newEnabled;
+        slowEnabled = debug && options.getBooleanOption( MapStructPlugIn.PLUGIN_ID + DEBUG_SLOW, false );
+        slowThresholdNanos =
+            options.getIntegerOption( MapStructPlugIn.PLUGIN_ID + DEBUG_SLOW_THRESHOLD, DEFAULT_SLOW_THRESHOLD )
+                * NANOS_PER_MILLI;
+    }
+
+    /**
+     * @param operation the operation to measure
+     * @return the timer measuring the operation, to be stopped when the operation ends
+     */
+    public static OperationTimer start(Operation operation) {
+        return new OperationTimer( operation );
+    }
+
+    /**
+     * @param operation the operation
+     * @return the histogram of the durations of the operation in this session
+     */
+    public static LatencyHistogram getHistogram(Operation operation) {
+        return HISTOGRAMS.get( operation );
+    }
+
+    static boolean isTracing(Operation operation) {
+        return Boolean.TRUE.equals( enabled.get( operation ) );
+    }
+
+    static boolean isSlow(long nanos) {
+        return slowEnabled && nanos > slowThresholdNanos;
+    }
+
+    static void trace(Operation operation, boolean slow, String message) {
+        DebugTrace currentTrace = trace;
+        if ( currentTrace != null ) {
+            currentTrace.trace( slow ? DEBUG_SLOW : operation.option, message );
+        }
+    }
+
+    private static Map<Operation, LatencyHistogram> createHistograms() {
+        Map<Operation, LatencyHistogram> result = new EnumMap<Operation, LatencyHistogram>( Operation.class );
+        for ( Operation operation : Operation.values() ) {
+            result.put( operation, new LatencyHistogram( operation.getName() ) );
+        }
+        return result;
+    }
+}